@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Character views of bytes for parsing IRIs without first creating a string.
+ * <p>
+ * If a region of UTF-8 bytes is all ASCII, each byte is one character, and the
+ * {@link CharSequence} is a view of the bytes. Otherwise, the bytes are decoded to a
+ * string.
+ * <p>
+ * A view does not copy the bytes; they must not change while the view is in use.
+ */
+/*package*/ class ASCIIBytes {
+
+    /** A {@link CharSequence} for the UTF-8 bytes {@code bytes[start]} to {@code bytes[end-1]}. */
+    /*package*/ static CharSequence charsUTF8(byte[] bytes, int start, int end) {
+        Objects.checkFromToIndex(start, end, bytes.length);
+        for ( int i = start ; i < end ; i++ ) {
+            if ( bytes[i] < 0 )
+                return new String(bytes, start, end-start, StandardCharsets.UTF_8);
+        }
+        return new ArrayChars(bytes, start, end-start);
+    }
+
+    /**
+     * A {@link CharSequence} for the UTF-8 bytes of a {@link ByteBuffer} at absolute
+     * indexes {@code start} to {@code end-1}. The position and limit of the buffer
+     * are not used or changed.
+     */
+    /*package*/ static CharSequence charsUTF8(ByteBuffer bytes, int start, int end) {
+        // Absolute get and slice check the limit; read the whole buffer.
+        ByteBuffer buffer = bytes.duplicate().clear();
+        Objects.checkFromToIndex(start, end, buffer.capacity());
+        for ( int i = start ; i < end ; i++ ) {
+            if ( buffer.get(i) < 0 )
+                return StandardCharsets.UTF_8.decode(buffer.slice(start, end-start)).toString();
+        }
+        return new BufferChars(buffer, start, end-start);
+    }
+
+    /** A {@link CharSequence} for the characters {@code chars[start]} to {@code chars[end-1]}. */
+    /*package*/ static CharSequence chars(CharSequence chars, int start, int end) {
+        Objects.checkFromToIndex(start, end, chars.length());
+        if ( start == 0 && end == chars.length() )
+            return chars;
+        return CharBuffer.wrap(chars, start, end);
+    }
+
+    private static final class ArrayChars implements CharSequence {
+        private final byte[] bytes;
+        private final int offset;
+        private final int length;
+
+        ArrayChars(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            Objects.checkIndex(index, length);
+            return (char)bytes[offset+index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new ArrayChars(bytes, offset+start, end-start);
+        }
+
+        @Override
+        public String toString() {
+            // ASCII, so ISO-8859-1 is the same and is the fastest decoder.
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private static final class BufferChars implements CharSequence {
+        private final ByteBuffer bytes;
+        private final int offset;
+        private final int length;
+
+        BufferChars(ByteBuffer bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            Objects.checkIndex(index, length);
+            return (char)bytes.get(offset+index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new BufferChars(bytes, offset+start, end-start);
+        }
+
+        @Override
+        public String toString() {
+            byte[] b = new byte[length];
+            bytes.get(offset, b);
+            return new String(b, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -38,7 +38,7 @@ public class AlgRelativizeIRI {
         if ( ! Objects.equals(base.scheme(), target.scheme()) )
             return null;
         // No scheme.
-        return IRI3986.build(null, target.authority(), target.path(), target.query(), target.fragment());
+        return IRI3986.assemble(null, target.authority(), target.path(), target.query(), target.fragment());
     }
 
     /**
@@ -55,7 +55,7 @@ public class AlgRelativizeIRI {
             return null;
         if ( ! Objects.equals(base.authority(), target.authority()) )
             return null;
-        return IRI3986.build(null, null, target.path(), target.query(), target.fragment());
+        return IRI3986.assemble(null, null, target.path(), target.query(), target.fragment());
     }
 
     /**
@@ -79,7 +79,7 @@ public class AlgRelativizeIRI {
             return null;
         if ( Objects.equals(base.path(), target.path()) ) {
             if ( ! target.hasFragment() && ! target.hasQuery() )
-                return IRI3986.build(null, null, "", null, null);
+                return IRI3986.assemble(null, null, "", null, null);
         }
 
         if ( ! Objects.equals(base.path(), target.path()) )
@@ -89,7 +89,7 @@ public class AlgRelativizeIRI {
         if ( ! target.hasFragment() )
             // Could be "#".
             return null;
-        return IRI3986.build(null, null, null, null, target.fragment());
+        return IRI3986.assemble(null, null, null, null, target.fragment());
     }
 
     /**
@@ -116,12 +116,12 @@ public class AlgRelativizeIRI {
         if ( basePath.equals(targetPath) ) {
             if ( target.hasQuery() ) {
                 String x = targetPath.isEmpty() ? "." : "";
-                return IRI3986.build(null, null, x, target.query(), target.fragment());
+                return IRI3986.assemble(null, null, x, target.query(), target.fragment());
             }
 
             // Both "" and "." are possible when the two paths end "/".
             String pathRel = targetPath.endsWith("/") ? "." : "";
-            return IRI3986.build(null, null, pathRel, null, target.fragment());
+            return IRI3986.assemble(null, null, pathRel, null, target.fragment());
         }
 
         String relPath = relativeChildPath(basePath, targetPath);
@@ -129,7 +129,7 @@ public class AlgRelativizeIRI {
             return null;
         if ( relPath.equals(".") && target.hasQuery() )
             relPath = "";
-        return IRI3986.build(null, null, relPath, target.query(), target.fragment());
+        return IRI3986.assemble(null, null, relPath, target.query(), target.fragment());
     }
 
     private static String lastSegment(String path) {
@@ -163,7 +163,7 @@ public class AlgRelativizeIRI {
         String relPath = relativeParentPath(base.path(), target.path());
         if ( relPath == null )
             return null;
-        return IRI3986.build(null, null, relPath, target.query(), target.fragment());
+        return IRI3986.assemble(null, null, relPath, target.query(), target.fragment());
     }
 
     /**
@@ -139,9 +139,8 @@ public class AlgResolveIRI {
             t_scheme = base.scheme();
         }
         t_fragment = reference.fragment();
-        return RFC3986.newBuilder()
-            .scheme(t_scheme).authority(t_authority).path(t_path).query(t_query).fragment(t_fragment)
-            .build();
+        // The components come from parsed IRIs so do not need to be parsed again.
+        return IRI3986.assemble(t_scheme, t_authority, t_path, t_query, t_fragment);
     }
 
     /** 5.2.3.  Merge Paths */
@@ -286,7 +285,7 @@ public class AlgResolveIRI {
             // leaves the query and fragment to adjust.
             relPath = targetPath;
         }
-        IRI3986 relIRI = IRI3986.build(null, null, relPath, iri.query(), iri.fragment());
+        IRI3986 relIRI = IRI3986.assemble(null, null, relPath, iri.query(), iri.fragment());
         return relIRI;
     }
 
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of the results of parsing the authority of an IRI,
+ * {@code userinfo@host:port}, keyed by the characters of the authority.
+ * <p>
+ * In most data, there are few different authorities compared to the number of IRIs.
+ * When an authority is in the cache, the parser takes the positions of the
+ * userinfo, host and port from the cache entry instead of checking the characters
+ * again, and the scheme-specific checks of the host and port use the results in the
+ * cache entry.
+ * <p>
+ * Looking up an authority does not create any objects. The cache is a fixed size
+ * table indexed by a hash of the authority; an entry is replaced when another
+ * authority has the same index. Entries are immutable so the table can be read and
+ * written by several threads without locking.
+ * <p>
+ * A cache is used by the parser when set with {@link SystemIRI3986#setAuthorityCache}.
+ */
+public class AuthorityCache {
+
+    /** Cache statistics. Counts are approximate while the cache is being used. */
+    public record Stats(long hits, long misses, int size) {}
+
+    /*
+     * The result of parsing an authority. Positions are relative to the start of
+     * the authority; -1 means "absent".
+     */
+    /*package*/ static final class Entry {
+        final String authority;
+        final int hash;
+        final int userinfo1;
+        final int host0;
+        final int host1;
+        final int port0;
+        // Results for the scheme-specific checks.
+        final boolean hostUppercase;
+        final int password;
+        final int port;
+
+        Entry(String authority, int hash, int userinfo1, int host0, int host1, int port0,
+              boolean hostUppercase, int password, int port) {
+            this.authority = authority;
+            this.hash = hash;
+            this.userinfo1 = userinfo1;
+            this.host0 = host0;
+            this.host1 = host1;
+            this.port0 = port0;
+            this.hostUppercase = hostUppercase;
+            this.password = password;
+            this.port = port;
+        }
+    }
+
+    private final Entry[] table;
+    private final int mask;
+    // Statistics only. LongAdder so that threads parsing at the same time do not
+    // contend on one counter.
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** Create a cache that holds at most {@code maxSize} authorities, rounded up to a power of two. */
+    public static AuthorityCache create(int maxSize) {
+        return new AuthorityCache(maxSize);
+    }
+
+    private AuthorityCache(int maxSize) {
+        if ( maxSize <= 0 )
+            throw new IllegalArgumentException("Cache size must be positive: "+maxSize);
+        int n = ( maxSize == 1 ) ? 1 : Integer.highestOneBit(maxSize-1) << 1;
+        this.table = new Entry[n];
+        this.mask = n-1;
+    }
+
+    /** The maximum number of entries. */
+    public int maxSize() {
+        return table.length;
+    }
+
+    /** The current number of entries. */
+    public int size() {
+        int size = 0;
+        for ( Entry e : table ) {
+            if ( e != null )
+                size++;
+        }
+        return size;
+    }
+
+    /** Remove all entries. The statistics are not reset. */
+    public void clear() {
+        for ( int i = 0 ; i < table.length ; i++ )
+            table[i] = null;
+    }
+
+    /** Return the statistics for this cache. */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), size());
+    }
+
+    @Override
+    public String toString() {
+        Stats stats = stats();
+        return String.format("AuthorityCache[max=%d, size=%d, hits=%d, misses=%d]",
+                             maxSize(), stats.size(), stats.hits(), stats.misses());
+    }
+
+    /**
+     * The hash of the authority starting at {@code start}: the characters up to the
+     * first '/', '?' or '#', or {@code end}. The authority is known to have the same
+     * end when it is found in the cache.
+     */
+    /*package*/ static int hash(CharSequence chars, int start, int end) {
+        int h = 0;
+        for ( int x = start ; x < end ; x++ ) {
+            char ch = chars.charAt(x);
+            if ( ch == '/' || ch == '?' || ch == '#' )
+                break;
+            h = 31*h + ch;
+        }
+        return h;
+    }
+
+    /** Find the entry for the authority starting at {@code start}, or return null. */
+    /*package*/ Entry get(CharSequence chars, int start, int end, int hash) {
+        Entry e = table[index(hash)];
+        if ( e == null || e.hash != hash || !matches(e.authority, chars, start, end) ) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e;
+    }
+
+    /** Add an entry. */
+    /*package*/ void put(Entry entry) {
+        table[index(entry.hash)] = entry;
+    }
+
+    private int index(int hash) {
+        return ( hash ^ (hash >>> 16) ) & mask;
+    }
+
+    // The authority matches and is followed by the end or a delimiter.
+    private static boolean matches(String authority, CharSequence chars, int start, int end) {
+        int len = authority.length();
+        if ( start+len > end )
+            return false;
+        if ( chars instanceof String str ) {
+            if ( !str.regionMatches(start, authority, 0, len) )
+                return false;
+        } else {
+            for ( int i = 0 ; i < len ; i++ ) {
+                if ( chars.charAt(start+i) != authority.charAt(i) )
+                    return false;
+            }
+        }
+        if ( start+len == end )
+            return true;
+        char ch = chars.charAt(start+len);
+        return ch == '/' || ch == '?' || ch == '#';
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Validate many IRIs in parallel. The input is split into parts which are checked
+ * by tasks in a {@link ForkJoinPool}. Each task has its own counters and reuses them
+ * for each IRI; the counters are added together when the tasks finish.
+ * <p>
+ * Input of unknown size, such as the lines of stdin, is read in chunks, with a
+ * limited number of chunks being checked at any one time, so that all the input is
+ * not held in memory.
+ */
+class BulkValidation {
+
+    // Do not split a spliterator smaller than this.
+    private static final long SPLIT_THRESHOLD = 1024;
+    // Number of IRIs in a chunk of input of unknown size.
+    /*package*/ static final int CHUNK_SIZE = 8 * 1024;
+
+    static ValidationReport validate(Spliterator<String> spliterator, int maxOffenders) {
+        if ( maxOffenders < 0 )
+            throw new IllegalArgumentException("Negative number of offenders: "+maxOffenders);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Counters counters = ( spliterator.estimateSize() == Long.MAX_VALUE )
+                ? validateChunks(pool, spliterator, maxOffenders)
+                : pool.invoke(new ValidateTask(spliterator, maxOffenders));
+        return counters.report();
+    }
+
+    // Unknown size: trySplit would read all the input before any of it is checked.
+    // Read chunks and check them, waiting for the oldest chunk when there are too
+    // many chunks being checked.
+    private static Counters validateChunks(ForkJoinPool pool, Spliterator<String> spliterator, int maxOffenders) {
+        int maxChunks = 2 * pool.getParallelism();
+        ArrayDeque<ValidateTask> tasks = new ArrayDeque<>(maxChunks);
+        Counters result = new Counters(maxOffenders);
+        boolean more = true;
+        while ( more ) {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            while ( chunk.size() < CHUNK_SIZE && (more = spliterator.tryAdvance(chunk::add)) ) {}
+            if ( chunk.isEmpty() )
+                break;
+            if ( tasks.size() >= maxChunks )
+                result.add(tasks.removeFirst().join());
+            ValidateTask task = new ValidateTask(chunk.spliterator(), maxOffenders);
+            pool.execute(task);
+            tasks.addLast(task);
+        }
+        while ( !tasks.isEmpty() )
+            result.add(tasks.removeFirst().join());
+        return result;
+    }
+
+    // Tasks are never serialized.
+    @SuppressWarnings("serial")
+    private static class ValidateTask extends RecursiveTask<Counters> {
+        private final Spliterator<String> spliterator;
+        private final int maxOffenders;
+
+        ValidateTask(Spliterator<String> spliterator, int maxOffenders) {
+            this.spliterator = spliterator;
+            this.maxOffenders = maxOffenders;
+        }
+
+        @Override
+        protected Counters compute() {
+            // trySplit returns a prefix of the elements so the forked tasks are in
+            // input order, and this task finishes with the last part.
+            List<ValidateTask> forked = null;
+            Spliterator<String> split;
+            while ( spliterator.estimateSize() > SPLIT_THRESHOLD && (split = spliterator.trySplit()) != null ) {
+                ValidateTask task = new ValidateTask(split, maxOffenders);
+                task.fork();
+                if ( forked == null )
+                    forked = new ArrayList<>();
+                forked.add(task);
+            }
+            Counters counters = new Counters(maxOffenders);
+            spliterator.forEachRemaining(counters::accept);
+            if ( forked == null )
+                return counters;
+            Counters result = new Counters(maxOffenders);
+            for ( ValidateTask task : forked )
+                result.add(task.join());
+            result.add(counters);
+            return result;
+        }
+    }
+
+    /** Counters for one task. */
+    private static class Counters implements ViolationSink {
+        private final int maxOffenders;
+        private long count = 0;
+        private long withViolations = 0;
+        private final long[] issueCounts = new long[Issue.values().length];
+        private final long[] schemeCounts = new long[URIScheme.values().length];
+        private final List<IRI3986> offenders = new ArrayList<>();
+        // Position in the input of each offender, within the part for this task.
+        private final List<Long> offenderPositions = new ArrayList<>();
+
+        // For the IRI being checked.
+        private long issueBits = 0;
+        private long schemeBits = 0;
+
+        Counters(int maxOffenders) {
+            this.maxOffenders = maxOffenders;
+        }
+
+        void accept(String iriStr) {
+            count++;
+            issueBits = 0;
+            schemeBits = 0;
+            if ( IRIValidator.check(iriStr) != IRIValidator.VALID ) {
+                issueBits = 1L << Issue.ParseError.ordinal();
+            } else {
+                IRI3986 iri = IRI3986.createSyntax(iriStr, 0, iriStr.length());
+                iri.schemeChecks(this);
+                if ( issueBits == 0 )
+                    return;
+            }
+            withViolations++;
+            addBits(issueBits, issueCounts);
+            addBits(schemeBits, schemeCounts);
+            if ( offenders.size() < maxOffenders ) {
+                offenders.add(IRI3986.createAny(iriStr));
+                offenderPositions.add(count - 1);
+            }
+        }
+
+        @Override
+        public void violation(Issue issue, URIScheme scheme, int offset) {
+            issueBits |= 1L << issue.ordinal();
+            if ( scheme != null )
+                schemeBits |= 1L << scheme.ordinal();
+        }
+
+        private static void addBits(long bits, long[] counts) {
+            while ( bits != 0 ) {
+                int i = Long.numberOfTrailingZeros(bits);
+                counts[i]++;
+                bits &= bits - 1;
+            }
+        }
+
+        /** Add the counts of a task for a later part of the input. */
+        void add(Counters other) {
+            long offset = count;
+            count += other.count;
+            withViolations += other.withViolations;
+            for ( int i = 0 ; i < issueCounts.length ; i++ )
+                issueCounts[i] += other.issueCounts[i];
+            for ( int i = 0 ; i < schemeCounts.length ; i++ )
+                schemeCounts[i] += other.schemeCounts[i];
+            for ( int i = 0 ; i < other.offenders.size() ; i++ ) {
+                if ( offenders.size() >= maxOffenders )
+                    break;
+                offenders.add(other.offenders.get(i));
+                offenderPositions.add(offset + other.offenderPositions.get(i));
+            }
+        }
+
+        ValidationReport report() {
+            return new ValidationReport(count, withViolations, issueCounts, schemeCounts, offenders, offenderPositions);
+        }
+    }
+}
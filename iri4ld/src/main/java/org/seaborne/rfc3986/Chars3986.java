@@ -37,12 +37,66 @@ public class Chars3986 {
     //  ipchar        = iunreserved / pct-encoded / sub-delims / ":" / "@"
     //                = ipchar / ucschar
 
+    // Character classes for ASCII characters are held as bits in a table indexed by
+    // the character. Non-ASCII characters are classified by range tables.
+
+    private static final int ALPHA       = 1<<0;
+    private static final int DIGIT       = 1<<1;
+    private static final int HEXDIGIT    = 1<<2;
+    // ALPHA / DIGIT / "-" / "." / "_" / "~"
+    private static final int UNRESERVED  = 1<<3;
+    private static final int SUB_DELIMS  = 1<<4;
+    private static final int GEN_DELIMS  = 1<<5;
+    // unreserved / sub-delims / ":" / "@" -- pchar except for pct-encoded.
+    private static final int PCHAR       = 1<<6;
+    // ALPHA / DIGIT / "+" / "-" / "."
+    private static final int SCHEME_CHAR = 1<<7;
+    // pchar except for pct-encoded / "/"
+    private static final int PATH_RUN    = 1<<8;
+    // pchar except for pct-encoded / "/" / "?"
+    private static final int QUERY_RUN   = 1<<9;
+
+    private static final short[] asciiClass = new short[128];
+
+    static {
+        setClass(ALPHA | UNRESERVED | PCHAR | SCHEME_CHAR, 'a', 'z');
+        setClass(ALPHA | UNRESERVED | PCHAR | SCHEME_CHAR, 'A', 'Z');
+        setClass(DIGIT | HEXDIGIT | UNRESERVED | PCHAR | SCHEME_CHAR, '0', '9');
+        setClass(HEXDIGIT, 'a', 'f');
+        setClass(HEXDIGIT, 'A', 'F');
+        setClass(UNRESERVED | PCHAR, "-._~");
+        setClass(SUB_DELIMS | PCHAR, "!$&'()*+,;=");
+        setClass(GEN_DELIMS, ":/?#[]@");
+        setClass(PCHAR, ":@");
+        setClass(SCHEME_CHAR, "+-.");
+        for ( char ch = 0 ; ch < 128 ; ch++ ) {
+            if ( (asciiClass[ch] & PCHAR) != 0 )
+                asciiClass[ch] = (short)(asciiClass[ch] | PATH_RUN | QUERY_RUN);
+        }
+        setClass(PATH_RUN | QUERY_RUN, "/");
+        setClass(QUERY_RUN, "?");
+    }
+
+    private static void setClass(int charClass, char start, char finish) {
+        for ( char ch = start ; ch <= finish ; ch++ )
+            asciiClass[ch] = (short)(asciiClass[ch] | charClass);
+    }
+
+    private static void setClass(int charClass, String chars) {
+        for ( int i = 0 ; i < chars.length() ; i++ )
+            asciiClass[chars.charAt(i)] = (short)(asciiClass[chars.charAt(i)] | charClass);
+    }
+
+    private static boolean isClass(char ch, int charClass) {
+        return ch < 0x80 && (asciiClass[ch] & charClass) != 0;
+    }
+
     /**
      * Test whether {@code ch} is an RFC3986 pchar.
      * This may need to look ahead in the string if the character is a {@code %}.
      */
     public static boolean isPChar(char ch, CharSequence str, int posn) {
-        return unreserved(ch) || isPctEncoded(ch, str, posn) || subDelims(ch) || ch == ':' || ch == '@';
+        return isClass(ch, PCHAR) || isPctEncoded(ch, str, posn);
     }
 
     /** RFC3987 ipchar */
@@ -50,6 +104,72 @@ public class Chars3986 {
         return isPChar(ch, str, posn) || isUcsChar(ch);
     }
 
+    /**
+     * Test whether {@code ch} is an RFC3986 pchar that is a single character,
+     * that is, any pchar except a percent-encoded sequence.
+     */
+    public static boolean isPCharNoPct(char ch) {
+        return isClass(ch, PCHAR);
+    }
+
+    /**
+     * Test whether {@code ch} is an RFC3987 ipchar that is a single character,
+     * that is, any ipchar except a percent-encoded sequence.
+     */
+    public static boolean isIPCharNoPct(char ch) {
+        if ( ch < 0x80 )
+            return (asciiClass[ch] & PCHAR) != 0;
+        return isUcsChar(ch);
+    }
+
+    /** RFC 3986 : scheme characters after the first: {@code ALPHA / DIGIT / "+" / "-" / "."} */
+    public static boolean isSchemeChar(char ch) {
+        return isClass(ch, SCHEME_CHAR);
+    }
+
+    // ---- Run scanning
+    // Most IRIs are ASCII and most characters in a path, query or fragment need no
+    // more checking than a table lookup. These skip over such a run and return the
+    // index of the first character that needs the full parser: '%', a non-ASCII
+    // character, a delimiter that ends the part, or an illegal character.
+
+    /**
+     * Skip over ASCII characters that are legal in a path after the first segment.
+     * Return the index of the first character, at or after {@code start}, that is not, or {@code end}.
+     */
+    static int skipPathRun(CharSequence chars, int start, int end) {
+        return skipRun(chars, start, end, PATH_RUN);
+    }
+
+    /**
+     * Skip over ASCII characters that are legal in a query or fragment.
+     * Return the index of the first character, at or after {@code start}, that is not, or {@code end}.
+     */
+    static int skipQueryRun(CharSequence chars, int start, int end) {
+        return skipRun(chars, start, end, QUERY_RUN);
+    }
+
+    private static int skipRun(CharSequence chars, int start, int end, int charClass) {
+        int p = start;
+        // The common case: a direct String.charAt loop.
+        if ( chars instanceof String str ) {
+            while ( p < end ) {
+                char ch = str.charAt(p);
+                if ( ch >= 0x80 || (asciiClass[ch] & charClass) == 0 )
+                    return p;
+                p++;
+            }
+            return p;
+        }
+        while ( p < end ) {
+            char ch = chars.charAt(p);
+            if ( ch >= 0x80 || (asciiClass[ch] & charClass) == 0 )
+                return p;
+            p++;
+        }
+        return p;
+    }
+
     /**
      * Test whether the character at location 'x' is percent-encoded. This operation
      * needs to look at next two characters if and only if ch is '%'.
@@ -67,11 +187,11 @@ public class Chars3986 {
     }
 
     public static boolean isAlpha(char ch) {
-        return range(ch, 'a', 'z') || range(ch, 'A', 'Z');
+        return isClass(ch, ALPHA);
     }
 
     public static boolean isAlphaNum(char ch) {
-        return isAlpha(ch) || isDigit(ch);
+        return isClass(ch, ALPHA|DIGIT);
     }
 
     /** RFC3987: International alphabetic. */
@@ -90,39 +210,57 @@ public class Chars3986 {
     // Surrogates are "hi-lo" : DC000-DFFF and D800-DFFF
     // We assume the java string is valid and surrogates are correctly in high-low pairs.
 
+    // Ranges, as pairs of start and finish, both inclusive.
+    // The 16 bit ranges include surrogates (D800-DFFF) so that characters outside the BMP are allowed.
+    private static final char[] ucsCharRanges16 = { 0xA0, 0xDFFF, 0xF900, 0xFDCF, 0xFDF0, 0xFFEF };
+    private static final int[] ucsCharRanges = {
+        0xA0, 0xD7FF,        0xF900, 0xFDCF,      0xFDF0, 0xFFEF,
+        0x10000, 0x1FFFD,    0x20000, 0x2FFFD,    0x30000, 0x3FFFD,
+        0x40000, 0x4FFFD,    0x50000, 0x5FFFD,    0x60000, 0x6FFFD,
+        0x70000, 0x7FFFD,    0x80000, 0x8FFFD,    0x90000, 0x9FFFD,
+        0xA0000, 0xAFFFD,    0xB0000, 0xBFFFD,    0xC0000, 0xCFFFD,
+        0xD0000, 0xDFFFD,    0xE1000, 0xEFFFD
+    };
+    private static final int[] iprivateRanges = { 0xE000, 0xF8FF, 0xF0000, 0xFFFFD, 0x100000, 0X10FFFD };
+
     public static boolean isUcsChar(char ch) {
-            return range(ch, 0xA0, 0xD7FF)  || range(ch, 0xF900, 0xFDCF)  || range(ch, 0xFDF0, 0xFFEF)
-                    // Allow surrogates.
-                    || Character.isSurrogate(ch);
-                // Java is 16 bits chars.
-    //            || range(ch, 0x10000, 0x1FFFD) || range(ch, 0x20000, 0x2FFFD) || range(ch, 0x30000, 0x3FFFD)
-    //            || range(ch, 0x40000, 0x4FFFD) || range(ch, 0x50000, 0x5FFFD) || range(ch, 0x60000, 0x6FFFD)
-    //            || range(ch, 0x70000, 0x7FFFD) || range(ch, 0x80000, 0x8FFFD) || range(ch, 0x90000, 0x9FFFD)
-    //            || range(ch, 0xA0000, 0xAFFFD) || range(ch, 0xB0000, 0xBFFFD) || range(ch, 0xC0000, 0xCFFFD)
-    //            || range(ch, 0xD0000, 0xDFFFD) || range(ch, 0xE1000, 0xEFFFD)
-        }
+        // Java is 16 bits chars.
+        if ( ch < 0xA0 )
+            return false;
+        return inRanges(ch, ucsCharRanges16);
+    }
 
     // int version - includes support for beyond 16 bit chars.
     public static boolean int_isUcsChar(int ch) {
-        // RFC 3987
-        // ucschar    = %xA0-D7FF / %xF900-FDCF / %xFDF0-FFEF
-        //            / %x10000-1FFFD / %x20000-2FFFD / %x30000-3FFFD
-        //            / %x40000-4FFFD / %x50000-5FFFD / %x60000-6FFFD
-        //            / %x70000-7FFFD / %x80000-8FFFD / %x90000-9FFFD
-        //            / %xA0000-AFFFD / %xB0000-BFFFD / %xC0000-CFFFD
-        //            / %xD0000-DFFFD / %xE1000-EFFFD
-        boolean b = range(ch, 0xA0, 0xD7FF)  || range(ch, 0xF900, 0xFDCF)  || range(ch, 0xFDF0, 0xFFEF);
-        if ( b )
-            return true;
-        if ( ch < 0x10000 )
+        if ( ch < 0xA0 )
             return false;
-        // 32 bit checks.
-        return
-            range(ch, 0x10000, 0x1FFFD) || range(ch, 0x20000, 0x2FFFD) || range(ch, 0x30000, 0x3FFFD) ||
-            range(ch, 0x40000, 0x4FFFD) || range(ch, 0x50000, 0x5FFFD) || range(ch, 0x60000, 0x6FFFD) ||
-            range(ch, 0x70000, 0x7FFFD) || range(ch, 0x80000, 0x8FFFD) || range(ch, 0x90000, 0x9FFFD) ||
-            range(ch, 0xA0000, 0xAFFFD) || range(ch, 0xB0000, 0xBFFFD) || range(ch, 0xC0000, 0xCFFFD) ||
-            range(ch, 0xD0000, 0xDFFFD) || range(ch, 0xE1000, 0xEFFFD);
+        return inRanges(ch, ucsCharRanges);
+    }
+
+    private static boolean inRanges(char ch, char[] ranges) {
+        for ( int i = 0 ; i < ranges.length ; i += 2 ) {
+            if ( ch < ranges[i] )
+                return false;
+            if ( ch <= ranges[i+1] )
+                return true;
+        }
+        return false;
+    }
+
+    // Ranges are sorted - binary search for the last range starting at or before ch.
+    private static boolean inRanges(int ch, int[] ranges) {
+        int lo = 0;
+        int hi = ranges.length/2 - 1;
+        while ( lo <= hi ) {
+            int mid = (lo + hi) >>> 1;
+            if ( ch < ranges[2*mid] )
+                hi = mid - 1;
+            else if ( ch > ranges[2*mid+1] )
+                lo = mid + 1;
+            else
+                return true;
+        }
+        return false;
     }
 
     //iprivate       = %xE000-F8FF / %xF0000-FFFFD / %x100000-10FFFD
@@ -132,46 +270,82 @@ public class Chars3986 {
     }
 
     public static boolean int_isIPrivate(int ch) {
-        return range(ch, 0xE000, 0xF8FF) || range(ch, 0xF0000, 0xFFFFD) || range(ch, 0x100000, 0X10FFFD);
+        if ( ch < 0xE000 )
+            return false;
+        return inRanges(ch, iprivateRanges);
+    }
+
+    // ---- Turtle/SPARQL prefixed names.
+    // PN_CHARS_BASE ::= [A-Z] | [a-z] | [#x00C0-#x00D6] | [#x00D8-#x00F6] | [#x00F8-#x02FF]
+    //                 | [#x0370-#x037D] | [#x037F-#x1FFF] | [#x200C-#x200D] | [#x2070-#x218F]
+    //                 | [#x2C00-#x2FEF] | [#x3001-#xD7FF] | [#xF900-#xFDCF] | [#xFDF0-#xFFFD]
+    //                 | [#x10000-#xEFFFF]
+    // PN_CHARS_U    ::= PN_CHARS_BASE | '_'
+    // PN_CHARS      ::= PN_CHARS_U | '-' | [0-9] | #x00B7 | [#x0300-#x036F] | [#x203F-#x2040]
+    // PN_LOCAL      ::= (PN_CHARS_U | ':' | [0-9] | PLX) ((PN_CHARS | '.' | ':' | PLX)* (PN_CHARS | ':' | PLX))?
+    // PLX           ::= PERCENT | PN_LOCAL_ESC
+
+    // Non-ASCII PN_CHARS_BASE. Surrogates (#xD800-#xDFFF) are included for [#x10000-#xEFFFF].
+    private static final char[] pnCharsBaseRanges16 = {
+        0x00C0, 0x00D6,    0x00D8, 0x00F6,    0x00F8, 0x02FF,    0x0370, 0x037D,
+        0x037F, 0x1FFF,    0x200C, 0x200D,    0x2070, 0x218F,    0x2C00, 0x2FEF,
+        0x3001, 0xDFFF,    0xF900, 0xFDCF,    0xFDF0, 0xFFFD
+    };
+
+    /** Turtle and SPARQL : PN_CHARS_BASE */
+    public static boolean isPNCharsBase(char ch) {
+        if ( ch < 0x80 )
+            return isClass(ch, ALPHA);
+        return inRanges(ch, pnCharsBaseRanges16);
+    }
+
+    /** Turtle and SPARQL : PN_CHARS_U */
+    public static boolean isPNCharsU(char ch) {
+        return ch == '_' || isPNCharsBase(ch);
+    }
+
+    /** Turtle and SPARQL : PN_CHARS */
+    public static boolean isPNChars(char ch) {
+        if ( ch < 0x80 )
+            return ch == '_' || ch == '-' || isClass(ch, ALPHA | DIGIT);
+        return ch == 0x00B7 || range(ch, 0x0300, 0x036F) || range(ch, 0x203F, 0x2040) || isPNCharsBase(ch);
+    }
+
+    /**
+     * A character that can start a PN_LOCAL, not using escapes. A {@code %} must be
+     * followed by two hex digits.
+     */
+    static boolean isPNLocalStart(char ch) {
+        return ch == ':' || ch == '%' || isDigit(ch) || isPNCharsU(ch);
+    }
+
+    /**
+     * A character that can be in a PN_LOCAL, after the first character, not using
+     * escapes. A {@code %} must be followed by two hex digits. The last character can
+     * not be a {@code .}.
+     */
+    static boolean isPNLocalChar(char ch) {
+        return ch == '.' || ch == ':' || ch == '%' || isPNChars(ch);
     }
 
     /** RFC 3986 : unreserved */
     public static boolean unreserved(char ch) {
-        if ( isAlpha(ch) || isDigit(ch) )
-            return true;
-        switch(ch) {
-            // unreserved
-            case '-': case '.': case '_': case '~': return true;
-        }
-        return false;
+        return isClass(ch, UNRESERVED);
     }
 
     /** RFC 3987 : iunreserved */
     public static boolean iunreserved(char ch) {
-        if ( isIAlpha(ch) || isDigit(ch) )
-            return true;
-        switch(ch) {
-            // unreserved
-            case '-': case '.': case '_': case '~': return true;
-        }
-        return false;
+        return isClass(ch, UNRESERVED) || isUcsChar(ch);
     }
 
     /** RFC 3986 : sub-delims */
     public static boolean subDelims(char ch) {
-        switch(ch) {
-            case '!': case '$': case '&': case '\'': case '(': case ')':
-            case '*': case '+': case ',': case ';': case '=': return true;
-        }
-        return false;
+        return isClass(ch, SUB_DELIMS);
     }
 
     /** RFC 3986 : gen-delims / sub-delims */
     public static boolean genDelims(char ch) {
-        switch(ch) {
-            case ':': case '/': case '?': case '#': case '[': case ']': case '@': return true;
-        }
-        return false;
+        return isClass(ch, GEN_DELIMS);
     }
 
     /** Return a display string for a character suitable for error messages. */
@@ -208,7 +382,7 @@ public class Chars3986 {
     }
 
     public static boolean isDigit(char ch) {
-        return range(ch, '0', '9');
+        return isClass(ch, DIGIT);
     }
 
     /**
@@ -216,7 +390,7 @@ public class Chars3986 {
      * but also lower case (non-normalized form). See RFC 3986 sec 6.2.2.1
      */
     public static boolean isHexDigit(char ch) {
-        return range(ch, '0', '9' ) || range(ch, 'A', 'F' ) || range(ch, 'a', 'f' )  ;
+        return isClass(ch, HEXDIGIT);
     }
 
     public static int hexValue(char ch) {
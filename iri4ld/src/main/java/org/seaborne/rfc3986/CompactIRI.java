@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An {@link IRI} that uses less memory than {@link IRI3986}, for applications that
+ * keep a large number of parsed IRIs.
+ * <p>
+ * A {@code CompactIRI} keeps the IRI string, the offsets of the components as 16-bit
+ * values, and the violations found when the IRI was created. Component strings are
+ * not cached; each call of {@link #scheme()}, {@link #host()} etc. creates a new
+ * string. Use {@link #expand()} to get the {@link IRI3986} for other operations,
+ * such as resolving and relativizing; this does not parse the string again.
+ * <p>
+ * Sizes, measured with JOL on a 64-bit JVM with compressed references (see
+ * {@code Footprint} in x4ld-bench):
+ * <ul>
+ * <li>{@code CompactIRI} : 48 bytes, not including the IRI string.</li>
+ * <li>{@code IRI3986} : 128 bytes, not including the IRI string, and up to 7 more
+ * strings when the components are accessed.</li>
+ * <li>For the http IRIs of the x4ld-bench corpus, after accessing the components, including all
+ * strings: {@code CompactIRI} 146 bytes, {@code IRI3986} 479 bytes.</li>
+ * </ul>
+ * Create with {@link IRI3986#compact()} or {@link RFC3986#createCompact(String)}.
+ * IRIs longer than {@link #MAX_LENGTH} are not compacted.
+ * <p>
+ * A {@code CompactIRI} is equal to another {@code CompactIRI} with the same string;
+ * it is not {@code .equals} to an {@link IRI3986}. Compare {@link #str()} to compare
+ * the different kinds of IRI object.
+ */
+public final class CompactIRI implements IRI {
+
+    /** The longest IRI string that can be held as a {@code CompactIRI}. */
+    public static final int MAX_LENGTH = 0xFFFE;
+
+    // Offset for "not present".
+    private static final char NONE = 0xFFFF;
+
+    private final String iriStr;
+    // Empty violations are List.of(), which is a shared object.
+    private final List<Violation> violations;
+
+    // Offsets as IRI3986.
+    // scheme0 is 0, if there is a scheme, and fragment1 is the length of the string,
+    // if there is a fragment, so they are not stored.
+    private final char scheme1;
+    private final char authority0;
+    private final char authority1;
+    private final char userinfo0;
+    private final char userinfo1;
+    private final char host0;
+    private final char host1;
+    private final char port0;
+    private final char port1;
+    private final char path0;
+    private final char path1;
+    private final char query0;
+    private final char query1;
+    private final char fragment0;
+
+    /*package*/ CompactIRI(String iriStr, int[] offsets, List<Violation> violations) {
+        if ( iriStr.length() > MAX_LENGTH )
+            throw new IllegalArgumentException("IRI string too long: "+iriStr.length());
+        this.iriStr = iriStr;
+        this.violations = violations.isEmpty() ? List.of() : List.copyOf(violations);
+        this.scheme1    = toChar(offsets[1]);
+        this.authority0 = toChar(offsets[2]);
+        this.authority1 = toChar(offsets[3]);
+        this.userinfo0  = toChar(offsets[4]);
+        this.userinfo1  = toChar(offsets[5]);
+        this.host0      = toChar(offsets[6]);
+        this.host1      = toChar(offsets[7]);
+        this.port0      = toChar(offsets[8]);
+        this.port1      = toChar(offsets[9]);
+        this.path0      = toChar(offsets[10]);
+        this.path1      = toChar(offsets[11]);
+        this.query0     = toChar(offsets[12]);
+        this.query1     = toChar(offsets[13]);
+        this.fragment0  = toChar(offsets[14]);
+    }
+
+    private static char toChar(int x) {
+        return ( x < 0 ) ? NONE : (char)x;
+    }
+
+    private static int toInt(char x) {
+        return ( x == NONE ) ? -1 : x;
+    }
+
+    /**
+     * Return the {@link IRI3986} for this IRI, with the same string, components and
+     * violations. The string is not parsed again.
+     */
+    public IRI3986 expand() {
+        int[] offsets = {
+            toInt(scheme1) == -1 ? -1 : 0, toInt(scheme1),
+            toInt(authority0), toInt(authority1),
+            toInt(userinfo0), toInt(userinfo1),
+            toInt(host0), toInt(host1),
+            toInt(port0), toInt(port1),
+            toInt(path0), toInt(path1),
+            toInt(query0), toInt(query1),
+            toInt(fragment0), toInt(fragment0) == -1 ? -1 : iriStr.length()
+        };
+        return IRI3986.fromOffsets(iriStr, offsets, violations);
+    }
+
+    @Override
+    public String str() {
+        return iriStr;
+    }
+
+    /** Human-readable appearance. Use {@link #str()} to a string to use in code. */
+    @Override
+    public String toString() {
+        return iriStr;
+    }
+
+    /** Does this IRI have any scheme specific issues? */
+    public boolean hasViolations() {
+        return !violations.isEmpty();
+    }
+
+    /** The scheme specific issues found when this IRI was created. */
+    public List<Violation> violations() {
+        return violations;
+    }
+
+    @Override
+    public boolean hasScheme() {
+        return scheme1 != NONE;
+    }
+
+    @Override
+    public String scheme() {
+        return part((char)0, scheme1);
+    }
+
+    @Override
+    public boolean hasAuthority() {
+        return authority0 != NONE;
+    }
+
+    @Override
+    public String authority() {
+        return part(authority0, authority1);
+    }
+
+    @Override
+    public boolean hasUserInfo() {
+        return userinfo0 != NONE;
+    }
+
+    @Override
+    public String userInfo() {
+        return part(userinfo0, userinfo1);
+    }
+
+    @Override
+    public boolean hasHost() {
+        return host0 != NONE;
+    }
+
+    @Override
+    public String host() {
+        return part(host0, host1);
+    }
+
+    @Override
+    public boolean hasPort() {
+        return port0 != NONE;
+    }
+
+    @Override
+    public String port() {
+        return part(port0, port1);
+    }
+
+    @Override
+    public boolean hasPath() {
+        // As IRI3986 : there is always a path, it may be "".
+        return true;
+    }
+
+    @Override
+    public String path() {
+        if ( path0 == NONE )
+            return "";
+        return iriStr.substring(path0, path1);
+    }
+
+    @Override
+    public String[] pathSegments() {
+        return path().split("/");
+    }
+
+    @Override
+    public boolean hasQuery() {
+        return query0 != NONE;
+    }
+
+    @Override
+    public String query() {
+        return part(query0, query1);
+    }
+
+    @Override
+    public boolean hasFragment() {
+        return fragment0 != NONE;
+    }
+
+    @Override
+    public String fragment() {
+        if ( fragment0 == NONE )
+            return null;
+        return iriStr.substring(fragment0);
+    }
+
+    /** A component, or null if it is not present. */
+    private String part(char start, char finish) {
+        if ( start == NONE || finish == NONE )
+            return null;
+        return iriStr.substring(start, finish);
+    }
+
+    /**
+     * <a href="https://tools.ietf.org/html/rfc3986#section-6.2.2">RFC 3986, Section
+     * 6.2.2 : Syntax-Based Normalization.</a>. The result is compacted.
+     */
+    @Override
+    public IRI normalize() {
+        return expand().normalize().compact();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(iriStr);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if ( this == obj )
+            return true;
+        if ( !(obj instanceof CompactIRI other) )
+            return false;
+        return iriStr.equals(other.iriStr);
+    }
+}
@@ -24,11 +24,16 @@ import static org.seaborne.rfc3986.Chars3986.displayChar;
 import static org.seaborne.rfc3986.ParseErrorIRI3986.parseError;
 import static org.seaborne.rfc3986.URIScheme.*;
 
+import java.nio.ByteBuffer;
 import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
@@ -146,6 +151,44 @@ public class IRI3986 implements IRI {
         return iri;
     }
 
+    /**
+     * Create an {@code IRI3986} object or throw an exception if there is a syntax
+     * error.
+     * <p>
+     * The checks of the rules of IRI schemes are done when the violations are first
+     * asked for, by {@link #hasViolations()}, {@link #violations()} or
+     * {@link #forEachViolation}, and not at all if they are never asked for.
+     * The result is the same as {@link #create(String)}.
+     */
+    public static IRI3986 createLazy(String iristr) {
+        IRI3986 iri = newAndParseEx(iristr);
+        iri.deferredChecks = true;
+        return iri;
+    }
+
+    /**
+     * Create an {@code IRI3986} object or throw an exception if there is a syntax
+     * error, and send any violations of the rules of IRI schemes to the sink.
+     * <p>
+     * The violations are not recorded in the IRI; {@link #hasViolations()} is false.
+     * If the IRI has no violations, or the sink does not create objects, the only
+     * object created is the IRI.
+     */
+    public static IRI3986 create(String iristr, ViolationSink sink) {
+        Objects.requireNonNull(sink);
+        IRI3986 iri = newAndParseEx(iristr);
+        iri.schemeChecks(sink);
+        return iri;
+    }
+
+    /**
+     * Create an IRI or throw an exception if there is a syntax error, as
+     * {@link #create(String)}, and return the compact form. See {@link #compact()}.
+     */
+    public static IRI createCompact(String iristr) {
+        return create(iristr).compact();
+    }
+
     /**
      * Create an {@code IRI3986} object; report errors and warnings. This operation
      * always returns an object; it does not throw an exception, nor return null.
@@ -161,6 +204,79 @@ public class IRI3986 implements IRI {
         return iri;
     }
 
+    // ---- Parsing regions of characters and bytes.
+    // The IRI3986 object keeps the characters (or bytes) and only creates a string
+    // when str() or a component getter is called. The caller must not change the
+    // characters or bytes until then.
+
+    /**
+     * Create an {@code IRI3986} object from the characters {@code chars[start]} to
+     * {@code chars[end-1]} or throw an exception if there is a syntax error.
+     * <p>
+     * As {@link #create(String)}, this checks the rules of IRI schemes which needs the
+     * string form of the IRI.
+     */
+    public static IRI3986 create(CharSequence chars, int start, int end) {
+        return newAndParseAndCheck(ASCIIBytes.chars(chars, start, end));
+    }
+
+    /**
+     * Create an {@code IRI3986} object from the characters {@code chars[start]} to
+     * {@code chars[end-1]} or throw an exception if there is a syntax error.
+     * <p>
+     * This operation does not check conformance to the rules of IRI schemes, and it
+     * does not create a string.
+     */
+    public static IRI3986 createSyntax(CharSequence chars, int start, int end) {
+        return newAndParseEx(ASCIIBytes.chars(chars, start, end));
+    }
+
+    /**
+     * Create an {@code IRI3986} object from the UTF-8 bytes {@code bytes[start]} to
+     * {@code bytes[end-1]} or throw an exception if there is a syntax error.
+     * <p>
+     * As {@link #create(String)}, this checks the rules of IRI schemes which needs the
+     * string form of the IRI.
+     */
+    public static IRI3986 create(byte[] bytes, int start, int end) {
+        return newAndParseAndCheck(ASCIIBytes.charsUTF8(bytes, start, end));
+    }
+
+    /**
+     * Create an {@code IRI3986} object from the UTF-8 bytes {@code bytes[start]} to
+     * {@code bytes[end-1]} or throw an exception if there is a syntax error.
+     * <p>
+     * This operation does not check conformance to the rules of IRI schemes. If the
+     * bytes are all ASCII, it does not create a string.
+     */
+    public static IRI3986 createSyntax(byte[] bytes, int start, int end) {
+        return newAndParseEx(ASCIIBytes.charsUTF8(bytes, start, end));
+    }
+
+    /**
+     * Create an {@code IRI3986} object from the UTF-8 bytes of a {@link ByteBuffer}
+     * at absolute indexes {@code start} to {@code end-1} or throw an exception if
+     * there is a syntax error. The position and limit of the buffer are not used.
+     * <p>
+     * As {@link #create(String)}, this checks the rules of IRI schemes which needs the
+     * string form of the IRI.
+     */
+    public static IRI3986 create(ByteBuffer bytes, int start, int end) {
+        return newAndParseAndCheck(ASCIIBytes.charsUTF8(bytes, start, end));
+    }
+
+    /**
+     * Create an {@code IRI3986} object from the UTF-8 bytes of a {@link ByteBuffer}
+     * at absolute indexes {@code start} to {@code end-1} or throw an exception if
+     * there is a syntax error. The position and limit of the buffer are not used.
+     * <p>
+     * This operation does not check conformance to the rules of IRI schemes. If the
+     * bytes are all ASCII, it does not create a string.
+     */
+    public static IRI3986 createSyntax(ByteBuffer bytes, int start, int end) {
+        return newAndParseEx(ASCIIBytes.charsUTF8(bytes, start, end));
+    }
+
     /**
      * Create an IRI3986, parsing the string to set all the members. If bad, by the
      * syntax defined by RFC 3986, throw an exception.
@@ -168,7 +284,7 @@ public class IRI3986 implements IRI {
      * This operation does not check the resulting IRI conforms to URI scheme
      * specific rules - see {@link #newAndCheck(String)}.
      */
-    private static IRI3986 newAndParseEx(String iristr) {
+    private static IRI3986 newAndParseEx(CharSequence iristr) {
         IRI3986 iri = new IRI3986(iristr);
         iri.parse();
         return iri;
@@ -184,7 +300,7 @@ public class IRI3986 implements IRI {
      * The result is a syntactically legal (by RFC 3986) IRI which may have
      * scheme-specific rule violations.
      */
-    private static IRI3986 newAndParseAndCheck(String iristr) {
+    private static IRI3986 newAndParseAndCheck(CharSequence iristr) {
         IRI3986 iri = new IRI3986(iristr);
         iri.parse();
         iri.schemeSpecificRulesInternal();
@@ -199,7 +315,7 @@ public class IRI3986 implements IRI {
      * This operation does check the resulting IRI conforms to URI scheme specific
      * rules if the IRI string conforms to RFC 3986.
      */
-    private static IRI3986 newAndCheck(String iriStr) {
+    private static IRI3986 newAndCheck(CharSequence iriStr) {
         // The parser does not try to continue after it finds an error
         // in the RFC3986 syntax, so the components at the point of error
         // and later components are not recorded.
@@ -208,15 +324,45 @@ public class IRI3986 implements IRI {
             iri.parse();
             iri.schemeSpecificRulesInternal();
         } catch (IRIParseException ex) {
-            String msg = ex.getMessage();
-            addReportParseError(iri, iriStr, ex.getMessage());
+            addReportParseError(iri, iri.str(), ex.getMessage());
+        }
+        return iri;
+    }
+
+    /**
+     * Create an IRI3986 as {@link #create(String)}, using the authority cache if it
+     * is not null, and checking the rules of the schemes in the set; null means all
+     * schemes. See {@link IRIParserConfig}.
+     */
+    /*package*/ static IRI3986 create(String iristr, AuthorityCache authorityCache, Set<URIScheme> schemes) {
+        IRI3986 iri = new IRI3986(iristr);
+        iri.parse(authorityCache);
+        iri.schemeSpecificRulesInternal(schemes);
+        return iri;
+    }
+
+    /**
+     * Create an IRI3986 as {@link #createAny(String)}, using the authority cache if
+     * it is not null, and checking the rules of the schemes in the set; null means
+     * all schemes. See {@link IRIParserConfig}.
+     */
+    /*package*/ static IRI3986 createAny(String iristr, AuthorityCache authorityCache, Set<URIScheme> schemes) {
+        IRI3986 iri = new IRI3986(iristr);
+        try {
+            iri.parse(authorityCache);
+            iri.schemeSpecificRulesInternal(schemes);
+        } catch (IRIParseException ex) {
+            addReportParseError(iri, iri.str(), ex.getMessage());
         }
         return iri;
     }
 
-    // Always set,
-    private final String iriStr;
+    // Always set. The characters parsed; this is the same object as iriStr when
+    // created from a string.
+    private final CharSequence source;
     private final int length;
+    // The string form, created from the source when first needed.
+    private String iriStr;
 
     // Offsets of parsed components, together with cached value.
     // The value is not calculated until first used, so that pure checking
@@ -242,6 +388,9 @@ public class IRI3986 implements IRI {
     private int port1 = -1;
     private String port = null;
 
+    // Set when the authority was parsed using the AuthorityCache.
+    private AuthorityCache.Entry authorityInfo = null;
+
     private int path0 = -1;
     private int path1 = -1;
     private String path = null;
@@ -256,18 +405,23 @@ public class IRI3986 implements IRI {
 
     // Violations.
     private List<Violation> reports = null;
+    // Scheme-specific checks not yet done; see createLazy.
+    // Set before the object is published, and cleared, once, after the checks.
+    private volatile boolean deferredChecks = false;
 
-    private IRI3986(String iriStr) {
-        this.iriStr = iriStr;
-        this.length = iriStr.length();
+    private IRI3986(CharSequence source) {
+        this.source = source;
+        this.length = source.length();
+        this.iriStr = ( source instanceof String str ) ? str : null;
     }
 
     /** The IRI in string form. This is guaranteed to parse to a ".equals" IRI. */
     @Override
     public final String str() {
-        if ( iriStr != null )
-            return iriStr;
-        return rebuild();
+        // Two threads may both create the string; they are equal strings.
+        if ( iriStr == null )
+            iriStr = source.toString();
+        return iriStr;
     }
 
     /**
@@ -283,6 +437,7 @@ public class IRI3986 implements IRI {
      * exceptions. See {@link Violations} for mapping issues to warnings and errors.
      */
     public boolean hasViolations() {
+        List<Violation> reports = reports();
         return reports != null && ! reports.isEmpty();
     }
 
@@ -292,7 +447,7 @@ public class IRI3986 implements IRI {
     public boolean hasViolations(Severity levelSeverity) {
         if ( ! hasViolations() )
             return false;
-        for ( var violation : reports ) {
+        for ( var violation : reports() ) {
             Severity severity = Violations.getSeverity(violation.issue());
             if ( severity.level() > levelSeverity.level() )
                 return true;
@@ -317,6 +472,7 @@ public class IRI3986 implements IRI {
      * exceptions are does not throw exception.
      */
     public void forEachViolation(Consumer<Violation> action) {
+        List<Violation> reports = reports();
         if ( reports == null )
             return;
         reports.forEach(action);
@@ -327,11 +483,25 @@ public class IRI3986 implements IRI {
      * See {@link #forEachViolation(Consumer)}.
      */
     public List<Violation> violations() {
+        List<Violation> reports = reports();
         if ( reports == null )
             return List.of();
         return reports;
     }
 
+    /** The violations, doing the scheme-specific checks first if they have been deferred. */
+    private List<Violation> reports() {
+        if ( deferredChecks ) {
+            synchronized(this) {
+                if ( deferredChecks ) {
+                    schemeSpecificRulesInternal();
+                    deferredChecks = false;
+                }
+            }
+        }
+        return reports;
+    }
+
     /** Human-readable appearance. Use {@link #str()} to a string to use in code. */
     @Override
     public String toString() {
@@ -347,7 +517,7 @@ public class IRI3986 implements IRI {
     @Override
     public String scheme() {
         if ( hasScheme() && scheme == null )
-            scheme = part(iriStr, scheme0, scheme1);
+            scheme = part(str(), scheme0, scheme1);
         return scheme;
     }
 
@@ -359,7 +529,7 @@ public class IRI3986 implements IRI {
     @Override
     public String authority() {
         if ( hasAuthority() && authority == null )
-            authority = part(iriStr, authority0, authority1);
+            authority = part(str(), authority0, authority1);
         return authority;
     }
 
@@ -371,7 +541,7 @@ public class IRI3986 implements IRI {
     @Override
     public String userInfo() {
         // Do not retain.
-        return part(iriStr, userinfo0, userinfo1);
+        return part(str(), userinfo0, userinfo1);
     }
 
     @Override
@@ -382,7 +552,7 @@ public class IRI3986 implements IRI {
     @Override
     public String host() {
         if ( hasHost() && host == null )
-            host = part(iriStr, host0, host1);
+            host = part(str(), host0, host1);
         return host;
     }
 
@@ -394,7 +564,7 @@ public class IRI3986 implements IRI {
     @Override
     public String port() {
         if ( hasPort() && port == null )
-            port = part(iriStr, port0, port1);
+            port = part(str(), port0, port1);
         return port;
     }
 
@@ -411,7 +581,7 @@ public class IRI3986 implements IRI {
         // Assigning to a object member is atomic and even if two part/assignment
         // overlap, they are the same value-equals string.
         if ( hasPath() && path == null )
-            path = part(iriStr, path0, path1);
+            path = part(str(), path0, path1);
         if ( path == null )
             path = "";
         return path;
@@ -433,7 +603,7 @@ public class IRI3986 implements IRI {
     @Override
     public String query() {
         if ( hasQuery() && query == null )
-            query = part(iriStr, query0, query1);
+            query = part(str(), query0, query1);
         return query;
     }
 
@@ -445,7 +615,7 @@ public class IRI3986 implements IRI {
     @Override
     public String fragment() {
         if ( hasFragment() && fragment == null )
-            fragment = part(iriStr, fragment0, fragment1);
+            fragment = part(str(), fragment0, fragment1);
         return fragment;
     }
 
@@ -552,24 +722,256 @@ public class IRI3986 implements IRI {
         return charAt(x0);
     }
 
+    /**
+     * Return a {@link CompactIRI} for this IRI, which uses less memory when many IRIs are
+     * kept. Any deferred scheme-specific checks (see {@link #createLazy}) are done
+     * first. An IRI that is longer than {@link CompactIRI#MAX_LENGTH} is returned
+     * unchanged.
+     */
+    public IRI compact() {
+        if ( length > CompactIRI.MAX_LENGTH )
+            return this;
+        return new CompactIRI(str(), offsets(), violations());
+    }
+
+    /**
+     * The offsets of the components, start and end of each of scheme, authority,
+     * userinfo, host, port, path, query and fragment. -1 means not present.
+     */
+    /*package*/ int[] offsets() {
+        return new int[] {
+            scheme0, scheme1, authority0, authority1, userinfo0, userinfo1, host0, host1,
+            port0, port1, path0, path1, query0, query1, fragment0, fragment1
+        };
+    }
+
+    /**
+     * Split this IRI into a namespace and a local name, for writing as a Turtle or
+     * SPARQL prefixed name. Return the index in {@link #str()} where the local name
+     * starts, or -1 if the IRI can not be split.
+     * <p>
+     * The local name is the characters after the last "/", "#" or ":" of the path or
+     * fragment, and must be a PN_LOCAL without escapes. It may be empty, as for
+     * {@code http://example/ns#}. An IRI with a query and no fragment is not split.
+     */
+    public int splitNamespace() {
+        int lower;
+        if ( hasFragment() )
+            lower = fragment0;
+        else if ( hasQuery() )
+            return -1;
+        else if ( path0 >= 0 )
+            lower = path0;
+        else
+            return length;
+        int x = length;
+        while ( x > lower ) {
+            char ch = charAt(x-1);
+            if ( ch == ':' || !Chars3986.isPNLocalChar(ch) )
+                break;
+            x--;
+        }
+        if ( x == length )
+            return x;
+        if ( !Chars3986.isPNLocalStart(charAt(x)) || charAt(length-1) == '.' )
+            return -1;
+        return x;
+    }
+
     /** Test whether the IRI is RFC 3986 compatible;that is, has only ASCII characters. */
     public boolean isRFC3986() {
         // The URI is valid syntax so we just need to test for non-ASCII characters.
-        return isASCII(iriStr, 0, iriStr.length());
+        return isASCII(source, 0, length);
+    }
+
+    /**
+     * <a href="https://tools.ietf.org/html/rfc3987#section-3.1">RFC 3987, Section
+     * 3.1 : Mapping of IRIs to URIs</a>.
+     * <p>
+     * Return the URI for this IRI: each non-ASCII character is replaced by the
+     * percent-encoding of its UTF-8 octets. Return this IRI if it has only ASCII
+     * characters. A non-ASCII host is percent-encoded, not converted with IDNA.
+     * <p>
+     * The string is converted in one pass and the components of the result are
+     * located from the components of this IRI; it is not parsed again.
+     */
+    public IRI3986 toURI() {
+        int x = 0;
+        while ( x < length && source.charAt(x) < 0x80 )
+            x++;
+        if ( x == length )
+            return this;
+        int[] offsets = offsets();
+        StringBuilder sb = new StringBuilder(length+32);
+        sb.append(source, 0, x);
+        int k = 0;
+        for ( int i = x ; i < length ; ) {
+            k = mapOffsets(offsets, k, i, sb.length());
+            char ch = source.charAt(i);
+            if ( ch < 0x80 ) {
+                sb.append(ch);
+                i++;
+                continue;
+            }
+            int cp = Character.codePointAt(source, i);
+            i += Character.charCount(cp);
+            PercentEncoding.appendUTF8(sb, cp);
+        }
+        mapOffsets(offsets, k, length, sb.length());
+        return fromOffsets(sb.toString(), offsets, null);
+    }
+
+    /**
+     * <a href="https://tools.ietf.org/html/rfc3987#section-3.2">RFC 3987, Section
+     * 3.2 : Converting URIs to IRIs</a>.
+     * <p>
+     * Return the IRI for this URI: each percent-encoded sequence of UTF-8 octets
+     * that is a character allowed in an IRI ({@code ucschar}, and {@code iprivate}
+     * in the query) is replaced by the character. Other percent-encoding, including
+     * all ASCII characters, is not changed. The bidirectional formatting characters
+     * (U+200E, U+200F, U+202A-U+202E) stay percent-encoded (RFC 3987, sections 3.2
+     * and 4.1). Return this IRI if there is nothing to convert.
+     * <p>
+     * The string is converted in one pass and the components of the result are
+     * located from the components of this IRI; it is not parsed again.
+     */
+    public IRI3986 toIRI() {
+        int x = firstConvertible(0);
+        if ( x < 0 )
+            return this;
+        int[] offsets = offsets();
+        StringBuilder sb = new StringBuilder(length);
+        sb.append(source, 0, x);
+        int k = 0;
+        int i = x;
+        while ( i < length ) {
+            k = mapOffsets(offsets, k, i, sb.length());
+            char ch = source.charAt(i);
+            if ( ch == '%' ) {
+                int cp = iriCodePoint(i);
+                if ( cp >= 0 ) {
+                    sb.appendCodePoint(cp);
+                    i += 3*PercentEncoding.lengthUTF8(cp);
+                    continue;
+                }
+            }
+            sb.append(ch);
+            i++;
+        }
+        mapOffsets(offsets, k, length, sb.length());
+        return fromOffsets(sb.toString(), offsets, null);
+    }
+
+    // Index of the first percent-encoding that toIRI() converts, or -1.
+    private int firstConvertible(int start) {
+        for ( int i = start ; i < length ; i++ ) {
+            // Percent-encoded UTF-8 non-ASCII starts %8-%F.
+            if ( source.charAt(i) == '%' && Chars3986.hexValue(charAt(i+1)) >= 8 && iriCodePoint(i) >= 0 )
+                return i;
+        }
+        return -1;
+    }
+
+    // The character of the percent-encoded UTF-8 at i if it is allowed in an IRI here, else -1.
+    private int iriCodePoint(int i) {
+        int cp = PercentEncoding.codePointUTF8(source, i, length);
+        if ( cp < 0 || isBidiFormat(cp) )
+            return -1;
+        if ( Chars3986.int_isUcsChar(cp) )
+            return cp;
+        boolean inQuery = query0 >= 0 && i >= query0 && i < query1;
+        return ( inQuery && Chars3986.int_isIPrivate(cp) ) ? cp : -1;
+    }
+
+    // RFC 3987 section 4.1 : IRIs must not contain bidirectional formatting characters.
+    private static boolean isBidiFormat(int cp) {
+        return cp == 0x200E || cp == 0x200F || ( cp >= 0x202A && cp <= 0x202E );
+    }
+
+    // The indexes of offsets() in order of position in the string.
+    private static final int[] offsetsOrder = { 0, 1, 2, 4, 5, 6, 7, 8, 9, 3, 10, 11, 12, 13, 14, 15 };
+
+    /**
+     * Taken in {@code offsetsOrder}, offsets are non-decreasing except for -1
+     * (absent). Change offsets, from {@code k}, that are at or before {@code index},
+     * where {@code index} is at {@code posn} in the new string. Return the next
+     * {@code k}.
+     */
+    private static int mapOffsets(int[] offsets, int k, int index, int posn) {
+        while ( k < offsetsOrder.length ) {
+            int j = offsetsOrder[k];
+            if ( offsets[j] > index )
+                break;
+            if ( offsets[j] >= 0 )
+                offsets[j] = posn - (index - offsets[j]);
+            k++;
+        }
+        return k;
     }
 
     /**
      * <a href="https://tools.ietf.org/html/rfc3986#section-6.2.2">RFC 3986, Section
      * 6.2.2 : Syntax-Based Normalization.</a>.
+     * <p>
+     * Return this IRI if it is already normalized.
      */
     @Override
     public IRI3986 normalize() {
-        String scheme = scheme();
-        String authority = authority();
-        String path = path();
-        String query = query();
-        String fragment = fragment();
+        if ( isNormalized() )
+            return this;
+        return normalizeInto(new StringBuilder(length));
+    }
+
+    /**
+     * Normalize, as {@link #normalize()}, using {@code buffer} for the characters of
+     * the normalized IRI. Return this IRI, without using the buffer, if it is already
+     * normalized. The buffer is cleared before use.
+     */
+    public IRI3986 normalize(StringBuilder buffer) {
+        if ( isNormalized() )
+            return this;
+        return normalizeInto(buffer);
+    }
+
+    /**
+     * Test whether this IRI is the same as its normalized form.
+     * This does not create any objects.
+     */
+    public boolean isNormalized() {
+        int lowercaseEnd = normalizedPrefixEnd();
+        int x = 0;
+        for ( long piece = piece(PIECE_PATH, 0, lowercaseEnd) ; piecePhase(piece) != PIECE_END ; piece = nextNormalizedPiece(piece) ) {
+            CharSequence src = pieceSource(piece);
+            int start = pieceStart(piece);
+            int end = pieceEnd(piece);
+            // Normalization only removes characters from the source or adds a "/"
+            // for the path, so the pieces must be the source, in order, with no
+            // changes.
+            if ( src != source || start != x )
+                return false;
+            for ( ; x < end ; x++ ) {
+                char ch = source.charAt(x);
+                if ( ch == '%' ) {
+                    int unit = normalizedUnit(source, x, end, false);
+                    if ( unit < PCT_UNIT || source.charAt(x + 1) != ((unit >> 8) & 0xFF) || source.charAt(x + 2) != (unit & 0xFF) )
+                        return false;
+                    x += 2;
+                    continue;
+                }
+                if ( x < lowercaseEnd ) {
+                    if ( ch >= 'A' && ch <= 'Z' )
+                        return false;
+                    if ( ch > 0x7F && Character.toLowerCase(Character.codePointAt(source, x)) != Character.codePointAt(source, x) )
+                        return false;
+                }
+            }
+        }
+        return x == length;
+    }
 
+    /** Normalize, using the buffer. */
+    private IRI3986 normalizeInto(StringBuilder buffer) {
+        buffer.setLength(0);
         // 6.2.2. Syntax-Based Normalization
         //
         // Implementations may use logic based on the definitions provided by
@@ -600,10 +1002,7 @@ public class IRI3986 implements IRI {
         // equivalent to <http://www.example.com/>. The other generic syntax
         // components are assumed to be case-sensitive unless specifically
         // defined otherwise by the scheme (see Section 6.2.3).
-
-        scheme = toLowerCase(scheme);
-        authority = toLowerCase(authority);
-
+        //
         // 6.2.2.2. Percent-Encoding Normalization
         //
         // The percent-encoding mechanism (Section 2.1) is a frequent source of
@@ -613,99 +1012,473 @@ public class IRI3986 implements IRI {
         // are equivalent to their non-encoded counterparts. These URIs should
         // be normalized by decoding any percent-encoded octet that corresponds
         // to an unreserved character, as described in Section 2.3.
+        //
+        // Percent encoding occurs in authority, path, query and fragment.
+        // Decoded characters in the authority are also lowercased.
+        //
+        // 6.2.2.3. Path Segment Normalization
+        //
+        // 6.2.3. Scheme-Based Normalization
+        // HTTP and :80.
+        // HTTPS and :443
+        // An empty path is "/".
+        //
+        // 6.2.4. Protocol-Based Normalization
+        // None.
+        //
+        // All these are done by the one pass over the pieces of the normalized form.
 
-        // percent encoding - to upper case.
-        // percent encoding - remove unnecessary encoding.
-        // Occurs in authority, path, query and fragment.
-        authority = normalizePercent(authority);
-        path = normalizePercent(path);
-        query = normalizePercent(query);
-        fragment = normalizePercent(fragment);
+        if ( !hasASCIIAuthority() ) {
+            // Lowercasing non-ASCII characters may change the length; parse again.
+            appendNormalized(buffer, null);
+            return newAndCheck(buffer.toString());
+        }
+        int[] offsets = new int[16];
+        appendNormalized(buffer, offsets);
+        String s = buffer.toString();
+        // A path starting "//" and no authority, or a relative path with a ':' in the
+        // first segment, after removing dot segments.
+        int path0 = offsets[10];
+        if ( offsets[2] == -1 && s.startsWith("//", path0) )
+            return newAndCheck(s);
+        if ( offsets[0] == -1 ) {
+            int colon = s.indexOf(':', path0);
+            int slash = s.indexOf('/', path0);
+            if ( colon >= 0 && ( slash < 0 || colon < slash ) )
+                return newAndCheck(s);
+        }
+        return fromOffsets(s, offsets, List.of()).schemeSpecificRulesInternal();
+    }
 
-        // 6.2.2.3. Path Segment Normalization
+    /**
+     * Append the normalized form of this IRI to the {@code StringBuilder}. This does
+     * not create the normalized IRI.
+     */
+    public StringBuilder appendNormalized(StringBuilder sb) {
+        appendNormalized(sb, null);
+        return sb;
+    }
 
-        if ( path != null )
-            path = AlgResolveIRI.remove_dot_segments(path);
-        if ( path == null || path.isEmpty() )
-            path = "/";
+    /**
+     * Append the normalized form. If {@code offsets} is not null, and the authority
+     * is ASCII, set it to the offsets of the components in the appended characters,
+     * as {@link #offsets()}.
+     */
+    private void appendNormalized(StringBuilder sb, int[] offsets) {
+        final int base = sb.length();
+        int lowercaseEnd = normalizedPrefixEnd();
+        long piece = piece(PIECE_PATH, 0, lowercaseEnd);
+        int[] sourceOffsets = null;
+        if ( offsets != null ) {
+            sourceOffsets = offsets();
+            Arrays.fill(offsets, -1);
+            // The port is removed : do not mark it when a later piece starts at the
+            // end of the port.
+            if ( authority0 != -1 && lowercaseEnd < authority1 ) {
+                sourceOffsets[8] = -1;
+                sourceOffsets[9] = -1;
+            }
+        }
+        if ( hasASCIIAuthority() )
+            appendPiece(sb, piece, lowercaseEnd, sourceOffsets, offsets, base);
+        else {
+            // String.toLowerCase(Locale.ROOT) is not character by character.
+            // The scheme and "//".
+            appendPiece(sb, piece(PIECE_PATH, 0, authority0), lowercaseEnd, null, null, base);
+            String auth = source.subSequence(authority0, lowercaseEnd).toString().toLowerCase(Locale.ROOT);
+            appendPiece(sb, piece(PIECE_PATH, 0, auth.length()), auth, auth.length(), null, null, base);
+        }
+        if ( offsets != null ) {
+            if ( authority0 != -1 )
+                offsets[3] = sb.length() - base;
+            offsets[10] = sb.length() - base;
+        }
+        piece = nextNormalizedPiece(piece);
+        while ( piecePhase(piece) == PIECE_PATH || piecePhase(piece) == PIECE_PATH_END ) {
+            appendPiece(sb, piece, lowercaseEnd, null, null, base);
+            piece = nextNormalizedPiece(piece);
+        }
+        if ( offsets != null )
+            offsets[11] = sb.length() - base;
+        if ( piecePhase(piece) == PIECE_REST )
+            appendPiece(sb, piece, lowercaseEnd, sourceOffsets, offsets, base);
+    }
+
+    private void appendPiece(StringBuilder sb, long piece, int lowercaseEnd, int[] sourceOffsets, int[] offsets, int base) {
+        appendPiece(sb, piece, pieceSource(piece), lowercaseEnd, sourceOffsets, offsets, base);
+    }
+
+    private static void appendPiece(StringBuilder sb, long piece, CharSequence src, int lowercaseEnd, int[] sourceOffsets, int[] offsets, int base) {
+        int end = pieceEnd(piece);
+        int x = pieceStart(piece);
+        int nextOffset = ( offsets == null ) ? Integer.MAX_VALUE : x;
+        // Characters from runStart to x are unchanged.
+        int runStart = x;
+        for ( ; ; ) {
+            if ( x >= nextOffset ) {
+                sb.append(src, runStart, x);
+                runStart = x;
+                nextOffset = markOffsets(x, sourceOffsets, offsets, sb.length() - base);
+            }
+            if ( x >= end )
+                break;
+            char ch = src.charAt(x);
+            if ( ch != '%' && ( x >= lowercaseEnd || ch < 'A' || ch > 'Z' ) ) {
+                x++;
+                continue;
+            }
+            sb.append(src, runStart, x);
+            int unit = normalizedUnit(src, x, end, x < lowercaseEnd);
+            if ( unit < PCT_UNIT )
+                sb.append((char)unit);
+            else
+                sb.append('%').append((char)((unit >> 8) & 0xFF)).append((char)(unit & 0xFF));
+            x += unitWidth(src, x, end);
+            runStart = x;
+        }
+        sb.append(src, runStart, end);
+    }
 
-        // 6.2.3. Scheme-Based Normalization
+    /**
+     * Set the offsets of components that start or end at source position {@code x},
+     * except the authority end and the path which are set by the caller.
+     * Return the next source position of a component start or end.
+     */
+    private static int markOffsets(int x, int[] sourceOffsets, int[] offsets, int offset) {
+        int next = Integer.MAX_VALUE;
+        for ( int i = 0 ; i < offsets.length ; i++ ) {
+            if ( i == 3 || i == 10 || i == 11 )
+                continue;
+            int srcOffset = sourceOffsets[i];
+            if ( srcOffset == x && offsets[i] == -1 )
+                offsets[i] = offset;
+            else if ( srcOffset > x && srcOffset < next )
+                next = srcOffset;
+        }
+        return next;
+    }
 
-        // HTTP and :80.
-        // HTTPS and :443
+    /**
+     * Hash code of the normalized form of this IRI. This is the same as
+     * {@code normalize().hashCode()} but it is calculated by walking the IRI string
+     * without creating the normalized IRI.
+     */
+    public int normalizedHashCode() {
+        if ( !hasASCIIAuthority() )
+            // Lowercasing non-ASCII characters is not character by character.
+            return normalize().hashCode();
+        int lowercaseEnd = normalizedPrefixEnd();
+        int h = 0;
+        for ( long piece = piece(PIECE_PATH, 0, lowercaseEnd) ; piecePhase(piece) != PIECE_END ; piece = nextNormalizedPiece(piece) ) {
+            CharSequence src = pieceSource(piece);
+            int end = pieceEnd(piece);
+            for ( int x = pieceStart(piece) ; x < end ; ) {
+                char ch = src.charAt(x);
+                if ( ch != '%' ) {
+                    h = 31 * h + ( ( x < lowercaseEnd ) ? toLowerASCII(ch) : ch );
+                    x++;
+                    continue;
+                }
+                int unit = normalizedUnit(src, x, end, x < lowercaseEnd);
+                if ( unit < PCT_UNIT )
+                    h = 31 * h + unit;
+                else
+                    h = 31 * (31 * (31 * h + '%') + ((unit >> 8) & 0xFF)) + (unit & 0xFF);
+                x += unitWidth(src, x, end);
+            }
+        }
+        // As Objects.hash(str())
+        return 31 + h;
+    }
 
-        if ( authority != null && authority.endsWith(":") )
-            authority = authority.substring(0, authority.length() - 1);
+    /**
+     * Test whether two IRIs have the same normalized form. This is the same as
+     * {@code normalize().equals(other.normalize())} but the normalized IRIs are
+     * not created.
+     */
+    public boolean equivalentTo(IRI3986 other) {
+        if ( this == other )
+            return true;
+        return compareNormalized(this, other) == 0;
+    }
 
-        if ( Objects.equals("http", scheme) ) {
-            if ( authority != null && authority.endsWith(":80") )
-                authority = authority.substring(0, authority.length() - 3);
-        } else if ( Objects.equals("https", scheme) ) {
-            if ( authority != null && authority.endsWith(":443") )
-                authority = authority.substring(0, authority.length() - 4);
+    /**
+     * Compare two IRIs by their normalized forms. This is the same as comparing the
+     * strings of {@code iri1.normalize()} and {@code iri2.normalize()} but
+     * the normalized IRIs are not created.
+     */
+    public static int compareNormalized(IRI3986 iri1, IRI3986 iri2) {
+        if ( !iri1.hasASCIIAuthority() || !iri2.hasASCIIAuthority() )
+            return iri1.normalize().str().compareTo(iri2.normalize().str());
+        int lowercaseEnd1 = iri1.normalizedPrefixEnd();
+        int lowercaseEnd2 = iri2.normalizedPrefixEnd();
+        long piece1 = piece(PIECE_PATH, 0, lowercaseEnd1);
+        long piece2 = piece(PIECE_PATH, 0, lowercaseEnd2);
+        CharSequence src1 = iri1.source;
+        CharSequence src2 = iri2.source;
+        int x1 = 0;
+        int x2 = 0;
+        int end1 = lowercaseEnd1;
+        int end2 = lowercaseEnd2;
+        for ( ;; ) {
+            while ( x1 == end1 && piecePhase(piece1) != PIECE_END ) {
+                piece1 = iri1.nextNormalizedPiece(piece1);
+                src1 = iri1.pieceSource(piece1);
+                x1 = pieceStart(piece1);
+                end1 = pieceEnd(piece1);
+            }
+            while ( x2 == end2 && piecePhase(piece2) != PIECE_END ) {
+                piece2 = iri2.nextNormalizedPiece(piece2);
+                src2 = iri2.pieceSource(piece2);
+                x2 = pieceStart(piece2);
+                end2 = pieceEnd(piece2);
+            }
+            if ( x1 == end1 )
+                return ( x2 == end2 ) ? 0 : -1;
+            if ( x2 == end2 )
+                return 1;
+            int unit1 = normalizedUnit(src1, x1, end1, x1 < lowercaseEnd1);
+            int unit2 = normalizedUnit(src2, x2, end2, x2 < lowercaseEnd2);
+            if ( unit1 != unit2 ) {
+                int ch1 = ( unit1 < PCT_UNIT ) ? unit1 : '%';
+                int ch2 = ( unit2 < PCT_UNIT ) ? unit2 : '%';
+                // Both percent-encoded : compare the hex digits.
+                return ( ch1 != ch2 ) ? ch1 - ch2 : unit1 - unit2;
+            }
+            x1 += unitWidth(src1, x1, end1);
+            x2 += unitWidth(src2, x2, end2);
         }
+    }
 
-        // 6.2.4. Protocol-Based Normalization
-        // None.
+    /** {@link Comparator} that orders IRIs by their normalized forms. */
+    public static final Comparator<IRI3986> NORMALIZED_ORDER = IRI3986::compareNormalized;
 
-        // Rebuild.
-        if ( Objects.equals(scheme, scheme()) && Objects.equals(authority, authority()) && Objects.equals(path, path())
-             && Objects.equals(query, query()) && Objects.equals(fragment, fragment()) ) {
-            // No change and this has had all the elements calculated and substring
-            // done.
-            return this;
+    // ---- The normalized form, without creating it.
+    //
+    // The normalized string is a sequence of ranges ("pieces") of the source
+    // string, or the string "/" for an empty path. A piece is packed into a long:
+    // phase (2 bits), start (31 bits), end (31 bits).
+    // Within a piece, the characters are changed one at a time:
+    // percent-encoding normalization, and lowercasing for the scheme and authority.
+    // Pieces:
+    //   scheme ":" "//" authority, less any default port.
+    //   The path, or one piece for each segment kept if there are dot segments.
+    //   "?" query "#" fragment.
+
+    // Phase of the next piece.
+    private static final int PIECE_PATH = 0;
+    private static final int PIECE_PATH_END = 1;
+    private static final int PIECE_REST = 2;
+    private static final int PIECE_END = 3;
+    private static final long END_PIECE = piece(PIECE_END, 0, 0);
+
+    // Start marker for the piece "/" which is not in the source string.
+    private static final int SLASH_START = 0x7FFFFFFF;
+    private static final long SLASH_PIECE = piece(PIECE_PATH_END, SLASH_START, 0);
+
+    // Unit for a percent-encoding that is kept : flag, uppercase hex digits.
+    private static final int PCT_UNIT = 0x10000;
+
+    private static long piece(int phase, int start, int end) {
+        return ((long)phase << 62) | ((long)start << 31) | end;
+    }
+
+    private static int piecePhase(long piece) {
+        return (int)(piece >>> 62);
+    }
+
+    private static int pieceStart(long piece) {
+        int start = (int)((piece >>> 31) & 0x7FFFFFFF);
+        return ( start == SLASH_START ) ? 0 : start;
+    }
+
+    private static int pieceEnd(long piece) {
+        if ( ((piece >>> 31) & 0x7FFFFFFF) == SLASH_START )
+            return 1;
+        return (int)(piece & 0x7FFFFFFF);
+    }
+
+    private CharSequence pieceSource(long piece) {
+        return ( piece == SLASH_PIECE ) ? "/" : source;
+    }
+
+    private boolean hasASCIIAuthority() {
+        return authority0 == -1 || isASCII(source, authority0, authority1);
+    }
+
+    /** End of "scheme://authority", without the port if it is the default or empty. */
+    private int normalizedPrefixEnd() {
+        if ( authority0 == -1 )
+            return ( scheme0 == -1 ) ? 0 : scheme1 + 1;
+        int end = authority1;
+        if ( end > authority0 && source.charAt(end - 1) == ':' )
+            return end - 1;
+        if ( scheme0 != -1 ) {
+            if ( regionMatchesLC(scheme0, scheme1, "http") && regionMatchesLC(end - 3, end, ":80") )
+                return end - 3;
+            if ( regionMatchesLC(scheme0, scheme1, "https") && regionMatchesLC(end - 4, end, ":443") )
+                return end - 4;
         }
+        return end;
+    }
 
-        String s = rebuild(scheme, authority, path, query, fragment);
-        return newAndCheck(s);
+    /** Whether the source from start to end is the string, ignoring ASCII case. The string is lowercase. */
+    private boolean regionMatchesLC(int start, int end, String string) {
+        if ( start < 0 || end - start != string.length() )
+            return false;
+        for ( int i = start ; i < end ; i++ ) {
+            char ch = source.charAt(i);
+            if ( ch >= 'A' && ch <= 'Z' )
+                ch = (char)(ch + ('a' - 'A'));
+            if ( ch != string.charAt(i - start) )
+                return false;
+        }
+        return true;
+    }
+
+    private long nextNormalizedPiece(long piece) {
+        return switch (piecePhase(piece)) {
+            case PIECE_PATH -> nextPathPiece(pieceEnd(piece));
+            case PIECE_PATH_END -> restPiece();
+            default -> END_PIECE;
+        };
+    }
+
+    private long restPiece() {
+        if ( query0 != -1 )
+            return piece(PIECE_REST, query0 - 1, ( fragment0 != -1 ) ? fragment1 : query1);
+        if ( fragment0 != -1 )
+            return piece(PIECE_REST, fragment0 - 1, fragment1);
+        return END_PIECE;
     }
 
     /**
-     * Convert unnecessary %-encoding into the real character.
-     * Convert %-encoding to upper case.
+     * The next piece of the path after the previous piece ending at {@code prevEnd}.
+     * This follows {@link AlgResolveIRI#remove_dot_segments}.
      */
-    private String normalizePercent(String str) {
-        if ( str == null )
-            return str;
-        int idx = str.indexOf('%');
-        if ( idx < 0 )
-            return str;
-        final int len = str.length();
-        StringBuilder sb = new StringBuilder(len);
-        for ( int i = 0 ; i < len ; i++ ) {
-            char ch = str.charAt(i);
-            if ( !Chars3986.isPctEncoded(ch, str, i) ) {
-                sb.append(ch);
-                continue;
+    private long nextPathPiece(int prevEnd) {
+        if ( path0 == -1 || path0 == path1 )
+            return SLASH_PIECE;
+        // Trailing empty segments are dropped.
+        int segmentsEnd = path1;
+        while ( segmentsEnd > path0 && source.charAt(segmentsEnd - 1) == '/' )
+            segmentsEnd--;
+        if ( segmentsEnd == path0 )
+            // All "/"
+            return piece(PIECE_PATH_END, path0, path1);
+        // A segment is always after path0.
+        boolean afterSegment = prevEnd > path0;
+        if ( !afterSegment && !hasDotSegment(path0, segmentsEnd) )
+            // Unchanged, except a trailing "//..." becomes "/".
+            return piece(PIECE_PATH_END, path0, Math.min(path1, segmentsEnd + 1));
+
+        for ( int s0 = afterSegment ? prevEnd + 1 : path0 ; s0 <= segmentsEnd ; ) {
+            int s1 = segmentEnd(s0, segmentsEnd);
+            // An empty first segment is the initial "/".
+            boolean keep = !( s0 == path0 && s0 == s1 ) && dotSegment(s0, s1) == 0 && !segmentRemoved(s1, segmentsEnd);
+            if ( keep ) {
+                boolean separator = afterSegment || source.charAt(path0) == '/';
+                return piece(PIECE_PATH, separator ? s0 - 1 : s0, s1);
             }
-            char ch1 = toUpperASCII(str.charAt(i + 1));
-            char ch2 = toUpperASCII(str.charAt(i + 2));
-            i += 2;
-            char x = (char)(Chars3986.hexValue(ch1) * 16 + Chars3986.hexValue(ch2));
+            s0 = s1 + 1;
+        }
+        if ( !afterSegment )
+            // No segments kept : "/"
+            return ( source.charAt(path0) == '/' ) ? piece(PIECE_PATH_END, path0, path0 + 1) : SLASH_PIECE;
+        int lastSegment = segmentsEnd;
+        while ( lastSegment > path0 && source.charAt(lastSegment - 1) != '/' )
+            lastSegment--;
+        boolean trailingSlash = dotSegment(lastSegment, segmentsEnd) != 0 || source.charAt(path1 - 1) == '/';
+        if ( trailingSlash )
+            // The character after a kept segment is "/".
+            return piece(PIECE_PATH_END, prevEnd, prevEnd + 1);
+        return restPiece();
+    }
+
+    private int segmentEnd(int s0, int segmentsEnd) {
+        for ( int i = s0 ; i < segmentsEnd ; i++ ) {
+            if ( source.charAt(i) == '/' )
+                return i;
+        }
+        return segmentsEnd;
+    }
 
-            if ( Chars3986.unreserved(x) ) {
-                sb.append(x);
-                continue;
+    private boolean hasDotSegment(int start, int segmentsEnd) {
+        for ( int s0 = start ; s0 <= segmentsEnd ; ) {
+            int s1 = segmentEnd(s0, segmentsEnd);
+            if ( dotSegment(s0, s1) != 0 )
+                return true;
+            s0 = s1 + 1;
+        }
+        return false;
+    }
+
+    /** Whether a later ".." segment removes the segment ending at {@code s1}. */
+    private boolean segmentRemoved(int s1, int segmentsEnd) {
+        int depth = 0;
+        while ( s1 < segmentsEnd ) {
+            int s0 = s1 + 1;
+            s1 = segmentEnd(s0, segmentsEnd);
+            switch (dotSegment(s0, s1)) {
+                case 0 -> depth++;
+                case 2 -> {
+                    if ( depth == 0 )
+                        return true;
+                    depth--;
+                }
+                default -> {}
             }
-            sb.append('%');
-            sb.append(ch1);
-            sb.append(ch2);
         }
-        return sb.toString();
+        return false;
     }
 
-    /** Uppercase - ASCII only (used for percent encoding) */
-    private char toUpperASCII(char ch) {
-        if ( ch >= 'a' && ch <= 'z' )
-            ch = (char)(ch + ('A' - 'a'));
-        return ch;
+    /** 1 for ".", 2 for "..", after percent-encoding normalization, else 0. */
+    private int dotSegment(int s0, int s1) {
+        int dots = 0;
+        for ( int i = s0 ; i < s1 ; ) {
+            char ch = source.charAt(i);
+            if ( ch == '.' )
+                i++;
+            else if ( ch == '%' && i + 2 < s1 && source.charAt(i + 1) == '2' && ( source.charAt(i + 2) == 'E' || source.charAt(i + 2) == 'e' ) )
+                i += 3;
+            else
+                return 0;
+            if ( ++dots > 2 )
+                return 0;
+        }
+        return dots;
     }
 
-    /** Lowercase, locale insensitive */
-    private String toLowerCase(String string) {
-        if ( string == null )
-            return null;
-        return string.toLowerCase(Locale.ROOT);
+    private static boolean isPctTriple(CharSequence src, int x, int end) {
+        return src.charAt(x) == '%' && x + 2 < end && Chars3986.isHexDigit(src.charAt(x + 1)) && Chars3986.isHexDigit(src.charAt(x + 2));
+    }
+
+    private static int unitWidth(CharSequence src, int x, int end) {
+        return isPctTriple(src, x, end) ? 3 : 1;
+    }
+
+    /**
+     * The normalized character at {@code x}, or, for a percent-encoding that is kept,
+     * {@code PCT_UNIT} with the two hex digits in uppercase.
+     */
+    private static int normalizedUnit(CharSequence src, int x, int end, boolean lowercase) {
+        char ch = src.charAt(x);
+        if ( isPctTriple(src, x, end) ) {
+            char ch1 = src.charAt(x + 1);
+            char ch2 = src.charAt(x + 2);
+            ch = (char)(Chars3986.hexValue(ch1) * 16 + Chars3986.hexValue(ch2));
+            if ( !Chars3986.unreserved(ch) )
+                return PCT_UNIT | (toUpperHex(ch1) << 8) | toUpperHex(ch2);
+        }
+        return lowercase ? toLowerASCII(ch) : ch;
+    }
+
+    private static char toLowerASCII(char ch) {
+        return ( ch >= 'A' && ch <= 'Z' ) ? (char)(ch + ('a' - 'A')) : ch;
+    }
+
+    private static char toUpperHex(char ch) {
+        return ( ch >= 'a' && ch <= 'f' ) ? (char)(ch + ('A' - 'a')) : ch;
     }
 
     /**
@@ -728,6 +1501,14 @@ public class IRI3986 implements IRI {
      * <a href="https://tools.ietf.org/html/rfc3986#section-5">RFC 3986 section 5</a>
      */
     public IRI3986 resolve(IRI3986 other) {
+        return resolve(other, null);
+    }
+
+    /**
+     * Resolve an IRI, using this as the base, and check the scheme-specific rules
+     * for the schemes in the set; null means all schemes.
+     */
+    /*package*/ IRI3986 resolve(IRI3986 other, Set<URIScheme> schemes) {
         // Not isAbsolute here - absolute URIs do not allow a fragment.
         // "!isRelative" is not the same as "isAbsolute"
 
@@ -748,16 +1529,354 @@ public class IRI3986 implements IRI {
         IRI3986 iri = AlgResolveIRI.resolve(this, other);
         if ( iri != other )
             // AlgResolveIRI.resolve only rebuilds to RFC 3986 syntax.
-            iri.schemeSpecificRulesInternal();
+            iri.schemeSpecificRulesInternal(schemes);
         return iri;
     }
 
+    // ---- Derived IRIs
+    // These check only the new characters, and the offsets of the result are
+    // calculated from the offsets of this IRI. The scheme-specific checks of the
+    // result are done when the violations are first asked for, as createLazy.
+
+    /**
+     * Return an IRI with a segment added to the end of the path. A "/" is added
+     * before the segment unless the path ends with "/" or the path is empty and
+     * there is no authority. The query and fragment, if any, are kept.
+     * <p>
+     * The segment must be valid as an IRI path segment: it can not contain "/", "?"
+     * or "#", and any "%" must be followed by two hex digits. See
+     * {@link PercentEncoding#encode(String, PercentEncoding.Component)} to encode a
+     * string as a path segment. Throw {@link IRIParseException} if the segment is not
+     * valid.
+     */
+    public IRI3986 appendPathSegment(String segment) {
+        checkComponent(segment, PercentEncoding.Component.PATH_SEGMENT, "path segment");
+        boolean hasPath = path0 >= 0 && path1 > path0;
+        int insert;
+        if ( hasPath )
+            insert = path1;
+        else if ( hasAuthority() )
+            insert = authority1;
+        else
+            insert = hasScheme() ? scheme1+1 : 0;
+        boolean slash = hasPath ? source.charAt(path1-1) != '/' : hasAuthority();
+        if ( !hasPath && !hasAuthority() && !hasScheme() && segment.indexOf(':') >= 0 )
+            throw parseError(segment, "':' in initial segment of a scheme-less IRI");
+        int added = segment.length() + (slash ? 1 : 0);
+        if ( added == 0 )
+            return this;
+
+        StringBuilder sb = new StringBuilder(length+added);
+        sb.append(source, 0, insert);
+        if ( slash )
+            sb.append('/');
+        sb.append(segment).append(source, insert, length);
+        int[] offsets = offsets();
+        offsets[10] = hasPath ? path0 : insert;
+        offsets[11] = insert+added;
+        shiftOffsets(offsets, 12, added);
+        return fromOffsets(sb.toString(), offsets, null);
+    }
+
+    /**
+     * Return an IRI with the query replaced; a null query means no query. The
+     * fragment, if any, is kept. Throw {@link IRIParseException} if the query is not
+     * valid as an IRI query.
+     */
+    public IRI3986 withQuery(String query) {
+        if ( query == null && !hasQuery() )
+            return this;
+        if ( query != null )
+            checkComponent(query, PercentEncoding.Component.QUERY, "query");
+        // Start and end of the "?query" to be replaced.
+        int start = hasQuery() ? query0-1 : ( hasFragment() ? fragment0-1 : length );
+        int end = hasQuery() ? query1 : start;
+        int added = ( query == null ) ? 0 : query.length()+1;
+
+        StringBuilder sb = new StringBuilder(start+added+length-end);
+        sb.append(source, 0, start);
+        if ( query != null )
+            sb.append('?').append(query);
+        sb.append(source, end, length);
+        int[] offsets = offsets();
+        offsets[12] = ( query == null ) ? -1 : start+1;
+        offsets[13] = ( query == null ) ? -1 : start+added;
+        shiftOffsets(offsets, 14, start+added-end);
+        return fromOffsets(sb.toString(), offsets, null);
+    }
+
+    /**
+     * Return an IRI with the fragment replaced; a null fragment means no fragment.
+     * Throw {@link IRIParseException} if the fragment is not valid as an IRI
+     * fragment.
+     */
+    public IRI3986 withFragment(String fragment) {
+        if ( fragment == null && !hasFragment() )
+            return this;
+        if ( fragment != null )
+            checkComponent(fragment, PercentEncoding.Component.FRAGMENT, "fragment");
+        int start = hasFragment() ? fragment0-1 : length;
+        StringBuilder sb = new StringBuilder(start+1+(fragment == null ? 0 : fragment.length()));
+        sb.append(source, 0, start);
+        if ( fragment != null )
+            sb.append('#').append(fragment);
+        int[] offsets = offsets();
+        offsets[14] = ( fragment == null ) ? -1 : start+1;
+        offsets[15] = ( fragment == null ) ? -1 : sb.length();
+        return fromOffsets(sb.toString(), offsets, null);
+    }
+
+    /** Return an IRI without the fragment. Return this IRI if it has no fragment. */
+    public IRI3986 withoutFragment() {
+        return withFragment(null);
+    }
+
+    /** Throw {@link IRIParseException} if the string is not valid in the component. */
+    /*package*/ static void checkComponent(String string, PercentEncoding.Component component, String label) {
+        int x = PercentEncoding.firstInvalid(string, 0, string.length(), component);
+        if ( x < string.length() )
+            throw parseError(string, x+1, "Bad character in IRI "+label+": "+displayChar(string.charAt(x)));
+    }
+
+    // Add to the offsets (if present) from index k.
+    private static void shiftOffsets(int[] offsets, int k, int shift) {
+        for ( int i = k ; i < offsets.length ; i++ ) {
+            if ( offsets[i] >= 0 )
+                offsets[i] += shift;
+        }
+    }
+
     /** Build a {@link IRI3986} from components. */
     public static IRI3986 build(String scheme, String authority, String path, String query, String fragment) {
         String s = rebuild(scheme, authority, path, query, fragment);
         return newAndParseEx(s);
     }
 
+    /**
+     * Build a {@link IRI3986} from components that are already known to be valid,
+     * such as the components of parsed IRIs or the results of resolving and
+     * normalizing them. The string is assembled and the component offsets are set
+     * directly, without parsing the string again.
+     * <p>
+     * If the components would not be parsed back into the same components (for
+     * example, a path starting "//" and no authority), the string is parsed as
+     * {@link #build} does.
+     * <p>
+     * Scheme-specific rules are not applied.
+     */
+    /*package*/ static IRI3986 assemble(String scheme, String authority, String path, String query, String fragment) {
+        if ( path == null )
+            path = "";
+        if ( !isAssemblySafe(scheme, authority, path) )
+            return build(scheme, authority, path, query, fragment);
+
+        String s = rebuild(scheme, authority, path, query, fragment);
+        IRI3986 iri = new IRI3986(s);
+        int x = 0;
+        if ( scheme != null ) {
+            iri.scheme0 = 0;
+            iri.scheme1 = scheme.length();
+            iri.scheme = scheme;
+            x = scheme.length() + 1;
+        }
+        if ( authority != null ) {
+            x += 2;
+            iri.authority0 = x;
+            iri.authority1 = x + authority.length();
+            iri.authority = authority;
+            iri.setAuthorityParts(authority, x);
+            x = iri.authority1;
+        }
+        if ( !path.isEmpty() ) {
+            iri.path0 = x;
+            iri.path1 = x + path.length();
+            iri.path = path;
+            x = iri.path1;
+        }
+        if ( query != null ) {
+            iri.query0 = x + 1;
+            iri.query1 = iri.query0 + query.length();
+            iri.query = query;
+            x = iri.query1;
+        }
+        if ( fragment != null ) {
+            iri.fragment0 = x + 1;
+            iri.fragment1 = iri.fragment0 + fragment.length();
+            iri.fragment = fragment;
+        }
+        return iri;
+    }
+
+    /**
+     * Create an IRI3986 from a string and the offsets of the components, in the order
+     * of {@link #offsets()}, as recorded by an earlier parse of the string.
+     * If {@code violations} is null, the scheme-specific checks are done when the
+     * violations are first asked for, as {@link #createLazy}.
+     */
+    /*package*/ static IRI3986 fromOffsets(String iriStr, int[] offsets, List<Violation> violations) {
+        IRI3986 iri = new IRI3986(iriStr);
+        iri.scheme0 = offsets[0];
+        iri.scheme1 = offsets[1];
+        iri.authority0 = offsets[2];
+        iri.authority1 = offsets[3];
+        iri.userinfo0 = offsets[4];
+        iri.userinfo1 = offsets[5];
+        iri.host0 = offsets[6];
+        iri.host1 = offsets[7];
+        iri.port0 = offsets[8];
+        iri.port1 = offsets[9];
+        iri.path0 = offsets[10];
+        iri.path1 = offsets[11];
+        iri.query0 = offsets[12];
+        iri.query1 = offsets[13];
+        iri.fragment0 = offsets[14];
+        iri.fragment1 = offsets[15];
+        if ( violations == null )
+            iri.deferredChecks = true;
+        else if ( !violations.isEmpty() )
+            iri.reports = violations;
+        return iri;
+    }
+
+    /**
+     * Create the IRI3986 for the string of {@code namespace} followed by
+     * {@code chars[start..]}, using the offsets of the namespace from when it was
+     * parsed, and parsing only the appended characters. Throw
+     * {@link IRIParseException} if the appended characters are not valid where they
+     * are in the IRI. Return null if the appended characters could change the parse of
+     * the namespace part, for example, by extending the authority; the caller should
+     * parse the whole string.
+     * <p>
+     * The scheme-specific rules are checked, as {@link #create(String)}.
+     */
+    /*package*/ static IRI3986 extend(IRI3986 namespace, String chars, int start) {
+        IRI3986 ns = namespace;
+        int nsLength = ns.length;
+        boolean inPath = !ns.hasFragment() && !ns.hasQuery();
+        if ( inPath && !isExtendSafe(ns, chars, start) )
+            return null;
+
+        String s = new StringBuilder(nsLength + chars.length() - start).append(ns.str()).append(chars, start, chars.length()).toString();
+        IRI3986 iri = new IRI3986(s);
+        iri.scheme0 = ns.scheme0;       iri.scheme1 = ns.scheme1;       iri.scheme = ns.scheme;
+        iri.authority0 = ns.authority0; iri.authority1 = ns.authority1; iri.authority = ns.authority;
+        iri.userinfo0 = ns.userinfo0;   iri.userinfo1 = ns.userinfo1;
+        iri.host0 = ns.host0;           iri.host1 = ns.host1;           iri.host = ns.host;
+        iri.port0 = ns.port0;           iri.port1 = ns.port1;           iri.port = ns.port;
+        iri.path0 = ns.path0;           iri.path1 = ns.path1;
+        iri.query0 = ns.query0;         iri.query1 = ns.query1;
+        iri.fragment0 = ns.fragment0;   iri.fragment1 = ns.fragment1;
+
+        int x = nsLength;
+        if ( ns.hasFragment() ) {
+            x = iri.trailerChars(x, false);
+            iri.fragment1 = x;
+        } else if ( ns.hasQuery() ) {
+            x = iri.trailerChars(x, true);
+            iri.query1 = x;
+            x = iri.fragment(x);
+        } else {
+            // The characters start in the path. The namespace is not in the first
+            // segment of a scheme-less path, so colons are allowed.
+            x = iri.path(x, true);
+            if ( ns.path0 >= 0 )
+                iri.path0 = ns.path0;
+            x = iri.query(x);
+            x = iri.fragment(x);
+        }
+        iri.checkEnd(x);
+        return iri.schemeSpecificRulesInternal();
+    }
+
+    /**
+     * Check characters appended to a namespace which ends in its path (or is at the end
+     * of its authority or scheme) continue the path and do not change the parse of the
+     * namespace.
+     */
+    private static boolean isExtendSafe(IRI3986 ns, String chars, int start) {
+        char ch1 = Chars3986.charAt(chars, start);
+        if ( ns.hasAuthority() ) {
+            if ( ns.path0 < 0 )
+                // Must not extend the authority.
+                return ch1 == EOF || ch1 == '/' || ch1 == '?' || ch1 == '#';
+            return true;
+        }
+        if ( !ns.hasScheme() ) {
+            // path-noscheme : the namespace must be past the first segment.
+            if ( ns.path0 < 0 || ns.contains('/', ns.path0, ns.path1) < 0 )
+                return false;
+        }
+        // No authority : the path must not become "//..."
+        if ( ch1 == '/' ) {
+            if ( ns.path0 < 0 )
+                return Chars3986.charAt(chars, start+1) != '/';
+            if ( ns.path1 - ns.path0 == 1 )
+                // Path is "/"
+                return false;
+        }
+        return true;
+    }
+
+    private int contains(char character, int start, int finish) {
+        for ( int i = start; i < finish; i++ ) {
+            if ( source.charAt(i) == character )
+                return i;
+        }
+        return -1;
+    }
+
+    /** Check the components can be assembled without changing how the string parses. */
+    private static boolean isAssemblySafe(String scheme, String authority, String path) {
+        if ( scheme != null && scheme.isEmpty() )
+            return false;
+        if ( authority != null )
+            // path-abempty
+            return path.isEmpty() || path.charAt(0) == '/';
+        // No authority : the path must not look like one.
+        if ( path.startsWith("//") )
+            return false;
+        if ( scheme == null ) {
+            // path-noscheme : no ':' in the first segment.
+            int colon = path.indexOf(':');
+            if ( colon >= 0 ) {
+                int slash = path.indexOf('/');
+                if ( slash < 0 || colon < slash )
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Set the userinfo, host and port offsets for a valid authority string that
+     * starts at {@code offset}. This follows the parser: userinfo ends at the '@', and
+     * the port starts at a ':' after the host, which may be an IP literal.
+     */
+    private void setAuthorityParts(String authority, int offset) {
+        int hostStart = 0;
+        int at = authority.indexOf('@');
+        if ( at >= 0 ) {
+            userinfo0 = offset;
+            userinfo1 = offset + at;
+            hostStart = at + 1;
+        }
+        int colon;
+        if ( hostStart < authority.length() && authority.charAt(hostStart) == '[' ) {
+            int close = authority.indexOf(']', hostStart);
+            colon = ( close + 1 < authority.length() && authority.charAt(close + 1) == ':' ) ? close + 1 : -1;
+        } else {
+            colon = authority.indexOf(':', hostStart);
+        }
+        host0 = offset + hostStart;
+        if ( colon >= 0 ) {
+            host1 = offset + colon;
+            port0 = offset + colon + 1;
+            port1 = offset + authority.length();
+        } else {
+            host1 = offset + authority.length();
+        }
+    }
+
     /** RFC 3986 : 5.3. Component Recomposition */
     public String rebuild() {
         return rebuild(scheme(), authority(), path(), query(), fragment());
@@ -793,14 +1912,14 @@ public class IRI3986 implements IRI {
 
     @Override
     public int hashCode() {
-        return Objects.hash(iriStr);
+        return Objects.hash(str());
     }
 
     // hashCode and equals.
     // Slots like "authority" are caches and only set when their value is needed
     // in the associated getter.
     // The positions in the iriStr (authority0, authority1) are set.
-    // An IRI3986 always as the iriStr set.
+    // An IRI3986 always has the source set; iriStr is created from it when needed.
 
     @Override
     public boolean equals(Object obj) {
@@ -811,7 +1930,7 @@ public class IRI3986 implements IRI {
         if ( !(obj instanceof IRI3986) )
             return false;
         IRI3986 other = (IRI3986)obj;
-        return Objects.equals(iriStr, other.iriStr);
+        return Objects.equals(str(), other.str());
     }
 
     /** Detail comparison - includes internal fields but not reports. */
@@ -823,7 +1942,7 @@ public class IRI3986 implements IRI {
         // Force string creation by using ()
         // @formatter:off
         return
-               Objects.equals(iriStr, other.iriStr) && length == other.length &&
+               Objects.equals(str(), other.str()) && length == other.length &&
 
                scheme0 == other.scheme0 && scheme1 == other.scheme1 &&
                    ( !includeComponentStrings || Objects.equals(scheme(), other.scheme())) &&
@@ -961,6 +2080,11 @@ public class IRI3986 implements IRI {
 
     /** Parse (i.e. check) or create an IRI object. */
     private IRI3986 parse() {
+        return parse(SystemIRI3986.getAuthorityCache());
+    }
+
+    /** Parse, using the authority cache if it is not null. */
+    private IRI3986 parse(AuthorityCache authorityCache) {
         int x = scheme(0);
         if ( x > 0 ) {
             // URI = scheme ":" hier-part [ "?" query ] [ "#" fragment ]
@@ -968,13 +2092,18 @@ public class IRI3986 implements IRI {
             scheme0 = 0;
             scheme1 = x;
             // and move over ':'
-            x = withScheme(x + 1);
+            x = withScheme(x + 1, authorityCache);
         } else {
             // relative-ref = relative-part [ "?" query ] [ "#" fragment ]
-            x = withoutScheme(0);
+            x = withoutScheme(0, authorityCache);
         }
 
         // Did the process consume the whole string?
+        checkEnd(x);
+        return this;
+    }
+
+    private void checkEnd(int x) {
         if ( x != length ) {
             String label;
             if ( fragment0 >= 0 )
@@ -984,9 +2113,8 @@ public class IRI3986 implements IRI {
             else
                 label = "path";
             // System.err.printf("(x3=%d, length=%d)\n", x, length);
-            throw parseError(iriStr, "Bad character in " + label + " component: " + displayChar(charAt(x)));
+            throw parseError(source, "Bad character in " + label + " component: " + displayChar(charAt(x)));
         }
-        return this;
     }
 
     // scheme = ALPHA *( ALPHA / DIGIT / "+" / "-" / "." )
@@ -1001,7 +2129,7 @@ public class IRI3986 implements IRI {
                 if ( p == start )
                     // Bad first character
                     return -1;
-                if ( !(Chars3986.isDigit(c) || c == '+' || c == '-' || c == '.') )
+                if ( !Chars3986.isSchemeChar(c) )
                     // Bad subsequent character
                     return -1;
             }
@@ -1012,7 +2140,7 @@ public class IRI3986 implements IRI {
     }
 
     /** Parse any scheme RFC 3986/3987 URI/IRI string. */
-    private int withScheme(int start) {
+    private int withScheme(int start, AuthorityCache authorityCache) {
         // @formatter:off
         //
         // URI = scheme ":" hier-part [ "?" query ] [ "#" fragment ]
@@ -1030,11 +2158,11 @@ public class IRI3986 implements IRI {
         // Note that errors in scheme-specific schemes will need to be checked by the general code.
         // General code can throw IRIParseException or record scheme-specific violations.
 
-        int p = maybeAuthority(start);
+        int p = maybeAuthority(start, authorityCache);
         return pathQueryFragment(p, true);
     }
 
-    private int withoutScheme(int start) {
+    private int withoutScheme(int start, AuthorityCache authorityCache) {
         // @formatter:off
         //
         // relative-ref = relative-part [ "?" query ] [ "#" fragment ]
@@ -1048,21 +2176,21 @@ public class IRI3986 implements IRI {
         // path-rootless.
         char ch = charAt(start);
         if ( ch == ':' )
-            throw parseError(iriStr, "A URI without a scheme can't start with a ':'");
-        int p = maybeAuthority(start);
+            throw parseError(source, "A URI without a scheme can't start with a ':'");
+        int p = maybeAuthority(start, authorityCache);
         return pathQueryFragment(p, false);
     }
 
     // ---- Authority
 
-    private int maybeAuthority(int start) {
+    private int maybeAuthority(int start, AuthorityCache authorityCache) {
         // "//" authority
         int p = start;
         char ch1 = charAt(p);
         char ch2 = charAt(p + 1);
         if ( ch1 == '/' && ch2 == '/' ) {
             p += 2;
-            p = authority(p);
+            p = authority(p, authorityCache);
         }
         return p;
     }
@@ -1092,7 +2220,60 @@ public class IRI3986 implements IRI {
      * RFC 5890, RFC 5891, RFC 5892, RFC 5893
      */
     // @formatter:on
-    private int authority(int start) {
+    private int authority(int start, AuthorityCache cache) {
+        if ( cache == null )
+            return authorityParse(start);
+        int hash = AuthorityCache.hash(source, start, length);
+        AuthorityCache.Entry entry = cache.get(source, start, length, hash);
+        if ( entry != null )
+            return authorityFromCache(start, entry);
+        int endAuthority = authorityParse(start);
+        if ( endAuthority == length || isAuthorityEnd(charAt(endAuthority)) ) {
+            authorityInfo = authorityEntry(start, endAuthority, hash);
+            cache.put(authorityInfo);
+        }
+        return endAuthority;
+    }
+
+    private static boolean isAuthorityEnd(char ch) {
+        return ch == '/' || ch == '?' || ch == '#';
+    }
+
+    private int authorityFromCache(int start, AuthorityCache.Entry entry) {
+        authorityInfo = entry;
+        authority0 = start;
+        authority1 = start+entry.authority.length();
+        if ( entry.userinfo1 >= 0 ) {
+            userinfo0 = start;
+            userinfo1 = start+entry.userinfo1;
+        }
+        host0 = start+entry.host0;
+        host1 = start+entry.host1;
+        if ( entry.port0 >= 0 ) {
+            port0 = start+entry.port0;
+            port1 = authority1;
+        }
+        return authority1;
+    }
+
+    private AuthorityCache.Entry authorityEntry(int start, int endAuthority, int hash) {
+        String authority = source.subSequence(start, endAuthority).toString();
+        int password = -1;
+        if ( userinfo0 >= 0 ) {
+            int idx = contains(':', userinfo0, userinfo1);
+            if ( idx >= 0 && idx < userinfo1-1 )
+                password = idx-start;
+        }
+        boolean hostUppercase = containsUppercase(source, host0, host1);
+        int port = ( port0 >= 0 && port0 < port1 ) ? portNumber(source, port0, port1) : -1;
+        return new AuthorityCache.Entry(authority, hash,
+                                        userinfo1 < 0 ? -1 : userinfo1-start,
+                                        host0-start, host1-start,
+                                        port0 < 0 ? -1 : port0-start,
+                                        hostUppercase, password, port);
+    }
+
+    private int authorityParse(int start) {
         int end = length;
         int p = start;
         // Indexes for userinfo@host:port
@@ -1112,15 +2293,15 @@ public class IRI3986 implements IRI {
             } else if ( ch == '/' ) {
                 // Normal exit
                 if ( startIPv6 >= 0 && endIPv6 == -1 )
-                    throw parseError(iriStr, p + 1, "Bad IPv6 address - No closing ']'");
+                    throw parseError(source, p + 1, "Bad IPv6 address - No closing ']'");
                 break;
             } else if ( ch == '@' ) {
                 if ( endUserInfo != -1 )
-                    throw parseError(iriStr, p + 1, "Bad authority segment - multiple '@'");
+                    throw parseError(source, p + 1, "Bad authority segment - multiple '@'");
                 // Found userinfo end; reset counts and trackers.
                 // Check for bad IPv6 []
                 if ( startIPv6 != -1 || endIPv6 != -1 )
-                    throw parseError(iriStr, p + 1, "Bad authority segment - contains '[' or ']'");
+                    throw parseError(source, p + 1, "Bad authority segment - contains '[' or ']'");
                 endUserInfo = p;
                 // Reset port colon tracking.
                 countColon = 0;
@@ -1128,14 +2309,14 @@ public class IRI3986 implements IRI {
             } else if ( ch == '[' ) {
                 // Still to check whether user authority
                 if ( startIPv6 >= 0 )
-                    throw parseError(iriStr, p + 1, "Bad IPv6 address - multiple '['");
+                    throw parseError(source, p + 1, "Bad IPv6 address - multiple '['");
                 startIPv6 = p;
             } else if ( ch == ']' ) {
                 // Still to check whether user authority
                 if ( startIPv6 == -1 )
-                    throw parseError(iriStr, p + 1, "Bad IPv6 address - No '[' to match ']'");
+                    throw parseError(source, p + 1, "Bad IPv6 address - No '[' to match ']'");
                 if ( endIPv6 >= 0 )
-                    throw parseError(iriStr, p + 1, "Bad IPv6 address - multiple ']'");
+                    throw parseError(source, p + 1, "Bad IPv6 address - multiple ']'");
                 endIPv6 = p;
                 // Reset port colon tracking.
                 countColon = 0;
@@ -1148,10 +2329,8 @@ public class IRI3986 implements IRI {
 
         if ( startIPv6 != -1 ) {
             if ( endIPv6 == -1 )
-                throw parseError(iriStr, startIPv6, "Bad IPv6 address - missing ']'");
-            char ch1 = iriStr.charAt(startIPv6);
-            char ch2 = iriStr.charAt(endIPv6);
-            ParseIPv6Address.checkIPv6(iriStr, startIPv6, endIPv6 + 1);
+                throw parseError(source, startIPv6, "Bad IPv6 address - missing ']'");
+            ParseIPv6Address.checkIPv6(source, startIPv6, endIPv6 + 1);
         }
 
         // May not be valid but if tests fail there is an exception.
@@ -1172,7 +2351,7 @@ public class IRI3986 implements IRI {
 
         // Check only one ":" in host.
         if ( countColon > 1 )
-            throw parseError(iriStr, -1, "Multiple ':' in host:port section");
+            throw parseError(source, -1, "Multiple ':' in host:port section");
 
         if ( lastColon != -1 ) {
             host1 = lastColon;
@@ -1187,7 +2366,7 @@ public class IRI3986 implements IRI {
                 x++;
             }
             if ( x != port1 )
-                throw parseError(iriStr, -1, "Bad port");
+                throw parseError(source, -1, "Bad port");
         } else
             host1 = endAuthority;
         return endAuthority;
@@ -1252,6 +2431,12 @@ public class IRI3986 implements IRI {
         boolean allowColon = withScheme;
 
         while (p < length) {
+            if ( allowColon ) {
+                // Skip the run of ASCII characters that need no further checking.
+                p = Chars3986.skipPathRun(source, p, length);
+                if ( p >= length )
+                    break;
+            }
             // skip segment-nz = 1*pchar
             char ch = charAt(p);
 
@@ -1259,7 +2444,7 @@ public class IRI3986 implements IRI {
             if ( charLen == 1 ) {
                 if ( !allowColon && ch == ':' ) {
                     // segment-nz-nc
-                    throw parseError(iriStr, p + 1, "':' in initial segment of a scheme-less IRI");
+                    throw parseError(source, p + 1, "':' in initial segment of a scheme-less IRI");
                 }
                 p++;
                 continue;
@@ -1274,12 +2459,12 @@ public class IRI3986 implements IRI {
             // Maybe new one.
             if ( ch != '/' ) {
                 if ( ch == ' ' )
-                    throw parseError(iriStr, p + 1, "Space found in IRI");
+                    throw parseError(source, p + 1, "Space found in IRI");
                 // ? or # else error
                 if ( ch == '?' || ch == '#' )
                     break;
                 // Not IPChar
-                throw parseError(iriStr, p + 1, format("Bad character in IRI path: '%s' (U+%04X)", Character.toString((int)ch), (int)ch));
+                throw parseError(source, p + 1, format("Bad character in IRI path: '%s' (U+%04X)", Character.toString((int)ch), (int)ch));
             }
             allowColon = true;
             segStart = p + 1;
@@ -1327,8 +2512,17 @@ public class IRI3986 implements IRI {
             return -1;
         if ( charAt(start) != startChar )
             return -1;
-        int p = start + 1;
+        return trailerChars(start + 1, allowPrivate);
+    }
+
+    /** The characters of a query or fragment, from {@code start}. */
+    private int trailerChars(int start, boolean allowPrivate) {
+        int p = start;
         while (p < length) {
+            // Skip the run of ASCII characters that need no further checking.
+            p = Chars3986.skipQueryRun(source, p, length);
+            if ( p >= length )
+                break;
             char ch = charAt(p);
             int charLen = isIPCharLen(ch, p);
             if ( charLen == 1 || charLen == 3 ) {
@@ -1357,7 +2551,7 @@ public class IRI3986 implements IRI {
             throw new IllegalArgumentException("Negative index");
         if ( x >= length )
             return EOF;
-        return iriStr.charAt(x);
+        return source.charAt(x);
     }
 
     // ---- Character classification
@@ -1372,7 +2566,7 @@ public class IRI3986 implements IRI {
             return false;
         char ch1 = charAt(idx + 1);
         char ch2 = charAt(idx + 2);
-        return Chars3986.percentCheck(ch1, ch2, iriStr, idx);
+        return Chars3986.percentCheck(ch1, ch2, source, idx);
     }
 
     // pchar = unreserved / pct-encoded / sub-delims / ":" / "@"
@@ -1386,7 +2580,7 @@ public class IRI3986 implements IRI {
     // / "*" / "+" / "," / ";" / "="
 
     private boolean isPChar(char ch, int posn) {
-        return Chars3986.unreserved(ch) || isPctEncoded(ch, posn) || Chars3986.subDelims(ch) || ch == ':' || ch == '@';
+        return Chars3986.isPCharNoPct(ch) || isPctEncoded(ch, posn);
     }
 
     /**
@@ -1395,7 +2589,7 @@ public class IRI3986 implements IRI {
      * 3. Return -1 for error.
      */
     private int isPCharLen(char ch, int posn) {
-        if ( Chars3986.unreserved(ch) || Chars3986.subDelims(ch) || ch == ':' || ch == '@' )
+        if ( Chars3986.isPCharNoPct(ch) )
             return 1;
         if ( isPctEncoded(ch, posn) )
             return 3;
@@ -1403,7 +2597,7 @@ public class IRI3986 implements IRI {
     }
 
     private boolean isIPChar(char ch, int posn) {
-        return isPChar(ch, posn) || Chars3986.isUcsChar(ch);
+        return Chars3986.isIPCharNoPct(ch) || isPctEncoded(ch, posn);
     }
 
     /**
@@ -1412,15 +2606,15 @@ public class IRI3986 implements IRI {
      * 3. Return -1 for error.
      */
     private int isIPCharLen(char ch, int posn) {
-        if ( Chars3986.unreserved(ch) || Chars3986.subDelims(ch) || ch == ':' || ch == '@' || Chars3986.isUcsChar(ch) )
+        if ( Chars3986.isIPCharNoPct(ch) )
             return 1;
         if ( isPctEncoded(ch, posn) )
             return 3;
         return -1;
     }
 
-    private static boolean isASCII(String string, int start,int finish) {
-        for ( int i = 0 ; i < finish ; i++ ) {
+    private static boolean isASCII(CharSequence string, int start,int finish) {
+        for ( int i = start ; i < finish ; i++ ) {
             char ch = string.charAt(i);
             if ( ch > 0x7F )
                 return false;
@@ -1430,53 +2624,158 @@ public class IRI3986 implements IRI {
 
     // ==== Scheme specific checking.
 
-    private IRI3986 schemeSpecificRulesInternal() {
+    /*package*/ IRI3986 schemeSpecificRulesInternal() {
+        return schemeSpecificRulesInternal(null);
+    }
+
+    /** Record violations of the scheme-specific rules for the schemes in the set; null means all schemes. */
+    /*package*/ IRI3986 schemeSpecificRulesInternal(Set<URIScheme> schemes) {
         if ( reports != null ) {
             // Called on IRI that already has reports.
             return this;
         }
+        schemeChecks(null, schemes);
+        if ( reports != null )
+            // Immutable.
+            reports = Collections.unmodifiableList(reports);
+        return this;
+    }
 
-        checkGeneral();
+    /**
+     * Apply the scheme-specific checks, sending any violations to the sink. If the
+     * sink is null, violations are recorded in this IRI.
+     */
+    /*package*/ void schemeChecks(ViolationSink sink) {
+        schemeChecks(sink, null);
+    }
+
+    /**
+     * Apply the scheme-specific checks for the schemes in the set; null means all
+     * schemes. Checkers from {@link SchemeCheckers} are applied if the set includes
+     * {@link URIScheme#GENERAL}.
+     */
+    /*package*/ void schemeChecks(ViolationSink sink, Set<URIScheme> schemes) {
+        // The scheme-specific checks use the string form, iriStr.
+        str();
+        if ( checking(schemes, URIScheme.GENERAL) )
+            checkGeneral(sink);
 
         if ( !hasScheme() )
             // no scheme, no checks.
-            return this;
+            return;
 
-        // Scheme is not necessarily lower case.
-        // We could do dispatch twice, once fast path (assumes lower case) with a
-        // switch statement.
+        // Dispatch on the parsed scheme: length, then first character, then a
+        // case-insensitive comparison. Scheme is not necessarily lower case.
         // Check accumulate errors and warnings.
+        int schemeLen = scheme1-scheme0;
+        char ch = (char)(iriStr.charAt(scheme0) | 0x20);
+        switch(schemeLen) {
+            case 3 -> {
+                if ( ch == 'u' && schemeIs("urn") ) {
+                    checkURNNamespace(sink, schemes);
+                    return;
+                }
+                if ( ch == 'd' && schemeIs("did") ) {
+                    if ( checking(schemes, URIScheme.DID) )
+                        checkDID(sink);
+                    return;
+                }
+                if ( ch == 'o' && schemeIs("oid") ) {
+                    if ( checking(schemes, URIScheme.OID) )
+                        checkOID(sink);
+                    return;
+                }
+            }
+            case 4 -> {
+                if ( ch == 'h' && schemeIs("http") ) {
+                    if ( checking(schemes, URIScheme.HTTP) )
+                        checkHTTP(sink);
+                    return;
+                }
+                if ( ch == 'f' && schemeIs("file") ) {
+                    if ( checking(schemes, URIScheme.FILE) )
+                        checkFILE(sink);
+                    return;
+                }
+                if ( ch == 'u' && schemeIs("uuid") ) {
+                    if ( checking(schemes, URIScheme.UUID) )
+                        checkUUID(sink);
+                    return;
+                }
+            }
+            case 5 -> {
+                if ( ch == 'h' && schemeIs("https") ) {
+                    if ( checking(schemes, URIScheme.HTTPS) )
+                        checkHTTPS(sink);
+                    return;
+                }
+            }
+            case 7 -> {
+                if ( ch == 'e' && schemeIs("example") ) {
+                    if ( checking(schemes, URIScheme.EXAMPLE) )
+                        checkExample(sink);
+                    return;
+                }
+            }
+            default -> {}
+        }
+        // Not a built-in scheme.
+        if ( !checking(schemes, URIScheme.GENERAL) )
+            return;
+        SchemeChecker checker = SchemeCheckers.find(iriStr, scheme0, scheme1);
+        if ( checker != null )
+            checkRegistered(sink, checker);
+    }
 
-        if ( fromScheme(iriStr, HTTPS) )
-            checkHTTPS();
-        else if ( fromScheme(iriStr, HTTP) )
-            checkHTTP();
-        else if ( fromScheme(iriStr, URN_UUID) )
-            checkURN_UUID();
-        else if ( fromScheme(iriStr, URN_OID) )
-            checkURN_OID();
-        // "urn" namespaces must go before this test.
-        else if ( fromScheme(iriStr, URN) )
-            checkURN();
-        else if ( fromScheme(iriStr, FILE) )
-            checkFILE();
-        else if ( fromScheme(iriStr, UUID) )
-            checkUUID();
-        else if ( fromScheme(iriStr, DID) )
-            checkDID();
-        else if ( fromScheme(iriStr, OID) )
-            checkOID();
-        else if ( fromScheme(iriStr, EXAMPLE) )
-            checkExample();
+    private static boolean checking(Set<URIScheme> schemes, URIScheme scheme) {
+        return schemes == null || schemes.contains(scheme);
+    }
 
-        if ( reports != null )
-            // Immutable.
-            reports = List.copyOf(reports);
+    /** Compare the scheme, case insensitively, to a name of the same length. */
+    private boolean schemeIs(String schemeName) {
+        return iriStr.regionMatches(true, scheme0, schemeName, 0, schemeName.length());
+    }
 
-        return this;
+    /**
+     * Dispatch "urn:" on the URN namespace (NID). The NID is the start of the URI
+     * path, up to the next ':'.
+     */
+    private void checkURNNamespace(ViolationSink sink, Set<URIScheme> schemes) {
+        int nidEnd = ( path0 < 0 ) ? -1 : iriStr.indexOf(':', path0);
+        if ( nidEnd < 0 || nidEnd >= path1 ) {
+            if ( checking(schemes, URIScheme.URN) )
+                checkURN(sink);
+            return;
+        }
+        int nidLen = nidEnd-path0;
+        if ( nidLen == 4 && iriStr.regionMatches(true, path0, "uuid", 0, 4) ) {
+            if ( checking(schemes, URIScheme.URN_UUID) )
+                checkURN_UUID(sink);
+            return;
+        }
+        if ( nidLen == 3 && iriStr.regionMatches(true, path0, "oid", 0, 3) ) {
+            if ( checking(schemes, URIScheme.URN_OID) )
+                checkURN_OID(sink);
+            return;
+        }
+        if ( checking(schemes, URIScheme.URN) )
+            checkURN(sink);
+        if ( !checking(schemes, URIScheme.GENERAL) )
+            return;
+        SchemeChecker checker = SchemeCheckers.findURN(iriStr, path0, nidEnd);
+        if ( checker != null )
+            checkRegistered(sink, checker);
+    }
+
+    /**
+     * Apply a checker from the {@link SchemeCheckers} registry.
+     * Violations are reported as {@link URIScheme#GENERAL}, with no offset.
+     */
+    private void checkRegistered(ViolationSink sink, SchemeChecker checker) {
+        checker.check(this, (issue, msg) -> schemeReport(sink, issue, URIScheme.GENERAL, -1, msg));
     }
 
-    private void checkGeneral() {
+    private void checkGeneral(ViolationSink sink) {
         // RFC 3986   section 3,2.1
         // https://datatracker.ietf.org/doc/html/rfc3986#section-3.2.1
         /*
@@ -1491,10 +2790,12 @@ public class IRI3986 implements IRI {
         // See also rfc7230#section-2.7.1
 
         if ( hasUserInfo() ) {
-            schemeReport(this,  Issue.iri_user_info_present, URIScheme.GENERAL, "Use of user info is deprecated");
-            int idx = contains(iriStr, ':',  userinfo0, userinfo1);
+            schemeReport(sink,  Issue.iri_user_info_present, URIScheme.GENERAL, userinfo0, "Use of user info is deprecated");
+            int idx = ( authorityInfo != null )
+                    ? ( authorityInfo.password < 0 ? -1 : authority0+authorityInfo.password )
+                    : contains(iriStr, ':',  userinfo0, userinfo1);
             if ( idx >= 0 && idx < userinfo1-1 )
-                schemeReport(this,  Issue.iri_password, URIScheme.GENERAL, "Non-empty password");
+                schemeReport(sink,  Issue.iri_password, URIScheme.GENERAL, idx+1, "Non-empty password");
         }
 
         // RFC 3986   section 3,2.2
@@ -1507,8 +2808,9 @@ public class IRI3986 implements IRI {
          */
 
         if ( hasHost() ) {
-            if ( containsUppercase(iriStr, host0, host1) )
-                schemeReport(this, Issue.iri_host_not_lowercase, URIScheme.GENERAL, "Host name should be lowercase");
+            boolean uppercase = ( authorityInfo != null ) ? authorityInfo.hostUppercase : containsUppercase(iriStr, host0, host1);
+            if ( uppercase )
+                schemeReport(sink, Issue.iri_host_not_lowercase, URIScheme.GENERAL, host0, "Host name should be lowercase");
         }
 
         // RFC 3986 section 2.1
@@ -1517,7 +2819,7 @@ public class IRI3986 implements IRI {
          * producers and normalizers should use uppercase hexadecimal digits for all
          * percent- encodings.
          */
-        checkPercent();
+        checkPercent(sink);
 
         /*
          * The path segments "." and "..", also known as dot-segments, are
@@ -1530,12 +2832,12 @@ public class IRI3986 implements IRI {
         if ( hasPath() ) {
             boolean good = LibParseIRI.checkDotSegments(iriStr, path0,  path1);
             if ( ! good ) {
-                schemeReport(this, Issue.iri_bad_dot_segments, URIScheme.GENERAL, "Dot segments should only appear at the start of a relative IRI");
+                schemeReport(sink, Issue.iri_bad_dot_segments, URIScheme.GENERAL, path0, "Dot segments should only appear at the start of a relative IRI");
             }
         }
     }
 
-    private void checkPercent() {
+    private void checkPercent(ViolationSink sink) {
         // Path onwards (lower case in host)
         // Legal syntax so percent encoded is hex.
         if ( path0 < 0 )
@@ -1550,7 +2852,7 @@ public class IRI3986 implements IRI {
                 char ch1 = iriStr.charAt(i+1);
                 char ch2 = iriStr.charAt(i+2);
                 if ( Chars3986.isHexDigitLC(ch1) || Chars3986.isHexDigitLC(ch2) ) {
-                    schemeReport(this, Issue.iri_percent_not_uppercase, URIScheme.GENERAL, "Percent encoding should be uppercase");
+                    schemeReport(sink, Issue.iri_percent_not_uppercase, URIScheme.GENERAL, i, "Percent encoding should be uppercase");
                 }
                 i += 2;
             }
@@ -1568,23 +2870,23 @@ public class IRI3986 implements IRI {
     /**
      * Check scheme name.
      */
-    private void checkSchemeName(URIScheme scheme) {
+    private void checkSchemeName(ViolationSink sink, URIScheme scheme) {
         String correctSchemeName = scheme.getSchemeName();
 
         if ( !hasScheme() ) {
-            schemeReport(this, Issue.iri_scheme_expected, scheme, "No scheme name");
+            schemeReport(sink, Issue.iri_scheme_expected, scheme, 0, "No scheme name");
             return;
         }
 
         if ( !URIScheme.matchesExact(iriStr, scheme) ) {
             if ( URIScheme.matchesIgnoreCase(iriStr, scheme) )
-                schemeReport(this, Issue.iri_scheme_name_is_not_lowercase, scheme, "Scheme name should be lowercase");
+                schemeReport(sink, Issue.iri_scheme_name_is_not_lowercase, scheme, scheme0, "Scheme name should be lowercase");
             else
-                schemeReport(this, Issue.iri_scheme_unexpected, scheme, "Scheme name should be '" + correctSchemeName + "'");
+                schemeReport(sink, Issue.iri_scheme_unexpected, scheme, scheme0, "Scheme name should be '" + correctSchemeName + "'");
         }
     }
 
-    private boolean containsUppercase(String string, int start, int finish) {
+    private static boolean containsUppercase(CharSequence string, int start, int finish) {
         for ( int i = start ; i < finish ; i++ ) {
             char ch = string.charAt(i);
             if ( Character.isUpperCase(ch) )
@@ -1593,17 +2895,32 @@ public class IRI3986 implements IRI {
         return false;
     }
 
-    private void checkHTTP() {
-        checkSchemeName(URIScheme.HTTP);
-        checkHTTPx(URIScheme.HTTP);
+    private void checkHTTP(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.HTTP);
+        checkHTTPx(sink, URIScheme.HTTP);
+    }
+
+    private void checkHTTPS(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.HTTPS);
+        checkHTTPx(sink, URIScheme.HTTPS);
+    }
+
+    /**
+     * The port as a number, without creating the port string. The port is digits;
+     * large numbers are returned as 100000.
+     */
+    private int portNumber() {
+        return portNumber(iriStr, port0, port1);
     }
 
-    private void checkHTTPS() {
-        checkSchemeName(URIScheme.HTTPS);
-        checkHTTPx(URIScheme.HTTPS);
+    private static int portNumber(CharSequence string, int start, int finish) {
+        int port = 0;
+        for ( int i = start ; i < finish && port < 100_000 ; i++ )
+            port = port*10 + (string.charAt(i)-'0');
+        return Math.min(port, 100_000);
     }
 
-    private void checkHTTPx(URIScheme scheme) {
+    private void checkHTTPx(ViolationSink sink, URIScheme scheme) {
         // @formatter:off
 
         /*
@@ -1619,28 +2936,28 @@ public class IRI3986 implements IRI {
         // @formatter:on
 
         if ( !hasHost() )
-            schemeReport(this, Issue.http_no_host, scheme, "http and https URI schemes require //host/");
+            schemeReport(sink, Issue.http_no_host, scheme, scheme1+1, "http and https URI schemes require //host/");
         else if ( /* hasHost() && */ (host0 == host1) )
-            schemeReport(this, Issue.http_empty_host, scheme, "http and https URI schemes do not allow the host to be empty");
+            schemeReport(sink, Issue.http_empty_host, scheme, host0, "http and https URI schemes do not allow the host to be empty");
 
         // https://tools.ietf.org/html/rfc3986#section-3.2.3
         if ( hasPort() ) {
             if ( port0 == port1 ) {
-                schemeReport(this, Issue.http_empty_port, scheme, "Port is empty - omit the ':'");
+                schemeReport(sink, Issue.http_empty_port, scheme, port0-1, "Port is empty - omit the ':'");
             } else {
-                int port = Integer.parseInt(port());
+                int port = ( authorityInfo != null ) ? authorityInfo.port : portNumber();
                 switch (scheme) {
                     case HTTP :
                         if ( port == 80 )
-                            schemeReport(this, Issue.http_omit_well_known_port, scheme, "Default port 80 should be omitted");
+                            schemeReport(sink, Issue.http_omit_well_known_port, scheme, port0, "Default port 80 should be omitted");
                         else if ( port < 1024 && port != 80 )
-                            schemeReport(this, Issue.http_port_not_advised, scheme, "An HTTP port under 1024 should only be 80, not "+port);
+                            schemeReport(sink, Issue.http_port_not_advised, scheme, port0, "An HTTP port under 1024 should only be 80, not "+port);
                         break;
                     case HTTPS :
                         if ( port == 443 )
-                            schemeReport(this, Issue.http_omit_well_known_port, scheme, "Default port 443 should be omitted");
+                            schemeReport(sink, Issue.http_omit_well_known_port, scheme, port0, "Default port 443 should be omitted");
                         else if ( port < 1024 && port != 443 )
-                            schemeReport(this, Issue.http_port_not_advised, scheme, "An HTTPS ports under 1024 should only be 443, not "+port);
+                            schemeReport(sink, Issue.http_port_not_advised, scheme, port0, "An HTTPS ports under 1024 should only be 443, not "+port);
                         break;
                     default :
                         throw new IllegalStateException();
@@ -1665,9 +2982,9 @@ public class IRI3986 implements IRI {
 //         */
 //
 //        if ( hasUserInfo() ) {
-//            schemeReport(this, Issue.http_userinfo, scheme, "userinfo (e.g. user:password) in authority section");
+//            schemeReport(sink, Issue.http_userinfo, scheme, userinfo0, "userinfo (e.g. user:password) in authority section");
 //            if ( userInfo().contains(":") )
-//                schemeReport(this, Issue.http_password, scheme, "userinfo contains password in authority section");
+//                schemeReport(sink, Issue.http_password, scheme, userinfo0, "userinfo contains password in authority section");
 //        }
     }
 
@@ -1680,17 +2997,17 @@ public class IRI3986 implements IRI {
      *
      * Check "file:"
      */
-    private void checkFILE() {
-        checkSchemeName(URIScheme.FILE);
+    private void checkFILE(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.FILE);
 
         // Must have authority and it must be empty. i.e. file:///
         if ( !hasAuthority() ) {
             // No authority means it does not start "//"
 
             if ( path().startsWith("/") )
-                schemeReport(this, Issue.file_bad_form, URIScheme.FILE, "file: URLs are of the form file:///path/...");
+                schemeReport(sink, Issue.file_bad_form, URIScheme.FILE, path0, "file: URLs are of the form file:///path/...");
             else
-                schemeReport(this, Issue.file_relative_path, URIScheme.FILE,
+                schemeReport(sink, Issue.file_relative_path, URIScheme.FILE, path0,
                              "file: URLs are of the form file:///path/..., not file:filename");
         } else {
             // hasAuthority
@@ -1698,11 +3015,11 @@ public class IRI3986 implements IRI {
             // "path1" (which is then ignored!)
             if ( authority0 != authority1 ) {
                 // file://path1/path2/..., so path becomes the "authority"
-                schemeReport(this, Issue.file_bad_form, URIScheme.FILE, "file: URLs are of the form file:///path/..., not file://path");
+                schemeReport(sink, Issue.file_bad_form, URIScheme.FILE, authority0, "file: URLs are of the form file:///path/..., not file://path");
             } else {
                 if ( path0 == path1 ) {
                     // Zerolength path;.IRI3986 It's "file://"
-                    schemeReport(this, Issue.file_bad_form, URIScheme.FILE, "file: URLs are of the form file:///path/..., not file://path");
+                    schemeReport(sink, Issue.file_bad_form, URIScheme.FILE, authority0, "file: URLs are of the form file:///path/..., not file://path");
                 }
             }
         }
@@ -1743,7 +3060,6 @@ public class IRI3986 implements IRI {
     // Strictly - requires 2 char NID and one char NSS.
     // NID must be ASCII
     // We allow NSS and components to include Unicode
-    // Patterns called *PREFIX start with ^ and should be used with Matcher.find.
 
     /**
      * <a href="https://datatracker.ietf.org/doc/html/rfc8141">RFC 8141</a>.
@@ -1751,16 +3067,23 @@ public class IRI3986 implements IRI {
      * Check "urn:". Additional checks for "urn:uuid:" available in
      * {@link #checkURN_UUID(String)}.
      */
-    private void checkURN() {
-        checkSchemeName(URIScheme.URN);
-        BiConsumer<Issue, String> handler = (issue, msg) -> schemeReport(this, issue, URIScheme.URN, msg);
-
+    private void checkURN(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.URN);
         // Includes RFC 8141 section 5.1 (X-)
         // Includes RFC 8141 section 5.2 (urn-)
-        int finishURN = ParseURN.validateAssignedName(iriStr, handler);
+        int finishURN;
+        try {
+            finishURN = ParseURN.validateAssignedName(iriStr, urnFirstPass);
+        } catch (IRIParseException ex) {
+            if ( ex != urnViolation )
+                throw ex;
+            // Violations : check again, reporting them.
+            BiConsumer<Issue, String> handler = (issue, msg) -> schemeReport(sink, issue, URIScheme.URN, path0, msg);
+            finishURN = ParseURN.validateAssignedName(iriStr, handler);
+        }
         if ( finishURN == -1 )
             return;
-        checkURNComponents(URIScheme.URN, handler);
+        checkURNComponents(sink, URIScheme.URN);
 
         if ( hasQuery() )
             urnCharCheck("URN components", iriStr, this.query0, iriStr.length());
@@ -1768,14 +3091,20 @@ public class IRI3986 implements IRI {
             urnCharCheck("URN components", iriStr, this.fragment0, iriStr.length());
     }
 
+    // The URN checks are done first with a handler that stops at the first
+    // violation so that checking a good URN does not create a handler object.
+    // IRIParseException does not have a stack trace.
+    private static final IRIParseException urnViolation = new IRIParseException("URN violation");
+    private static final BiConsumer<Issue, String> urnFirstPass = (issue, msg) -> { throw urnViolation; };
+
     // Whether to allow Unicode in portions of URNs
     private void urnCharCheck(String urnPart, String string, int start, int finish) {
 //        if ( ! isASCII(string, start, finish) )
-//            schemeReport(this, Issue.urn_non_ascii_character, URIScheme.URN, "Non-ASCII character in URN "+urnPart);
+//            schemeReport(sink, Issue.urn_non_ascii_character, URIScheme.URN, start, "Non-ASCII character in URN "+urnPart);
     }
 
     // URN r-component(?=), q-component(?+) and f-component(#)
-    private void checkURNComponents(URIScheme scheme, BiConsumer<Issue, String> handler) {
+    private void checkURNComponents(ViolationSink sink, URIScheme scheme) {
         if ( ! hasQuery() && ! hasFragment() )
             return;
         if ( ! hasQuery() ) {
@@ -1785,6 +3114,7 @@ public class IRI3986 implements IRI {
         // Query string, maybe fragment.
         // Include the "?" at the start
         int idx = this.query0-1;
+        BiConsumer<Issue, String> handler = (issue, msg) -> schemeReport(sink, issue, URIScheme.URN, idx, msg);
         ParseURNComponents.validateURNComponents(iriStr, idx, handler);
     }
 
@@ -1794,39 +3124,72 @@ public class IRI3986 implements IRI {
      *
      * For "uuid:", don't allow URN components.
      */
-    // Unregistered
-    private static Pattern UUID_PATTERN_LC = Pattern.compile("^uuid:[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
-    //private static Pattern UUID_PATTERN_UC_PREFIX = Pattern.compile("^uuid:[0-9A-F]{8}-[0-9A-F]{4}-[0-9A-F]{4}-[0-9A-F]{4}-[0-9A-F]{12}$");
+    private static final int UUID_length = 36;
+    // "uuid" is the scheme,the URI path is the 36 character of the UUID.
+    private static final int UUID_scheme_path_length = UUID_length;
 
-    // Correct URN.
-    private static Pattern URN_UUID_PATTERN_LC = Pattern.compile("^urn:uuid:[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
-    //private static Pattern URN_UUID_PATTERN_UC = Pattern.compile("^urn:uuid:[0-9A-F]{8}-[0-9A-F]{4}-[0-9A-F]{4}-[0-9A-F]{4}-[0-9A-F]{12}$");
+    // "urn" is the scheme, the URI path is "uuid:" and the 36 character of the UUID.
+    private static final int URN_UUID_scheme_path_length = UUID_length+"uuid:".length();
 
-    // General shape of a UUID: either scheme, any case. No length check.
-    private static Pattern UUID_PATTERN_AnyCase_PREFIX =
-            Pattern.compile("^(?:urn:uuid|uuid):[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}", Pattern.CASE_INSENSITIVE);
+    private static final String UUID_PREFIX = "uuid:";
+    private static final String URN_UUID_PREFIX = "urn:uuid:";
+    private static final char[] UUID_PREFIX_CHARS = UUID_PREFIX.toCharArray();
+    private static final char[] URN_UUID_PREFIX_CHARS = URN_UUID_PREFIX.toCharArray();
 
-    private final int UUID_length = 36;
-    // "uuid" is the scheme,the URI path is the 36 character of the UUID.
-    private final int UUID_scheme_path_length = UUID_length;
+    /**
+     * Test whether there is a UUID string, 8-4-4-4-12 hex digits, at {@code start}.
+     * If {@code lowercase} is true, the hex digits must be lower case.
+     * The string may continue after the UUID.
+     */
+    /*package*/ static boolean isUUID(CharSequence string, int start, boolean lowercase) {
+        if ( start < 0 || start+UUID_length > string.length() )
+            return false;
+        for ( int i = 0 ; i < UUID_length ; i++ ) {
+            char ch = string.charAt(start+i);
+            if ( i == 8 || i == 13 || i == 18 || i == 23 ) {
+                if ( ch != '-' )
+                    return false;
+                continue;
+            }
+            if ( Chars3986.range(ch, '0', '9') || Chars3986.range(ch, 'a', 'f') )
+                continue;
+            if ( !lowercase && Chars3986.range(ch, 'A', 'F') )
+                continue;
+            return false;
+        }
+        return true;
+    }
 
-    // "urn" is the scheme, the URI path is "uuid:" and the 36 character of the UUID.
-    private final int URN_UUID_scheme_path_length = UUID_length+"uuid:".length();
+    /** The whole string is the scheme name and a lower case UUID, with exactly this scheme name. */
+    private static boolean isExactUUID(String string, String prefix) {
+        return string.length() == prefix.length()+UUID_length &&
+               string.startsWith(prefix) &&
+               isUUID(string, prefix.length(), true);
+    }
+
+    /** The string starts "urn:uuid:" or "uuid:", then a UUID string, ignoring ASCII case. */
+    private static boolean startsWithUUID(String string) {
+        int start = -1;
+        if ( LibParseIRI.containsAtIgnoreCase(string, 0, URN_UUID_PREFIX_CHARS) )
+            start = URN_UUID_PREFIX_CHARS.length;
+        else if ( LibParseIRI.containsAtIgnoreCase(string, 0, UUID_PREFIX_CHARS) )
+            start = UUID_PREFIX_CHARS.length;
+        return isUUID(string, start, false);
+    }
 
     /**
      * <a href="https://datatracker.ietf.org/doc/html/rfc4122">RFC4122</a>
      * <p>
      * {@code <urn:uuid:...>} This is the correct way to have UUIDs as URIs.
      */
-    private void checkURN_UUID() {
-        checkSchemeName(URIScheme.URN_UUID);
-        boolean matches = URN_UUID_PATTERN_LC.matcher(iriStr).matches();
+    private void checkURN_UUID(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.URN_UUID);
+        boolean matches = isExactUUID(iriStr, URN_UUID_PREFIX);
         if ( matches )
             // Fast path - no string manipulation, lower case, no components.
             return;
-        checkUUID(URIScheme.URN_UUID, iriStr, URN_UUID_scheme_path_length);
-        BiConsumer<Issue, String> handler = (issue, msg) -> schemeReport(this, issue, URIScheme.URN, msg);
-        checkURNComponents(URIScheme.URN_UUID, handler);
+        checkUUID(sink, URIScheme.URN_UUID, iriStr, URN_UUID_scheme_path_length);
+        checkURNComponents(sink, URIScheme.URN_UUID);
     }
 
     /**
@@ -1834,48 +3197,48 @@ public class IRI3986 implements IRI {
      * <p>
      * We allow the non-registered form, disallowing URN components.
      */
-    private void checkUUID() {
-        checkSchemeName(URIScheme.UUID);
-        schemeReport(this, Issue.uuid_scheme_not_registered, URIScheme.UUID, "Use urn:uuid: -  'uuid:' is not a registered URI scheme.");
-        boolean matches = UUID_PATTERN_LC.matcher(iriStr).matches();
+    private void checkUUID(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.UUID);
+        schemeReport(sink, Issue.uuid_scheme_not_registered, URIScheme.UUID, scheme0, "Use urn:uuid: -  'uuid:' is not a registered URI scheme.");
+        boolean matches = isExactUUID(iriStr, UUID_PREFIX);
         if ( matches )
             // Fast path - no string manipulation, lower case
             return;
-        checkUUID(URIScheme.UUID, iriStr, UUID_scheme_path_length);
+        checkUUID(sink, URIScheme.UUID, iriStr, UUID_scheme_path_length);
         // No query string, no URN components.
         if ( hasQuery() )
-            schemeReport(this, Issue.uuid_has_query, URIScheme.UUID, "query component not allowed");
+            schemeReport(sink, Issue.uuid_has_query, URIScheme.UUID, query0-1, "query component not allowed");
         if ( hasFragment() )
-            schemeReport(this, Issue.uuid_has_fragment, URIScheme.UUID, "fragment not allowed");
+            schemeReport(sink, Issue.uuid_has_fragment, URIScheme.UUID, fragment0-1, "fragment not allowed");
     }
 
     // Checks for both urn:uuid: and uuid:
-    private void checkUUID(URIScheme scheme, String iriStr, int uriPathLen) {
+    private void checkUUID(ViolationSink sink, URIScheme scheme, String iriStr, int uriPathLen) {
         // uuidPathLen : whole URI path : : 36 if uuid: ("uuid:" is the scheme), 41 is urn:uuid: (path is uuid:....)
-        // It did not pass the fast-path regular expression.
+        // It did not pass the fast-path check.
 
         int actualPathLen = path1-path0;
         if (actualPathLen != uriPathLen ) {
-            schemeReport(this, Issue.uuid_bad_pattern, scheme, "Bad UUID string (wrong length)");
+            schemeReport(sink, Issue.uuid_bad_pattern, scheme, path0, "Bad UUID string (wrong length)");
             return;
         }
 
         if ( scheme == URIScheme.URN_UUID ) {
             if ( containsHexUC(iriStr, path0, path0+"uuid".length()) )
-                schemeReport(this, Issue.uuid_not_lowercase, scheme, "Lowercase recommended for urn UUID namspace");
+                schemeReport(sink, Issue.uuid_not_lowercase, scheme, path0, "Lowercase recommended for urn UUID namspace");
         }
 
-        boolean matchesAnyCase = UUID_PATTERN_AnyCase_PREFIX.matcher(iriStr).find();
+        boolean matchesAnyCase = startsWithUUID(iriStr);
         if ( ! matchesAnyCase ) {
             // Didn't match as a UUID
-            schemeReport(this, Issue.uuid_bad_pattern , scheme, "Not a valid UUID string");
+            schemeReport(sink, Issue.uuid_bad_pattern, scheme, path0, "Not a valid UUID string");
             return;
         }
         // We know it is the right length, right shape so:
         int uuidStart = path1 - UUID_length;
         int uuidFinish = path1;
         if ( containsHexUC(iriStr,uuidStart, uuidFinish) )
-            schemeReport(this, Issue.uuid_not_lowercase, scheme, "Lowercase recommended for UUID string");
+            schemeReport(sink, Issue.uuid_not_lowercase, scheme, uuidStart, "Lowercase recommended for UUID string");
     }
 
     private boolean containsHexUC(String iriStr2, int uuidStart, int uuidFinish) {
@@ -1888,62 +3251,61 @@ public class IRI3986 implements IRI {
         return false;
     }
 
-    private void checkDID() {
-        checkSchemeName(URIScheme.DID);
+    private void checkDID(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.DID);
         try {
             ParseDID.parse(iriStr, true);
         } catch (RuntimeException ex) {
-            schemeReport(this, Issue.did_bad_syntax, URIScheme.DID, "Invalid DID: " + ex.getMessage());
+            schemeReport(sink, Issue.did_bad_syntax, URIScheme.DID, path0, "Invalid DID: " + ex.getMessage());
         }
     }
 
-    private void checkURN_OID() {
-        checkSchemeName(URIScheme.URN_OID);
-        checkOID(URIScheme.URN_OID, iriStr);
+    private void checkURN_OID(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.URN_OID);
+        checkOID(sink, URIScheme.URN_OID, iriStr);
     }
 
     // Incorrect by RFC (there was a a draft, but RFC 3061 is urn:oid:...)
-    private void checkOID() {
-        checkSchemeName(URIScheme.OID);
-        schemeReport(this, Issue.oid_scheme_not_registered, URIScheme.OID, "Use 'urn:oid:' - 'oid:' is not a registered URI scheme.");
-        checkOID(URIScheme.OID, iriStr);
+    private void checkOID(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.OID);
+        schemeReport(sink, Issue.oid_scheme_not_registered, URIScheme.OID, scheme0, "Use 'urn:oid:' - 'oid:' is not a registered URI scheme.");
+        checkOID(sink, URIScheme.OID, iriStr);
     }
 
     // Check for both cases.
-    private void checkOID(URIScheme scheme, String iriStr) {
+    private void checkOID(ViolationSink sink, URIScheme scheme, String iriStr) {
         try {
-            ParseOID.parse(iriStr);
+            ParseOID.check(iriStr);
         } catch (RuntimeException ex) {
-            schemeReport(this, Issue.oid_bad_syntax, scheme, "Invalid OID: " + ex.getMessage());
+            schemeReport(sink, Issue.oid_bad_syntax, scheme, path0, "Invalid OID: " + ex.getMessage());
         }
     }
 
     /**
      * URI scheme "example:" from RFC 7595
      */
-    private void checkExample() {
-        checkSchemeName(URIScheme.EXAMPLE);
+    private void checkExample(ViolationSink sink) {
+        checkSchemeName(sink, URIScheme.EXAMPLE);
     }
 
     /**
      * Violation of URI scheme specific rules.
      * <p>
-     * The URI will be added to the beginning of the message.
+     * The URI will be added to the beginning of the message when the message is asked for.
+     * If the sink is null, the violation is recorded in this IRI.
      */
 
-    private void schemeReport(IRI3986 iri, Issue issue, URIScheme scheme, String msg) {
+    private void schemeReport(ViolationSink sink, Issue issue, URIScheme scheme, int offset, String msg) {
         Objects.requireNonNull(issue);
         if ( issue == Issue.ParseError ) {
             // Should not happen.
-            throw parseError(iri.str(), msg);
+            throw parseError(str(), msg);
         }
-        addReport(iri, iri.str(), scheme, issue, msg);
-    }
-
-    private static void addReport(IRI3986 iri, String iriStr, URIScheme uriScheme, Issue issue, String message) {
-        String msg = "<"+iriStr+"> "+message;
-        Violation v = new Violation(iriStr, uriScheme, issue, msg);
-        addReport(iri, v);
+        if ( sink != null ) {
+            sink.violation(issue, scheme, offset);
+            return;
+        }
+        addReport(this, Violation.create(str(), scheme, issue, offset, msg));
     }
 
     private static void addReportParseError(IRI3986 iri, String iriStr, String message) {
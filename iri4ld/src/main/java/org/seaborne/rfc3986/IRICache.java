@@ -0,0 +1,225 @@
+/*
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *  See the NOTICE file distributed with this work for additional
+ *  information regarding copyright ownership.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A bounded, thread-safe cache of parsed {@link IRI3986} objects, keyed by the IRI
+ * string.
+ * <p>
+ * A cached IRI3986 is returned as-is, including any scheme-specific violations
+ * found when it was first parsed. Only strings that are syntactically valid are
+ * cached; strings that do not parse are parsed again on each call so that
+ * {@link #create} throws the same exception as {@link IRI3986#create}.
+ * <p>
+ * The cache is split into segments, each an access-ordered map with a
+ * least-recently-used eviction policy, so that the total number of entries never
+ * exceeds the maximum size.
+ * <p>
+ * A cache is used by {@link RFC3986#create(String)} and
+ * {@link RFC3986#createAny(String)} when set with {@link SystemIRI3986#setCache}.
+ */
+public class IRICache {
+
+    /** Cache statistics. */
+    public record Stats(long hits, long misses, long evictions, int size) {}
+
+    private final int maxSize;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    /** Create a cache that holds at most {@code maxSize} IRIs. */
+    public static IRICache create(int maxSize) {
+        return new IRICache(maxSize);
+    }
+
+    private IRICache(int maxSize) {
+        if ( maxSize <= 0 )
+            throw new IllegalArgumentException("Cache size must be positive: "+maxSize);
+        this.maxSize = maxSize;
+        // Enough segments to reduce contention, but each segment holds at least a few entries.
+        int n = Integer.highestOneBit(Math.max(1, 4*Runtime.getRuntime().availableProcessors()-1)) << 1;
+        while ( n > 1 && maxSize/n < 16 )
+            n >>= 1;
+        this.segments = new Segment[n];
+        this.segmentMask = n-1;
+        // Distribute the size so the total is exactly maxSize.
+        for ( int i = 0 ; i < n ; i++ ) {
+            int segSize = maxSize/n + ( i < maxSize%n ? 1 : 0 );
+            segments[i] = new Segment(segSize);
+        }
+    }
+
+    /**
+     * Get the {@link IRI3986} for a string, parsing it and checking scheme-specific rules if it is not in the cache.
+     * As {@link IRI3986#create}, this throws {@link IRIParseException} if the string is not a valid IRI.
+     */
+    public IRI3986 create(String iriStr) {
+        return create(iriStr, IRI3986::create);
+    }
+
+    /** As {@link #create(String)}, parsing with the function if the string is not in the cache. */
+    /*package*/ IRI3986 create(String iriStr, Function<String, IRI3986> parser) {
+        Objects.requireNonNull(iriStr);
+        Segment segment = segment(iriStr);
+        IRI3986 iri = segment.get(iriStr);
+        if ( iri != null )
+            return iri;
+        iri = parser.apply(iriStr);
+        segment.put(iriStr, iri);
+        return iri;
+    }
+
+    /**
+     * Get the {@link IRI3986} for a string; this never throws an exception, nor returns null.
+     * As {@link IRI3986#createAny}, a string that is not a valid IRI results in an object with a parse error violation.
+     * Such objects are not cached.
+     */
+    public IRI3986 createAny(String iriStr) {
+        return createAny(iriStr, IRI3986::createAny);
+    }
+
+    /** As {@link #createAny(String)}, parsing with the function if the string is not in the cache. */
+    /*package*/ IRI3986 createAny(String iriStr, Function<String, IRI3986> parser) {
+        Objects.requireNonNull(iriStr);
+        Segment segment = segment(iriStr);
+        IRI3986 iri = segment.get(iriStr);
+        if ( iri != null )
+            return iri;
+        iri = parser.apply(iriStr);
+        if ( ! hasParseError(iri) )
+            segment.put(iriStr, iri);
+        return iri;
+    }
+
+    /** Return the cached {@link IRI3986} for a string, or null. This is not counted as a hit or a miss. */
+    public IRI3986 getIfPresent(String iriStr) {
+        Objects.requireNonNull(iriStr);
+        return segment(iriStr).peek(iriStr);
+    }
+
+    /** Remove all entries. The statistics are not reset. */
+    public void clear() {
+        for ( Segment segment : segments )
+            segment.clear();
+    }
+
+    /** The maximum number of entries. */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /** The current number of entries. */
+    public int size() {
+        int size = 0;
+        for ( Segment segment : segments )
+            size += segment.size();
+        return size;
+    }
+
+    /** Return the statistics for this cache. */
+    public Stats stats() {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        int size = 0;
+        for ( Segment segment : segments ) {
+            synchronized(segment) {
+                hits += segment.hits;
+                misses += segment.misses;
+                evictions += segment.evictions;
+                size += segment.map.size();
+            }
+        }
+        return new Stats(hits, misses, evictions, size);
+    }
+
+    @Override
+    public String toString() {
+        Stats stats = stats();
+        return String.format("IRICache[max=%d, size=%d, hits=%d, misses=%d, evictions=%d]",
+                             maxSize, stats.size(), stats.hits(), stats.misses(), stats.evictions());
+    }
+
+    private static boolean hasParseError(IRI3986 iri) {
+        if ( ! iri.hasViolations() )
+            return false;
+        for ( Violation v : iri.violations() ) {
+            if ( v.issue() == Issue.ParseError )
+                return true;
+        }
+        return false;
+    }
+
+    private Segment segment(String key) {
+        int h = key.hashCode();
+        // Spread the high bits: segments are chosen by the low bits.
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    /** One segment: an access-ordered, size-bounded map. All access is synchronized on the segment. */
+    private static final class Segment {
+        private final LinkedHashMap<String, IRI3986> map;
+        private long hits = 0;
+        private long misses = 0;
+        private long evictions = 0;
+
+        Segment(int capacity) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, IRI3986> eldest) {
+                    if ( size() > capacity ) {
+                        evictions++;
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized IRI3986 get(String key) {
+            IRI3986 iri = map.get(key);
+            if ( iri == null )
+                misses++;
+            else
+                hits++;
+            return iri;
+        }
+
+        synchronized IRI3986 peek(String key) {
+            return map.get(key);
+        }
+
+        synchronized void put(String key, IRI3986 iri) {
+            map.putIfAbsent(key, iri);
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory dictionary of IRIs, assigning each IRI a dense integer id, starting at
+ * 0, in the order the IRIs are added.
+ * <p>
+ * Each IRI is split, using the component offsets from parsing, into a namespace and a
+ * local part. The namespace is the IRI up to and including the last "/" of the path
+ * (or, if there is no "/", the last ":" of the path, as in URNs); it includes the
+ * scheme and authority. The local part is the rest of the path, the query and the
+ * fragment. Each namespace is stored once, with its component offsets, and each IRI
+ * is stored as a namespace number and the characters of the local part in a shared
+ * character buffer.
+ * <p>
+ * {@link #get(int)} rebuilds the {@link IRI3986} from the stored offsets, without
+ * parsing the string again. The scheme-specific checks of the returned IRI are done
+ * if and when its violations are asked for.
+ * <p>
+ * Lookups may run concurrently; adding an IRI excludes other operations.
+ * <p>
+ * Memory per entry, measured with JOL ({@code Footprint} in x4ld-bench) for 100,000
+ * IRIs, compared to a {@code HashMap<String,Integer>} together with a
+ * {@code List<String>} for id to string:
+ * <ul>
+ * <li>IRIs with few namespaces (1,680), as in RDF data: 44 bytes, compared to 147 bytes.</li>
+ * <li>IRIs with many namespaces (58,004): 152 bytes, compared to 160 bytes.</li>
+ * </ul>
+ */
+public class IRIDictionary {
+
+    /** Returned by the lookup operations when the IRI is not in the dictionary. */
+    public static final int NO_ID = -1;
+
+    private static final int INITIAL_SIZE = 1024;
+    // Offsets stored for a namespace : scheme, authority, userinfo, host, port and the path start.
+    private static final int NS_OFFSETS = 11;
+
+    private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+    private final Lock readLock = rwLock.readLock();
+    private final Lock writeLock = rwLock.writeLock();
+
+    // Namespaces : the string and the offsets of the components that are in it.
+    private int nsSize = 0;
+    private String[] nsPrefix = new String[64];
+    private int[] nsOffsets = new int[64*NS_OFFSETS];
+    // Open addressing hash table of namespace number+1; 0 is an empty slot.
+    private int[] nsTable = new int[128];
+
+    // Entries : the namespace number and the start of the local part in the
+    // character buffer. Entry i ends where entry i+1 starts.
+    private int size = 0;
+    private int[] entryNamespace = new int[INITIAL_SIZE];
+    private int[] entryStart = new int[INITIAL_SIZE+1];
+    private char[] chars = new char[16*INITIAL_SIZE];
+
+    // Open addressing hash table of id+1; 0 is an empty slot.
+    private int[] table = new int[2*INITIAL_SIZE];
+
+    /** Create an empty dictionary. */
+    public static IRIDictionary create() {
+        return new IRIDictionary();
+    }
+
+    private IRIDictionary() {}
+
+    /** Number of IRIs in the dictionary. */
+    public int size() {
+        readLock.lock();
+        try {
+            return size;
+        } finally { readLock.unlock(); }
+    }
+
+    /** Number of different namespaces. */
+    public int namespaceCount() {
+        readLock.lock();
+        try {
+            return nsSize;
+        } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Get the id of an IRI string, adding it to the dictionary if not already present.
+     * As {@link IRI3986#create(String)}, this throws {@link IRIParseException} if the
+     * string is not a valid IRI.
+     */
+    public int getOrAdd(String iriStr) {
+        Objects.requireNonNull(iriStr);
+        return getOrAdd(IRI3986.createLazy(iriStr));
+    }
+
+    /** Get the id of an IRI, adding it to the dictionary if not already present. */
+    public int getOrAdd(IRI3986 iri) {
+        Objects.requireNonNull(iri);
+        String str = iri.str();
+        int[] offsets = iri.offsets();
+        int split = split(str, offsets);
+        int nsHash = hash(str, 0, split);
+        int hash = hash(str, split, str.length());
+
+        readLock.lock();
+        try {
+            int id = find(str, split, nsHash, hash);
+            if ( id != NO_ID )
+                return id;
+        } finally { readLock.unlock(); }
+
+        writeLock.lock();
+        try {
+            int id = find(str, split, nsHash, hash);
+            if ( id != NO_ID )
+                return id;
+            return add(str, offsets, split, nsHash, hash);
+        } finally { writeLock.unlock(); }
+    }
+
+    /**
+     * Return the id of an IRI string, or {@link #NO_ID} if it is not in the
+     * dictionary. This returns {@link #NO_ID} for a string that is not a valid IRI.
+     */
+    public int lookup(String iriStr) {
+        Objects.requireNonNull(iriStr);
+        IRI3986 iri;
+        try {
+            iri = IRI3986.createLazy(iriStr);
+        } catch (IRIParseException ex) {
+            return NO_ID;
+        }
+        return lookup(iri);
+    }
+
+    /** Return the id of an IRI, or {@link #NO_ID} if it is not in the dictionary. */
+    public int lookup(IRI3986 iri) {
+        Objects.requireNonNull(iri);
+        String str = iri.str();
+        int split = split(str, iri.offsets());
+        int nsHash = hash(str, 0, split);
+        int hash = hash(str, split, str.length());
+        readLock.lock();
+        try {
+            return find(str, split, nsHash, hash);
+        } finally { readLock.unlock(); }
+    }
+
+    /** Return true if the IRI is in the dictionary. */
+    public boolean contains(IRI3986 iri) {
+        return lookup(iri) != NO_ID;
+    }
+
+    /** Return the string of the IRI with the given id. */
+    public String str(int id) {
+        readLock.lock();
+        try {
+            checkId(id);
+            return string(id);
+        } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Return the {@link IRI3986} with the given id. The IRI is built from the stored
+     * component offsets; it is not parsed again.
+     */
+    public IRI3986 get(int id) {
+        String str;
+        int[] offsets = new int[16];
+        int split;
+        readLock.lock();
+        try {
+            checkId(id);
+            str = string(id);
+            int nsId = entryNamespace[id];
+            System.arraycopy(nsOffsets, nsId*NS_OFFSETS, offsets, 0, NS_OFFSETS);
+            split = nsPrefix[nsId].length();
+        } finally { readLock.unlock(); }
+        localOffsets(offsets, str, split);
+        return IRI3986.fromOffsets(str, offsets, null);
+    }
+
+    private void checkId(int id) {
+        if ( id < 0 || id >= size )
+            throw new IndexOutOfBoundsException("No such id: "+id);
+    }
+
+    // Called with the read lock or the write lock held.
+    private String string(int id) {
+        String prefix = nsPrefix[entryNamespace[id]];
+        int start = entryStart[id];
+        int len = entryStart[id+1] - start;
+        StringBuilder sb = new StringBuilder(prefix.length() + len);
+        sb.append(prefix).append(chars, start, len);
+        return sb.toString();
+    }
+
+    // ---- Namespace and local part.
+
+    /**
+     * The index in the string where the local part starts: after the last "/" in the
+     * path, else after the last ":" in the path, else where the path starts.
+     */
+    private static int split(String str, int[] offsets) {
+        int path0 = offsets[10];
+        int path1 = offsets[11];
+        if ( path0 >= 0 ) {
+            int x = str.lastIndexOf('/', path1-1);
+            if ( x < path0 )
+                x = str.lastIndexOf(':', path1-1);
+            if ( x >= path0 )
+                return x+1;
+            return path0;
+        }
+        // No path. Split after the authority or scheme.
+        if ( offsets[2] >= 0 )
+            return offsets[3];
+        if ( offsets[0] >= 0 )
+            return offsets[1]+1;
+        return 0;
+    }
+
+    /**
+     * Complete the offsets of an IRI, which has the offsets from the namespace, from the
+     * local part in the IRI string. The scheme and authority are in the namespace. The
+     * path may start in the namespace. The query and fragment are in the local part.
+     */
+    private static void localOffsets(int[] offsets, String str, int split) {
+        int length = str.length();
+        // End of the path in the local part.
+        int x = split;
+        while ( x < length ) {
+            char ch = str.charAt(x);
+            if ( ch == '?' || ch == '#' )
+                break;
+            x++;
+        }
+        if ( offsets[10] >= 0 ) {
+            offsets[11] = x;
+        } else if ( x > split ) {
+            offsets[10] = split;
+            offsets[11] = x;
+        } else {
+            offsets[11] = -1;
+        }
+        Arrays.fill(offsets, 12, 16, -1);
+        if ( x < length && str.charAt(x) == '?' ) {
+            int q = str.indexOf('#', x+1);
+            offsets[12] = x+1;
+            offsets[13] = ( q < 0 ) ? length : q;
+            x = offsets[13];
+        }
+        if ( x < length ) {
+            // '#'
+            offsets[14] = x+1;
+            offsets[15] = length;
+        }
+    }
+
+    // ---- Hash tables.
+
+    private static int hash(String str, int start, int finish) {
+        int h = 0;
+        for ( int i = start ; i < finish ; i++ )
+            h = 31*h + str.charAt(i);
+        return h;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static int slotHash(int nsId, int localHash) {
+        return spread(31*nsId + localHash);
+    }
+
+    // Called with the read lock or the write lock held.
+    private int findNamespace(String str, int split, int nsHash) {
+        int mask = nsTable.length-1;
+        for ( int slot = spread(nsHash) & mask ; ; slot = (slot+1) & mask ) {
+            int x = nsTable[slot];
+            if ( x == 0 )
+                return NO_ID;
+            String prefix = nsPrefix[x-1];
+            if ( prefix.length() == split && str.startsWith(prefix) )
+                return x-1;
+        }
+    }
+
+    // Called with the read lock or the write lock held.
+    private int find(String str, int split, int nsHash, int hash) {
+        int nsId = findNamespace(str, split, nsHash);
+        if ( nsId == NO_ID )
+            return NO_ID;
+        int mask = table.length-1;
+        for ( int slot = slotHash(nsId, hash) & mask ; ; slot = (slot+1) & mask ) {
+            int x = table[slot];
+            if ( x == 0 )
+                return NO_ID;
+            int id = x-1;
+            if ( entryNamespace[id] == nsId && sameLocal(id, str, split) )
+                return id;
+        }
+    }
+
+    private boolean sameLocal(int id, String str, int split) {
+        int start = entryStart[id];
+        int len = entryStart[id+1] - start;
+        if ( len != str.length() - split )
+            return false;
+        for ( int i = 0 ; i < len ; i++ ) {
+            if ( chars[start+i] != str.charAt(split+i) )
+                return false;
+        }
+        return true;
+    }
+
+    // Called with the write lock held.
+    private int addNamespace(String str, int[] offsets, int split, int nsHash) {
+        int nsId = nsSize;
+        if ( nsId == nsPrefix.length ) {
+            nsPrefix = Arrays.copyOf(nsPrefix, 2*nsId);
+            nsOffsets = Arrays.copyOf(nsOffsets, 2*nsId*NS_OFFSETS);
+        }
+        nsPrefix[nsId] = str.substring(0, split);
+        int x = nsId*NS_OFFSETS;
+        System.arraycopy(offsets, 0, nsOffsets, x, NS_OFFSETS);
+        // The path, if it starts in the namespace. The end is set from the local part.
+        if ( nsOffsets[x+10] >= split )
+            nsOffsets[x+10] = -1;
+        nsSize++;
+        if ( 3*nsSize > 2*nsTable.length ) {
+            int[] newTable = new int[2*nsTable.length];
+            for ( int i = 0 ; i < nsSize ; i++ )
+                insert(newTable, i, spread(nsPrefix[i].hashCode()));
+            nsTable = newTable;
+        } else {
+            insert(nsTable, nsId, spread(nsHash));
+        }
+        return nsId;
+    }
+
+    // Called with the write lock held.
+    private int add(String str, int[] offsets, int split, int nsHash, int hash) {
+        int nsId = findNamespace(str, split, nsHash);
+        if ( nsId == NO_ID )
+            nsId = addNamespace(str, offsets, split, nsHash);
+        int id = size;
+        if ( id+1 == entryStart.length ) {
+            int n = 2*entryNamespace.length;
+            entryNamespace = Arrays.copyOf(entryNamespace, n);
+            entryStart = Arrays.copyOf(entryStart, n+1);
+        }
+        int start = entryStart[id];
+        int len = str.length() - split;
+        if ( start + len > chars.length ) {
+            long n = Math.max(2L*chars.length, (long)start + len);
+            if ( n > Integer.MAX_VALUE - 8 )
+                throw new IllegalStateException("IRIDictionary is full");
+            chars = Arrays.copyOf(chars, (int)n);
+        }
+        str.getChars(split, str.length(), chars, start);
+        entryNamespace[id] = nsId;
+        entryStart[id+1] = start + len;
+        size++;
+
+        if ( 3*size > 2*table.length )
+            rehash();
+        else
+            insert(table, id, slotHash(nsId, hash));
+        return id;
+    }
+
+    private static void insert(int[] table, int id, int hash) {
+        int mask = table.length-1;
+        int slot = hash & mask;
+        while ( table[slot] != 0 )
+            slot = (slot+1) & mask;
+        table[slot] = id+1;
+    }
+
+    private void rehash() {
+        int[] newTable = new int[2*table.length];
+        for ( int id = 0 ; id < size ; id++ ) {
+            int start = entryStart[id];
+            int h = 0;
+            for ( int i = start ; i < entryStart[id+1] ; i++ )
+                h = 31*h + chars[i];
+            insert(newTable, id, slotHash(entryNamespace[id], h));
+        }
+        table = newTable;
+    }
+
+    @Override
+    public String toString() {
+        readLock.lock();
+        try {
+            return String.format("IRIDictionary[size=%d, namespaces=%d]", size, nsSize);
+        } finally { readLock.unlock(); }
+    }
+}
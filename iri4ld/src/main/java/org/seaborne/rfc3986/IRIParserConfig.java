@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Settings for creating IRIs: the {@link SeverityMap}, the {@link ErrorHandler}
+ * for violations, which scheme-specific checks to apply, and the caches to use.
+ * <p>
+ * A configuration is immutable and can be shared between threads. Different parts
+ * of an application can create IRIs with different configurations at the same
+ * time; the system-wide settings in {@link Violations} and {@link SystemIRI3986}
+ * are not changed.
+ * <pre>
+ *    IRIParserConfig strict = IRIParserConfig.system().withSeverityMap(Violations.strictLevels);
+ *    IRI3986 iri = strict.create(string);
+ * </pre>
+ * <p>
+ * The error handler may be null, meaning violations are only recorded in the IRI.
+ * The caches may be null, meaning no caching. An {@link IRICache} keeps the IRIs
+ * with the violations of the configuration that created them, so changing the
+ * scheme checks with {@link #withSchemes} or {@link #withAllSchemes} removes the
+ * IRI cache from the new configuration. A cache can then be set with
+ * {@link #withCache}; it should only be used by configurations with the same
+ * scheme checks.
+ *
+ * @param severityMap The severity of each {@link Issue}.
+ * @param errorHandler The handler for the violations of IRIs created by
+ *     {@link #create} and {@link #resolve}. May be null.
+ * @param schemes The schemes with checks applied. Checks of the general IRI rules,
+ *     and of schemes registered with {@link SchemeCheckers}, are applied if this
+ *     includes {@link URIScheme#GENERAL}.
+ * @param cache The cache of IRIs. May be null.
+ * @param authorityCache The cache of parsed authorities. May be null.
+ */
+public record IRIParserConfig(SeverityMap severityMap, ErrorHandler errorHandler, Set<URIScheme> schemes,
+                              IRICache cache, AuthorityCache authorityCache) {
+
+    private static final Set<URIScheme> allSchemes = Set.copyOf(EnumSet.allOf(URIScheme.class));
+
+    public IRIParserConfig {
+        Objects.requireNonNull(severityMap, "severityMap");
+        Objects.requireNonNull(schemes, "schemes");
+        schemes = Set.copyOf(schemes);
+    }
+
+    /**
+     * A configuration with the current system settings: {@link Violations#severities()},
+     * {@link SystemIRI3986#getErrorHandler()}, all scheme checks,
+     * {@link SystemIRI3986#getCache()} and {@link SystemIRI3986#getAuthorityCache()}.
+     * Later changes to the system settings do not change the configuration.
+     */
+    public static IRIParserConfig system() {
+        return new IRIParserConfig(Violations.severities(), SystemIRI3986.getErrorHandler(), allSchemes,
+                                   SystemIRI3986.getCache(), SystemIRI3986.getAuthorityCache());
+    }
+
+    public IRIParserConfig withSeverityMap(SeverityMap severityMap) {
+        return new IRIParserConfig(severityMap, errorHandler, schemes, cache, authorityCache);
+    }
+
+    public IRIParserConfig withErrorHandler(ErrorHandler errorHandler) {
+        return new IRIParserConfig(severityMap, errorHandler, schemes, cache, authorityCache);
+    }
+
+    /**
+     * Apply the checks for these schemes only. If this changes the scheme checks,
+     * the new configuration does not have an IRI cache.
+     */
+    public IRIParserConfig withSchemes(URIScheme... schemes) {
+        Set<URIScheme> x = ( schemes.length == 0 ) ? Set.of() : EnumSet.of(schemes[0], schemes);
+        return withSchemes(Set.copyOf(x));
+    }
+
+    /**
+     * Apply the checks for all schemes. If this changes the scheme checks, the new
+     * configuration does not have an IRI cache.
+     */
+    public IRIParserConfig withAllSchemes() {
+        return withSchemes(allSchemes);
+    }
+
+    private IRIParserConfig withSchemes(Set<URIScheme> x) {
+        // The IRIs in the cache have the violations of the current scheme checks.
+        IRICache c = x.equals(schemes) ? cache : null;
+        return new IRIParserConfig(severityMap, errorHandler, x, c, authorityCache);
+    }
+
+    public IRIParserConfig withCache(IRICache cache) {
+        return new IRIParserConfig(severityMap, errorHandler, schemes, cache, authorityCache);
+    }
+
+    public IRIParserConfig withAuthorityCache(AuthorityCache authorityCache) {
+        return new IRIParserConfig(severityMap, errorHandler, schemes, cache, authorityCache);
+    }
+
+    /**
+     * Create an {@link IRI3986} or throw an {@link IRIParseException} if there is a
+     * syntax error, as {@link IRI3986#create(String)}. Violations of the
+     * scheme-specific rules are recorded in the IRI and sent to the error handler.
+     */
+    public IRI3986 create(String iriStr) {
+        IRI3986 iri = ( cache == null ) ? parse(iriStr) : cache.create(iriStr, this::parse);
+        report(iri);
+        return iri;
+    }
+
+    /**
+     * Create an {@link IRI3986}, as {@link IRI3986#createAny(String)}. This does not
+     * throw an exception; syntax errors and violations of the scheme-specific rules
+     * are recorded in the IRI and are not sent to the error handler.
+     */
+    public IRI3986 createAny(String iriStr) {
+        return ( cache == null ) ? parseAny(iriStr) : cache.createAny(iriStr, this::parseAny);
+    }
+
+    /**
+     * Resolve an IRI against a base, as {@link IRI3986#resolve(IRI3986)}. Violations
+     * of the scheme-specific rules of a new IRI are recorded in the IRI and sent to
+     * the error handler.
+     */
+    public IRI3986 resolve(IRI3986 base, IRI3986 iri) {
+        IRI3986 result = base.resolve(iri, checkSchemes());
+        if ( result != iri )
+            report(result);
+        return result;
+    }
+
+    /** Get the severity of an issue. */
+    public Severity severity(Issue issue) {
+        return Violations.getSeverity(severityMap, issue);
+    }
+
+    /** Return true if the IRI has any violations with a severity greater than (and not equal to) the severity argument. */
+    public boolean hasViolations(IRI3986 iri, Severity levelSeverity) {
+        for ( Violation violation : iri.violations() ) {
+            if ( severity(violation.issue()).level() > levelSeverity.level() )
+                return true;
+        }
+        return false;
+    }
+
+    private IRI3986 parse(String iriStr) {
+        return IRI3986.create(iriStr, authorityCache, checkSchemes());
+    }
+
+    private IRI3986 parseAny(String iriStr) {
+        return IRI3986.createAny(iriStr, authorityCache, checkSchemes());
+    }
+
+    private void report(IRI3986 iri) {
+        if ( errorHandler != null && iri.hasViolations() )
+            SystemIRI3986.toHandler(iri, severityMap, errorHandler);
+    }
+
+    // Null for all schemes.
+    private Set<URIScheme> checkSchemes() {
+        return ( schemes.size() == allSchemes.size() ) ? null : schemes;
+    }
+}
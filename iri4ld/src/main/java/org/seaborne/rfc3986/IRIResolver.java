@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Resolve many references against one base IRI.
+ * <p>
+ * The parts of the base IRI needed for resolution (the scheme, authority, path,
+ * the directory of the path for merging, and the query) are calculated once when
+ * the resolver is created. The result is the same as
+ * {@link IRI3986#resolve(IRI3986)}.
+ * <p>
+ * A resolver can have a bounded cache of reference strings to resolved IRIs, used
+ * by {@link #resolve(String)}.
+ * <p>
+ * A resolver is safe to use from multiple threads.
+ */
+public class IRIResolver {
+
+    private final IRI3986 base;
+    private final String baseScheme;
+    private final String baseAuthority;
+    private final String basePath;
+    private final String baseQuery;
+    // The base path, excluding characters after the last "/", for merging with a relative path.
+    private final String mergePrefix;
+    // Whether the merge prefix may need dot segments removing.
+    private final boolean mergePrefixHasDots;
+    private final Map<String, IRI3986> cache;
+
+    /** Create a resolver for a base IRI, without a cache. */
+    public static IRIResolver create(IRI3986 base) {
+        return new IRIResolver(base, 0);
+    }
+
+    /**
+     * Create a resolver for a base IRI with a cache of the results of
+     * {@link #resolve(String)} that holds at most {@code cacheSize} entries. A cache
+     * size of zero means no cache.
+     */
+    public static IRIResolver create(IRI3986 base, int cacheSize) {
+        if ( cacheSize < 0 )
+            throw new IllegalArgumentException("Negative cache size: "+cacheSize);
+        return new IRIResolver(base, cacheSize);
+    }
+
+    private IRIResolver(IRI3986 base, int cacheSize) {
+        this.base = Objects.requireNonNull(base);
+        this.baseScheme = base.scheme();
+        this.baseAuthority = base.authority();
+        this.basePath = base.path();
+        this.baseQuery = base.query();
+        // RFC 3986 5.2.3. Merge Paths
+        if ( base.hasAuthority() && basePath.isEmpty() )
+            this.mergePrefix = "/";
+        else
+            this.mergePrefix = basePath.substring(0, basePath.lastIndexOf('/')+1);
+        this.mergePrefixHasDots = hasDotSegment(mergePrefix);
+        this.cache = ( cacheSize > 0 ) ? new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IRI3986> eldest) {
+                return size() > cacheSize;
+            }
+        } : null;
+    }
+
+    /** The base IRI. */
+    public IRI3986 base() {
+        return base;
+    }
+
+    /**
+     * Parse a reference and resolve it against the base. This throws
+     * {@link IRIParseException} if the string is not a valid IRI.
+     * <p>
+     * If the resolver has a cache, the result is cached.
+     */
+    public IRI3986 resolve(String reference) {
+        if ( cache == null )
+            return resolve(IRI3986.create(reference));
+        synchronized(cache) {
+            IRI3986 iri = cache.get(reference);
+            if ( iri != null )
+                return iri;
+        }
+        IRI3986 iri = resolve(IRI3986.create(reference));
+        synchronized(cache) {
+            cache.putIfAbsent(reference, iri);
+        }
+        return iri;
+    }
+
+    /** Resolve a reference against the base. */
+    public IRI3986 resolve(IRI3986 reference) {
+        // RFC 3986 5.2.2. Transform References, "non-strict" as IRI3986.resolve.
+        // A reference with a different scheme, or with an authority, does not use the base path.
+        if ( reference.hasAuthority() || ( reference.hasScheme() && ! Objects.equals(reference.scheme(), baseScheme) ) )
+            return base.resolve(reference);
+
+        String refPath = reference.path();
+        String path;
+        String query;
+        if ( refPath.isEmpty() ) {
+            path = basePath;
+            query = reference.hasQuery() ? reference.query() : baseQuery;
+        } else {
+            if ( refPath.charAt(0) == '/' )
+                path = removeDotSegments(refPath, false);
+            else
+                path = removeDotSegments(mergePrefix+refPath, mergePrefixHasDots);
+            query = reference.query();
+        }
+        String fragment = reference.fragment();
+        return IRI3986.assemble(baseScheme, baseAuthority, path, query, fragment).schemeSpecificRulesInternal();
+    }
+
+    /** Number of entries in the cache. */
+    public int cacheSize() {
+        if ( cache == null )
+            return 0;
+        synchronized(cache) {
+            return cache.size();
+        }
+    }
+
+    // Only call the general remove_dot_segments if it may change the path.
+    private static String removeDotSegments(String path, boolean hasDots) {
+        if ( !hasDots && !hasDotSegment(path) && !path.endsWith("//") )
+            return path;
+        return AlgResolveIRI.remove_dot_segments(path);
+    }
+
+    /** Whether a path has a segment that is "." or "..". */
+    private static boolean hasDotSegment(String path) {
+        int idx = path.indexOf('.');
+        while ( idx >= 0 ) {
+            boolean startSegment = ( idx == 0 || path.charAt(idx-1) == '/' );
+            if ( startSegment ) {
+                int end = idx+1;
+                if ( end < path.length() && path.charAt(end) == '.' )
+                    end++;
+                if ( end == path.length() || path.charAt(end) == '/' )
+                    return true;
+            }
+            idx = path.indexOf('.', idx+1);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "IRIResolver["+base.str()+"]";
+    }
+}
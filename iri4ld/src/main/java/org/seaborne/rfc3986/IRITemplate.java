@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.seaborne.rfc3986.ParseErrorIRI3986.parseError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A template for creating IRIs, such as {@code http://example/{type}/{id}}, where
+ * each {@code {name}} is replaced by a value.
+ * <p>
+ * The template is parsed once. When the template is expanded, only the values are
+ * checked, as valid in the IRI component where they are, and the component offsets
+ * are calculated from the parsed template; the IRI is not parsed again.
+ * The scheme-specific checks are done when the violations of the IRI are first
+ * asked for, as {@link IRI3986#createLazy}.
+ * <p>
+ * Variables may be in the path, the query or the fragment. A value in the path is
+ * one path segment and can not contain "/". A value in the query can not contain
+ * "&amp;", "=", "+" or ";", so it is one name or value of a query string. Values
+ * are not encoded; see {@link PercentEncoding} to encode a string for a component.
+ * Values that are not valid cause {@link IRIParseException}. This includes
+ * values that change the structure of the IRI: a ":" in the first segment of a
+ * template with no scheme, and empty values that would make the path of a
+ * template with no authority start "//".
+ * <p>
+ * This is not an RFC 6570 URI template: the only expression is a variable name
+ * in braces.
+ * <p>
+ * Templates are immutable and can be shared between threads.
+ */
+public class IRITemplate {
+
+    private final String template;
+    // The literal text: one more than the number of variables.
+    private final String[] literals;
+    // The variables, in order.
+    private final String[] names;
+    private final PercentEncoding.Component[] components;
+    // Variables in the first segment of a path with no authority. A value with a
+    // ":" is an error if there is no scheme.
+    private final boolean[] firstSegment;
+    private final boolean hasScheme;
+    // Offsets of the template with each variable replaced by one character.
+    private final int[] offsets;
+    // Index of each variable in the template with each variable replaced by one character.
+    private final int[] positions;
+
+    /**
+     * Create a template. Throw {@link IllegalArgumentException} if the template is not
+     * well-formed, and {@link IRIParseException} if the template, with a value for
+     * each variable, is not a valid IRI.
+     */
+    public static IRITemplate create(String template) {
+        return new IRITemplate(template);
+    }
+
+    private IRITemplate(String template) {
+        this.template = Objects.requireNonNull(template);
+        List<String> literalList = new ArrayList<>();
+        List<String> nameList = new ArrayList<>();
+        int x = 0;
+        while ( true ) {
+            int open = template.indexOf('{', x);
+            int close = template.indexOf('}', x);
+            if ( open < 0 ) {
+                if ( close >= 0 )
+                    throw new IllegalArgumentException("Unmatched '}' in IRI template: "+template);
+                literalList.add(template.substring(x));
+                break;
+            }
+            if ( close >= 0 && close < open )
+                throw new IllegalArgumentException("Unmatched '}' in IRI template: "+template);
+            int next = template.indexOf('{', open+1);
+            if ( close < 0 || ( next >= 0 && next < close ) )
+                throw new IllegalArgumentException("Unclosed '{' in IRI template: "+template);
+            String name = template.substring(open+1, close);
+            if ( !isName(name) )
+                throw new IllegalArgumentException("Bad variable name '"+name+"' in IRI template: "+template);
+            literalList.add(template.substring(x, open));
+            nameList.add(name);
+            x = close+1;
+        }
+        this.literals = literalList.toArray(new String[0]);
+        this.names = nameList.toArray(new String[0]);
+
+        // Parse the template with a placeholder for each variable.
+        int n = names.length;
+        this.positions = new int[n];
+        StringBuilder sb = new StringBuilder(template.length());
+        for ( int i = 0 ; i < n ; i++ ) {
+            sb.append(literals[i]);
+            positions[i] = sb.length();
+            sb.append('x');
+        }
+        sb.append(literals[n]);
+        String skeleton = sb.toString();
+        IRI3986 iri = IRI3986.create(skeleton);
+        this.offsets = iri.offsets();
+        this.hasScheme = iri.hasScheme();
+        this.components = new PercentEncoding.Component[n];
+        this.firstSegment = new boolean[n];
+        int path0 = offsets[10];
+        for ( int i = 0 ; i < n ; i++ ) {
+            int p = positions[i];
+            if ( iri.hasFragment() && p >= offsets[14] )
+                components[i] = PercentEncoding.Component.FRAGMENT;
+            else if ( iri.hasQuery() && p >= offsets[12] && p < offsets[13] )
+                components[i] = PercentEncoding.Component.QUERY_PARAM;
+            else if ( path0 >= 0 && p >= path0 && p < offsets[11] )
+                components[i] = PercentEncoding.Component.PATH_SEGMENT;
+            else
+                throw new IllegalArgumentException("Variable {"+names[i]+"} is not in the path, query or fragment of IRI template: "+template);
+            if ( components[i] == PercentEncoding.Component.PATH_SEGMENT && !iri.hasAuthority() )
+                // No "/" in the path before the variable, other than a leading "/".
+                firstSegment[i] = skeleton.lastIndexOf('/', p-1) <= path0;
+        }
+    }
+
+    private static boolean isName(String name) {
+        if ( name.isEmpty() )
+            return false;
+        for ( int i = 0 ; i < name.length() ; i++ ) {
+            char ch = name.charAt(i);
+            if ( !Chars3986.isAlphaNum(ch) && ch != '_' )
+                return false;
+        }
+        return true;
+    }
+
+    /** The variable names, in the order they appear in the template. */
+    public List<String> variables() {
+        return Collections.unmodifiableList(List.of(names));
+    }
+
+    /**
+     * Create an IRI, with the values for the variables in the order they appear in
+     * the template.
+     */
+    public IRI3986 expand(String... values) {
+        if ( values.length != names.length )
+            throw new IllegalArgumentException("Expected "+names.length+" values, got "+values.length+": "+template);
+        return build(values);
+    }
+
+    /** Create an IRI, with the values for the variables from a map. */
+    public IRI3986 expand(Map<String, String> values) {
+        String[] array = new String[names.length];
+        for ( int i = 0 ; i < names.length ; i++ ) {
+            String v = values.get(names[i]);
+            if ( v == null )
+                throw new IllegalArgumentException("No value for variable {"+names[i]+"}: "+template);
+            array[i] = v;
+        }
+        return build(array);
+    }
+
+    private IRI3986 build(String[] values) {
+        int len = template.length();
+        for ( int i = 0 ; i < values.length ; i++ )
+            len += values[i].length();
+        StringBuilder sb = new StringBuilder(len);
+        for ( int i = 0 ; i < values.length ; i++ ) {
+            String v = Objects.requireNonNull(values[i]);
+            IRI3986.checkComponent(v, components[i], componentLabel(components[i]));
+            if ( firstSegment[i] && !hasScheme && v.indexOf(':') >= 0 )
+                throw parseError(v, "':' in initial segment of a scheme-less IRI");
+            sb.append(literals[i]).append(v);
+        }
+        sb.append(literals[values.length]);
+        String s = sb.toString();
+
+        // Offsets: each variable after the start of a component moves the offset by
+        // the length of the value, less one for the placeholder.
+        int[] iriOffsets = offsets.clone();
+        for ( int k = 0 ; k < iriOffsets.length ; k++ ) {
+            int offset = offsets[k];
+            if ( offset < 0 )
+                continue;
+            int shift = 0;
+            for ( int i = 0 ; i < positions.length && positions[i] < offset ; i++ )
+                shift += values[i].length()-1;
+            iriOffsets[k] = offset+shift;
+        }
+        int path0 = iriOffsets[10];
+        int path1 = iriOffsets[11];
+        if ( path0 >= 0 ) {
+            if ( path0 == path1 ) {
+                // Empty values make the path empty.
+                iriOffsets[10] = -1;
+                iriOffsets[11] = -1;
+            } else if ( offsets[2] < 0 && path1-path0 >= 2 && s.charAt(path0) == '/' && s.charAt(path0+1) == '/' ) {
+                // Empty values make the path start "//" which would be an authority.
+                throw parseError(s, path0+2, "Path starts with '//' in an IRI with no authority");
+            }
+        }
+        return IRI3986.fromOffsets(s, iriOffsets, null);
+    }
+
+    private static String componentLabel(PercentEncoding.Component component) {
+        return switch (component) {
+            case PATH_SEGMENT -> "path segment";
+            case QUERY_PARAM ->  "query";
+            case FRAGMENT ->     "fragment";
+            default ->           component.toString();
+        };
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Check strings against the RFC 3986/3987 IRI grammar without creating an
+ * {@link IRI3986}.
+ * <p>
+ * {@link #check(CharSequence)} follows the same grammar as
+ * {@link IRI3986#create(String)} but does not allocate any objects and does not
+ * throw an exception if the IRI is invalid; it returns the index of the first
+ * character in error, or {@link #VALID}.
+ * <p>
+ * {@link #issues(CharSequence)} additionally applies the scheme-specific checks and
+ * returns the issues found as a bit set, without creating {@link Violation}
+ * objects.
+ */
+public class IRIValidator {
+
+    /** Return value of {@link #check} for a valid IRI. */
+    public static final int VALID = -1;
+
+    private IRIValidator() {}
+
+    /** Return true if the characters are a valid IRI by the RFC 3986/3987 grammar. */
+    public static boolean isValid(CharSequence chars) {
+        return check(chars) == VALID;
+    }
+
+    /**
+     * Check the characters against the RFC 3986/3987 grammar. Return {@link #VALID}
+     * or the index of the first character in error.
+     */
+    public static int check(CharSequence chars) {
+        return check(chars, 0, chars.length());
+    }
+
+    /**
+     * Check the characters {@code chars[start]} to {@code chars[end-1]} against the
+     * RFC 3986/3987 grammar. Return {@link #VALID} or the index in {@code chars} of
+     * the first character in error.
+     */
+    public static int check(CharSequence chars, int start, int end) {
+        Objects.checkFromToIndex(start, end, chars.length());
+        int x = schemeEnd(chars, start, end);
+        int p;
+        if ( x > start ) {
+            p = hierPart(chars, x+1, end, true);
+        } else {
+            // A URI without a scheme can't start with a ':'
+            if ( charAt(chars, start, end) == ':' )
+                return start;
+            p = hierPart(chars, start, end, false);
+        }
+        if ( p < 0 )
+            return errorPosn(p);
+        if ( p != end )
+            // Bad character in path, query or fragment.
+            return p;
+        return VALID;
+    }
+
+    /**
+     * Return the error message for characters that are not a valid IRI, or null if the characters are valid.
+     * This is the message of the {@link IRIParseException} that {@link IRI3986#create(String)} throws.
+     */
+    public static String errorMessage(CharSequence chars) {
+        if ( check(chars) == VALID )
+            return null;
+        try {
+            IRI3986.checkSyntax(chars.toString());
+        } catch (IRIParseException ex) {
+            return ex.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * Check the characters against the RFC 3986/3987 grammar and the scheme-specific
+     * rules. Return a bit set of the issues found, as {@code 1L<<issue.ordinal()}; 0
+     * means no issues. An IRI that does not match the grammar has the
+     * {@link Issue#ParseError} bit set and is not checked further.
+     * <p>
+     * This creates an {@link IRI3986} (but not any {@link Violation}s) for an IRI that
+     * is valid by the grammar.
+     */
+    public static long issues(CharSequence chars) {
+        if ( check(chars) != VALID )
+            return bit(Issue.ParseError);
+        IRI3986 iri = IRI3986.createSyntax(chars, 0, chars.length());
+        IssueBits bits = new IssueBits();
+        iri.schemeChecks(bits);
+        return bits.bits;
+    }
+
+    /** Test whether an issue is in the bit set returned by {@link #issues(CharSequence)}. */
+    public static boolean hasIssue(long issues, Issue issue) {
+        return ( issues & bit(issue) ) != 0;
+    }
+
+    /** Convert a bit set returned by {@link #issues(CharSequence)} to a set of {@link Issue}s. */
+    public static Set<Issue> issueSet(long issues) {
+        Set<Issue> set = EnumSet.noneOf(Issue.class);
+        for ( Issue issue : Issue.values() ) {
+            if ( hasIssue(issues, issue) )
+                set.add(issue);
+        }
+        return set;
+    }
+
+    private static long bit(Issue issue) {
+        return 1L << issue.ordinal();
+    }
+
+    private static class IssueBits implements ViolationSink {
+        long bits = 0;
+        @Override
+        public void violation(Issue issue, URIScheme scheme, int offset) {
+            bits |= bit(issue);
+        }
+    }
+
+    // ---- The grammar, following the parser in IRI3986.
+    // Functions return the index after the part of the grammar matched,
+    // or, if there is an error, an encoded error position (a negative number).
+
+    // Error positions are encoded as -(posn+2) so they are less than -1 (VALID).
+    private static int errorAt(int posn) {
+        return -posn-2;
+    }
+
+    private static int errorPosn(int x) {
+        return -x-2;
+    }
+
+    // scheme = ALPHA *( ALPHA / DIGIT / "+" / "-" / "." )
+    // Return the index of the ':' or -1.
+    private static int schemeEnd(CharSequence chars, int start, int end) {
+        int p = start;
+        while (p < end) {
+            char c = chars.charAt(p);
+            if ( c == ':' )
+                return p;
+            if ( !Chars3986.isAlpha(c) ) {
+                if ( p == start )
+                    return -1;
+                if ( !Chars3986.isSchemeChar(c) )
+                    return -1;
+            }
+            p++;
+        }
+        return -1;
+    }
+
+    private static int hierPart(CharSequence chars, int start, int end, boolean withScheme) {
+        int p = start;
+        if ( charAt(chars, p, end) == '/' && charAt(chars, p+1, end) == '/' ) {
+            p = authority(chars, p+2, end);
+            if ( p < 0 )
+                return p;
+        }
+        p = path(chars, p, end, withScheme);
+        if ( p < 0 )
+            return p;
+        p = trailer(chars, '?', p, end, true);
+        if ( p < 0 )
+            return p;
+        p = trailer(chars, '#', p, end, false);
+        return p;
+    }
+
+    private static int authority(CharSequence chars, int start, int end) {
+        int p = start;
+        int endUserInfo = -1;
+        int lastColon = -1;
+        int countColon = 0;
+        int startIPv6 = -1;
+        int endIPv6 = -1;
+
+        while (p < end) {
+            char ch = chars.charAt(p);
+            if ( ch == ':' ) {
+                countColon++;
+                lastColon = p;
+            } else if ( ch == '/' ) {
+                if ( startIPv6 >= 0 && endIPv6 == -1 )
+                    return errorAt(p);
+                break;
+            } else if ( ch == '@' ) {
+                if ( endUserInfo != -1 )
+                    return errorAt(p);
+                if ( startIPv6 != -1 || endIPv6 != -1 )
+                    return errorAt(p);
+                endUserInfo = p;
+                countColon = 0;
+                lastColon = -1;
+            } else if ( ch == '[' ) {
+                if ( startIPv6 >= 0 )
+                    return errorAt(p);
+                startIPv6 = p;
+            } else if ( ch == ']' ) {
+                if ( startIPv6 == -1 )
+                    return errorAt(p);
+                if ( endIPv6 >= 0 )
+                    return errorAt(p);
+                endIPv6 = p;
+                countColon = 0;
+                lastColon = -1;
+            } else {
+                int len = ipcharLen(chars, ch, p, end);
+                if ( len == 0 )
+                    return errorAt(p);
+                if ( len < 0 )
+                    break;
+                // As the parser, step over the '%' only.
+            }
+            p++;
+        }
+
+        if ( startIPv6 != -1 ) {
+            if ( endIPv6 == -1 )
+                return errorAt(startIPv6);
+            try {
+                ParseIPv6Address.checkIPv6(chars, startIPv6, endIPv6 + 1);
+            } catch (IRIParseException ex) {
+                // Only on the error path.
+                return errorAt(startIPv6);
+            }
+        }
+
+        if ( endUserInfo != -1 && lastColon != -1 && lastColon < endUserInfo )
+            lastColon = -1;
+        if ( countColon > 1 )
+            return errorAt(lastColon);
+        if ( lastColon != -1 ) {
+            for ( int x = lastColon+1 ; x < p ; x++ ) {
+                if ( !Chars3986.isDigit(chars.charAt(x)) )
+                    return errorAt(x);
+            }
+        }
+        return p;
+    }
+
+    private static int path(CharSequence chars, int start, int end, boolean withScheme) {
+        int p = start;
+        boolean allowColon = withScheme;
+        while (p < end) {
+            if ( allowColon ) {
+                p = Chars3986.skipPathRun(chars, p, end);
+                if ( p >= end )
+                    break;
+            }
+            char ch = chars.charAt(p);
+            int len = ipcharLen(chars, ch, p, end);
+            if ( len == 0 )
+                return errorAt(p);
+            if ( len > 0 ) {
+                // segment-nz-nc
+                if ( !allowColon && ch == ':' )
+                    return errorAt(p);
+                p += len;
+                continue;
+            }
+            if ( ch != '/' ) {
+                if ( ch == '?' || ch == '#' )
+                    break;
+                return errorAt(p);
+            }
+            allowColon = true;
+            p++;
+        }
+        return p;
+    }
+
+    private static int trailer(CharSequence chars, char startChar, int start, int end, boolean allowPrivate) {
+        if ( start >= end || chars.charAt(start) != startChar )
+            return start;
+        int p = start + 1;
+        while (p < end) {
+            p = Chars3986.skipQueryRun(chars, p, end);
+            if ( p >= end )
+                break;
+            char ch = chars.charAt(p);
+            int len = ipcharLen(chars, ch, p, end);
+            if ( len == 0 )
+                return errorAt(p);
+            if ( len > 0 ) {
+                p += len;
+                continue;
+            }
+            if ( ch == '/' || ch == '?' ) {
+                p++;
+                continue;
+            }
+            if ( allowPrivate && Chars3986.isIPrivate(ch) ) {
+                p++;
+                continue;
+            }
+            return p;
+        }
+        return p;
+    }
+
+    /**
+     * Length of the ipchar at {@code posn}: 1, or 3 for percent-encoding. Return 0
+     * for bad percent-encoding, -1 for not an ipchar.
+     */
+    private static int ipcharLen(CharSequence chars, char ch, int posn, int end) {
+        if ( Chars3986.isIPCharNoPct(ch) )
+            return 1;
+        if ( ch != '%' )
+            return -1;
+        if ( Chars3986.isHexDigit(charAt(chars, posn+1, end)) && Chars3986.isHexDigit(charAt(chars, posn+2, end)) )
+            return 3;
+        return 0;
+    }
+
+    private static char charAt(CharSequence chars, int x, int end) {
+        if ( x >= end )
+            return Chars3986.EOF;
+        return chars.charAt(x);
+    }
+}
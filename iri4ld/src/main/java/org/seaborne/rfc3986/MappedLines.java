@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The lines of a UTF-8 file, read by memory-mapping the file. Lines end with "\n" or
+ * "\r\n". The file is mapped in windows, so files larger than 2G bytes can be read.
+ * <p>
+ * {@link #trySplit} splits at a line boundary and returns the first part of the
+ * lines, as {@link BulkValidation} requires.
+ */
+class MappedLines implements Spliterator<String> {
+
+    // Size of the part of the file mapped at one time.
+    private static final long WINDOW = 1L << 28;
+    // Do not split smaller than this.
+    private static final long MIN_SPLIT = 1L << 16;
+    // For estimateSize.
+    private static final int AVERAGE_LINE = 64;
+
+    private final FileChannel channel;
+    private final long windowSize;
+    // Start of the next line.
+    private long position;
+    // End of the lines; a line start or the end of the file.
+    private final long end;
+
+    private MappedByteBuffer window = null;
+    private long windowStart = 0;
+    private byte[] bytes = new byte[256];
+
+    /** The lines of the file of the channel. */
+    MappedLines(FileChannel channel) throws IOException {
+        this(channel, WINDOW);
+    }
+
+    /** The lines of the file of the channel, mapping {@code windowSize} bytes at a time. */
+    MappedLines(FileChannel channel, long windowSize) throws IOException {
+        this(channel, windowSize, 0, channel.size());
+    }
+
+    private MappedLines(FileChannel channel, long windowSize, long start, long end) {
+        if ( windowSize <= 0 )
+            throw new IllegalArgumentException("Window size must be positive: "+windowSize);
+        this.channel = channel;
+        this.windowSize = windowSize;
+        this.position = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        if ( position >= end )
+            return false;
+        try {
+            action.accept(nextLine());
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String nextLine() throws IOException {
+        long windowSize = this.windowSize;
+        for ( ;; ) {
+            if ( window == null || position < windowStart || position >= windowStart + window.limit() ) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(windowSize, end - windowStart));
+            }
+            int start = (int)(position - windowStart);
+            int limit = window.limit();
+            int x = start;
+            while ( x < limit && window.get(x) != '\n' )
+                x++;
+            if ( x == limit && windowStart + limit < end ) {
+                // The line continues after the window: map again, from the start of the line.
+                if ( start == 0 )
+                    windowSize = Math.min(2 * windowSize, Integer.MAX_VALUE);
+                window = null;
+                continue;
+            }
+            position = windowStart + x + 1;
+            int lineEnd = x;
+            if ( lineEnd > start && window.get(lineEnd - 1) == '\r' )
+                lineEnd--;
+            int len = lineEnd - start;
+            if ( len > bytes.length )
+                bytes = new byte[Math.max(len, 2 * bytes.length)];
+            window.get(start, bytes, 0, len);
+            return new String(bytes, 0, len, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        if ( end - position < MIN_SPLIT )
+            return null;
+        try {
+            long mid = lineStart(position + (end - position) / 2);
+            if ( mid >= end )
+                return null;
+            MappedLines prefix = new MappedLines(channel, windowSize, position, mid);
+            position = mid;
+            window = null;
+            return prefix;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** The start of the first line at or after {@code x}. */
+    private long lineStart(long x) throws IOException {
+        ByteBuffer bb = ByteBuffer.allocate(8192);
+        long posn = x - 1;
+        while ( posn < end ) {
+            bb.clear();
+            int n = channel.read(bb, posn);
+            if ( n <= 0 )
+                return end;
+            for ( int i = 0 ; i < n ; i++ ) {
+                if ( bb.get(i) == '\n' )
+                    return posn + i + 1;
+            }
+            posn += n;
+        }
+        return end;
+    }
+
+    @Override
+    public long estimateSize() {
+        return (end - position) / AVERAGE_LINE + 1;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+}
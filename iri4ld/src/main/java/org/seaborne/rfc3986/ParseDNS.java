@@ -192,10 +192,10 @@ public class ParseDNS {
     }
 
     private boolean i_letter(char ch, int x) {
-        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || Chars3986.isUcsChar(ch) || Chars3986.isPctEncoded(ch, string, x);
+        return Chars3986.isAlpha(ch) || Chars3986.isUcsChar(ch) || Chars3986.isPctEncoded(ch, string, x);
     }
 
     private static boolean digit(char ch) {
-        return (ch >= '0' && ch <= '9');
+        return Chars3986.isDigit(ch);
     }
 }
@@ -19,7 +19,6 @@
 package org.seaborne.rfc3986;
 
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 /**
  * <a href="https://datatracker.ietf.org/doc/html/rfc3061">RFC 3061</a>
@@ -42,27 +41,57 @@ public class ParseOID {
     // and some (often non-URN) uses of OID may restrict size and length:
     //   ^([1-9][0-9]{0,3}|0)(\.([1-9][0-9]{0,3}|0)){5,13}$
 
-    private static final String NUM = "(0|[1-9][0-9]*)";
-    // Checks both correct "urn:oid:" and incorrect "oid:".
-    private static final String OID_URN = "^(?:urn:oid|oid):"+NUM+"(\\."+NUM+")*$";
-    private static final Pattern OID_URN_RE = Pattern.compile(OID_URN, Pattern.CASE_INSENSITIVE);
+    // The grammar, as a regular expression, checking both correct "urn:oid:" and incorrect "oid:".
+    //   ^(?:urn:oid|oid):(0|[1-9][0-9]*)(\.(0|[1-9][0-9]*))*$  (case insensitive)
 
-    // Where * is {0,3}
+    private static final char[] URN_OID_PREFIX = "urn:oid:".toCharArray();
+    private static final char[] OID_PREFIX = "oid:".toCharArray();
 
     private static final int pathOffset = "urn:".length();
 
+    /** Check the string is "urn:oid:" or "oid:" followed by an OID. */
     public static void check(String string) {
-        parse(string);
+        Objects.requireNonNull(string);
+        if ( ! isOID(string) )
+            throw new OIDParseException(string, "Not a match");
     }
 
     public static IRI3986 parse(String string) {
-        Objects.requireNonNull(string);
-        if ( ! OID_URN_RE.matcher(string).matches() )
-            throw new OIDParseException(string, "Not a match");
+        check(string);
         IRI3986 iri = IRI3986.build("urn", null,  string.substring(pathOffset), null, null);
         return iri;
     }
 
+    /*package*/ static boolean isOID(String string) {
+        int x;
+        if ( LibParseIRI.containsAtIgnoreCase(string, 0, URN_OID_PREFIX) )
+            x = URN_OID_PREFIX.length;
+        else if ( LibParseIRI.containsAtIgnoreCase(string, 0, OID_PREFIX) )
+            x = OID_PREFIX.length;
+        else
+            return false;
+        int len = string.length();
+        for ( ;; ) {
+            // number = DIGIT / ( LEADDIGIT 1*DIGIT )
+            if ( x >= len )
+                return false;
+            char ch = string.charAt(x);
+            if ( ch == '0' )
+                x++;
+            else if ( Chars3986.range(ch, '1', '9') ) {
+                x++;
+                while ( x < len && Chars3986.range(string.charAt(x), '0', '9') )
+                    x++;
+            } else
+                return false;
+            if ( x == len )
+                return true;
+            if ( string.charAt(x) != '.' )
+                return false;
+            x++;
+        }
+    }
+
     static class OIDParseException extends IRIParseException {
         OIDParseException(String entity, String msg) { super(entity, msg); }
     }
@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.seaborne.rfc3986.ParseErrorIRI3986.parseError;
+
+/**
+ * Percent-encoding and decoding of IRI components.
+ * <p>
+ * Encoding is for a component: the characters that are legal in the component
+ * (RFC 3986 section 3, RFC 3987 section 2.2) are kept and other characters are
+ * written as the percent-encoding of their UTF-8 octets. "%" is always encoded.
+ * {@link #encode} keeps the non-ASCII characters allowed in an IRI;
+ * {@link #encodeURI} encodes all non-ASCII characters, giving a URI component.
+ * <p>
+ * Decoding replaces each percent-encoded sequence of UTF-8 octets by the
+ * characters it encodes. Octets that are not valid UTF-8 become U+FFFD. Unlike
+ * {@link java.net.URLDecoder}, "+" is not decoded to a space.
+ * <p>
+ * If there is nothing to encode or decode, the string operations return the input
+ * string and do not create any objects. The {@link StringBuilder} operations append
+ * to a buffer supplied by the caller.
+ */
+public class PercentEncoding {
+
+    /** Components, by the characters that are kept when encoding. */
+    public enum Component {
+        // iuserinfo = *( iunreserved / pct-encoded / sub-delims / ":" )
+        USERINFO(":", ""),
+        // isegment = *ipchar
+        // ipchar = iunreserved / pct-encoded / sub-delims / ":" / "@"
+        PATH_SEGMENT(":@", ""),
+        // A path of segments, "/" is kept.
+        PATH(":@/", ""),
+        // iquery = *( ipchar / iprivate / "/" / "?" )
+        QUERY(":@/?", ""),
+        // A name or value in a query string of "name=value" pairs: as QUERY except
+        // "&", "=", "+" and ";" are encoded.
+        QUERY_PARAM(":@/?", "&=+;"),
+        // ifragment = *( ipchar / "/" / "?" )
+        FRAGMENT(":@/?", "")
+        ;
+
+        // ASCII characters that are kept: bits for 0-63 and 64-127.
+        private final long keep0;
+        private final long keep1;
+
+        private Component(String extraChars, String excludedChars) {
+            long k0 = 0;
+            long k1 = 0;
+            for ( char ch = 0 ; ch < 128 ; ch++ ) {
+                boolean keep = Chars3986.unreserved(ch) || Chars3986.subDelims(ch) || extraChars.indexOf(ch) >= 0;
+                if ( !keep || excludedChars.indexOf(ch) >= 0 )
+                    continue;
+                if ( ch < 64 )
+                    k0 |= 1L << ch;
+                else
+                    k1 |= 1L << (ch-64);
+            }
+            this.keep0 = k0;
+            this.keep1 = k1;
+        }
+
+        private boolean keepASCII(char ch) {
+            return ( ch < 64 ) ? ((keep0 >>> ch) & 1) != 0 : ((keep1 >>> (ch-64)) & 1) != 0;
+        }
+    }
+
+    private static final char[] hexUC = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Encode a string for use as an IRI component. Non-ASCII characters allowed in
+     * the component are not encoded. Return the string itself if no characters need
+     * encoding.
+     */
+    public static String encode(String string, Component component) {
+        return encode(string, component, true);
+    }
+
+    /**
+     * Encode a string for use as a URI component. All non-ASCII characters are
+     * encoded. Return the string itself if no characters need encoding.
+     */
+    public static String encodeURI(String string, Component component) {
+        return encode(string, component, false);
+    }
+
+    private static String encode(String string, Component component, boolean iri) {
+        int x = firstToEncode(string, 0, string.length(), component, iri);
+        if ( x == string.length() )
+            return string;
+        StringBuilder sb = new StringBuilder(string.length()+16);
+        sb.append(string, 0, x);
+        encodeFrom(string, x, string.length(), component, iri, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Encode the characters {@code chars[start]} to {@code chars[end-1]} for use as
+     * an IRI component, appending to the {@link StringBuilder}.
+     */
+    public static StringBuilder encode(CharSequence chars, int start, int end, Component component, StringBuilder output) {
+        int x = firstToEncode(chars, start, end, component, true);
+        output.append(chars, start, x);
+        encodeFrom(chars, x, end, component, true, output);
+        return output;
+    }
+
+    /**
+     * Encode the characters {@code chars[start]} to {@code chars[end-1]} for use as
+     * a URI component, appending to the {@link StringBuilder}.
+     */
+    public static StringBuilder encodeURI(CharSequence chars, int start, int end, Component component, StringBuilder output) {
+        int x = firstToEncode(chars, start, end, component, false);
+        output.append(chars, start, x);
+        encodeFrom(chars, x, end, component, false, output);
+        return output;
+    }
+
+    /** Return true if the string is legal in the IRI component without encoding any characters. */
+    public static boolean isEncoded(String string, Component component) {
+        return firstToEncode(string, 0, string.length(), component, true) == string.length();
+    }
+
+    /**
+     * Return the index of the first character, from {@code start}, that is not legal
+     * in the IRI component, or {@code end} if all the characters are legal. A "%"
+     * must be followed by two hex digits.
+     */
+    /*package*/ static int firstInvalid(CharSequence chars, int start, int end, Component component) {
+        int i = start;
+        while ( i < end ) {
+            i = firstToEncode(chars, i, end, component, true);
+            if ( i == end )
+                return end;
+            if ( chars.charAt(i) != '%' || i+2 >= end
+                 || !Chars3986.isHexDigit(chars.charAt(i+1)) || !Chars3986.isHexDigit(chars.charAt(i+2)) )
+                return i;
+            i += 3;
+        }
+        return end;
+    }
+
+    // The index of the first character that needs encoding, or end.
+    private static int firstToEncode(CharSequence chars, int start, int end, Component component, boolean iri) {
+        for ( int i = start ; i < end ; i++ ) {
+            char ch = chars.charAt(i);
+            if ( ch < 0x80 ) {
+                if ( !component.keepASCII(ch) )
+                    return i;
+                continue;
+            }
+            if ( !iri )
+                return i;
+            int cp = Character.codePointAt(chars, i);
+            if ( !keepNonASCII(cp, component) )
+                return i;
+            if ( cp > 0xFFFF )
+                i++;
+        }
+        return end;
+    }
+
+    private static boolean keepNonASCII(int cp, Component component) {
+        if ( cp <= 0xFFFF && Character.isSurrogate((char)cp) )
+            // Unpaired surrogate.
+            return false;
+        if ( Chars3986.int_isUcsChar(cp) )
+            return true;
+        return ( component == Component.QUERY || component == Component.QUERY_PARAM ) && Chars3986.int_isIPrivate(cp);
+    }
+
+    private static void encodeFrom(CharSequence chars, int start, int end, Component component, boolean iri, StringBuilder sb) {
+        for ( int i = start ; i < end ; i++ ) {
+            char ch = chars.charAt(i);
+            if ( ch < 0x80 ) {
+                if ( component.keepASCII(ch) )
+                    sb.append(ch);
+                else
+                    appendPct(sb, ch);
+                continue;
+            }
+            int cp = Character.codePointAt(chars, i);
+            if ( cp > 0xFFFF )
+                i++;
+            if ( iri && keepNonASCII(cp, component) ) {
+                sb.appendCodePoint(cp);
+                continue;
+            }
+            appendUTF8(sb, cp);
+        }
+    }
+
+    /**
+     * Append the percent-encoded UTF-8 octets of a non-ASCII code point. An unpaired
+     * surrogate is encoded as U+FFFD.
+     */
+    /*package*/ static void appendUTF8(StringBuilder sb, int cp) {
+        if ( cp <= 0xFFFF && Character.isSurrogate((char)cp) )
+            cp = 0xFFFD;
+        if ( cp < 0x800 ) {
+            appendPct(sb, 0xC0 | (cp >> 6));
+        } else if ( cp < 0x10000 ) {
+            appendPct(sb, 0xE0 | (cp >> 12));
+            appendPct(sb, 0x80 | ((cp >> 6) & 0x3F));
+        } else {
+            appendPct(sb, 0xF0 | (cp >> 18));
+            appendPct(sb, 0x80 | ((cp >> 12) & 0x3F));
+            appendPct(sb, 0x80 | ((cp >> 6) & 0x3F));
+        }
+        appendPct(sb, 0x80 | (cp & 0x3F));
+    }
+
+    private static void appendPct(StringBuilder sb, int octet) {
+        sb.append('%').append(hexUC[octet >> 4]).append(hexUC[octet & 0xF]);
+    }
+
+    /**
+     * Decode the percent-encoded sequences of a string. Return the string itself if
+     * it does not contain "%". Throws {@link IRIParseException} if a "%" is not
+     * followed by two hex digits.
+     */
+    public static String decode(String string) {
+        int x = string.indexOf('%');
+        if ( x < 0 )
+            return string;
+        StringBuilder sb = new StringBuilder(string.length());
+        sb.append(string, 0, x);
+        decodeFrom(string, x, string.length(), sb);
+        return sb.toString();
+    }
+
+    /**
+     * Decode the percent-encoded sequences of the characters {@code chars[start]} to
+     * {@code chars[end-1]}, appending to the {@link StringBuilder}.
+     */
+    public static StringBuilder decode(CharSequence chars, int start, int end, StringBuilder output) {
+        decodeFrom(chars, start, end, output);
+        return output;
+    }
+
+    private static void decodeFrom(CharSequence chars, int start, int end, StringBuilder sb) {
+        int i = start;
+        while ( i < end ) {
+            char ch = chars.charAt(i);
+            if ( ch != '%' ) {
+                sb.append(ch);
+                i++;
+                continue;
+            }
+            int b = octet(chars, i, end);
+            if ( b < 0x80 ) {
+                sb.append((char)b);
+                i += 3;
+                continue;
+            }
+            int cp = codePointUTF8(chars, i, end);
+            if ( cp < 0 ) {
+                // Replace the lead octet; continue after it.
+                sb.append('\uFFFD');
+                i += 3;
+                continue;
+            }
+            sb.appendCodePoint(cp);
+            i += 3*lengthUTF8(cp);
+        }
+    }
+
+    /**
+     * The code point of the percent-encoded UTF-8 octets starting at {@code x}, or -1
+     * if the octets are not the UTF-8 encoding of a code point. The number of octets
+     * is {@link #lengthUTF8}.
+     */
+    /*package*/ static int codePointUTF8(CharSequence chars, int x, int end) {
+        int b = octet(chars, x, end);
+        // UTF-8 lead octet: number of continuation octets and the minimum code point.
+        int n;
+        int cp;
+        int min;
+        if ( (b & 0xE0) == 0xC0 ) {
+            n = 1; cp = b & 0x1F; min = 0x80;
+        } else if ( (b & 0xF0) == 0xE0 ) {
+            n = 2; cp = b & 0x0F; min = 0x800;
+        } else if ( (b & 0xF8) == 0xF0 ) {
+            n = 3; cp = b & 0x07; min = 0x10000;
+        } else {
+            return -1;
+        }
+        int j = x+3;
+        for ( int k = 0 ; k < n ; k++ ) {
+            if ( j >= end || chars.charAt(j) != '%' )
+                return -1;
+            int c = octet(chars, j, end);
+            if ( (c & 0xC0) != 0x80 )
+                return -1;
+            cp = (cp << 6) | (c & 0x3F);
+            j += 3;
+        }
+        if ( cp < min || cp > 0x10FFFF || (cp >= 0xD800 && cp <= 0xDFFF) )
+            return -1;
+        return cp;
+    }
+
+    /** The number of UTF-8 octets for a code point. */
+    /*package*/ static int lengthUTF8(int cp) {
+        if ( cp < 0x80 )
+            return 1;
+        if ( cp < 0x800 )
+            return 2;
+        return ( cp < 0x10000 ) ? 3 : 4;
+    }
+
+    // The octet of the percent-encoding at x.
+    private static int octet(CharSequence chars, int x, int end) {
+        if ( x+2 >= end )
+            throw parseError(chars, x, "Incomplete %-encoded character");
+        int h1 = Chars3986.hexValue(chars.charAt(x+1));
+        int h2 = Chars3986.hexValue(chars.charAt(x+2));
+        if ( h1 < 0 || h2 < 0 )
+            throw parseError(chars, x, "Bad %-encoded character");
+        return h1*16 + h2;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A fixed set of prefix to namespace mappings, compiled for abbreviating IRIs to
+ * Turtle and SPARQL prefixed names, and for expanding prefixed names to IRIs.
+ * <p>
+ * The namespaces are held in a trie so that {@link #abbreviate(String)} finds the
+ * longest namespace that is a prefix of an IRI, and leaves a valid local name, in
+ * time proportional to the length of the IRI. Local names are PN_LOCAL without
+ * escapes.
+ * <p>
+ * If more than one prefix has the same namespace, the first one in the map given to
+ * {@link #create} is used for abbreviating.
+ * <p>
+ * The namespaces are parsed once, when the {@code PrefixMap} is created. Expanding a
+ * prefixed name with {@link #expand(String)} parses only the local name, and builds
+ * the {@link IRI3986} using the component offsets of the namespace. The result is
+ * the same as {@link IRI3986#create(String)} of the namespace followed by the local
+ * name.
+ * <p>
+ * A {@code PrefixMap} is immutable and safe to use from multiple threads.
+ */
+public final class PrefixMap {
+
+    private final Map<String, String> prefixes;
+    // Parsed namespaces. Not present if the namespace is not a valid IRI.
+    private final Map<String, IRI3986> namespaceIRIs = new HashMap<>();
+    private final Node root = new Node();
+
+    /**
+     * Create a {@code PrefixMap} from a map of prefix to namespace. Prefixes are
+     * written without the ":". Throw {@link IllegalArgumentException} if a prefix is
+     * not a valid PN_PREFIX.
+     */
+    public static PrefixMap create(Map<String, String> prefixes) {
+        return new PrefixMap(prefixes);
+    }
+
+    private PrefixMap(Map<String, String> prefixes) {
+        Map<String, String> map = new LinkedHashMap<>();
+        prefixes.forEach((prefix, namespace) -> {
+            Objects.requireNonNull(prefix, "prefix");
+            Objects.requireNonNull(namespace, "namespace");
+            if ( !isPNPrefix(prefix) )
+                throw new IllegalArgumentException("Not a valid prefix: '"+prefix+"'");
+            map.put(prefix, namespace);
+            try {
+                namespaceIRIs.put(prefix, IRI3986.createLazy(namespace));
+            } catch (IRIParseException ex) {
+                // Not a valid IRI : expand by parsing the whole string.
+            }
+            Node node = root;
+            for ( int i = 0 ; i < namespace.length() ; i++ )
+                node = node.getOrAddChild(namespace.charAt(i));
+            if ( node.prefix == null )
+                node.prefix = prefix;
+        });
+        this.prefixes = Collections.unmodifiableMap(map);
+    }
+
+    /** The mappings, prefix to namespace. */
+    public Map<String, String> prefixes() {
+        return prefixes;
+    }
+
+    /** The namespace for a prefix, or null. */
+    public String namespace(String prefix) {
+        return prefixes.get(prefix);
+    }
+
+    /**
+     * Expand a prefixed name, {@code prefix:localName}, to an {@link IRI3986}. Return
+     * null if there is no ":" or the prefix is not in this {@code PrefixMap}.
+     * The local name is the characters to append to the namespace, that is, after
+     * any Turtle escapes have been processed.
+     * <p>
+     * As {@link IRI3986#create(String)}, this throws {@link IRIParseException} if the
+     * result is not a valid IRI.
+     */
+    public IRI3986 expand(String prefixedName) {
+        int idx = prefixedName.indexOf(':');
+        if ( idx < 0 )
+            return null;
+        return expand(prefixedName.substring(0, idx), prefixedName, idx+1);
+    }
+
+    /**
+     * Expand a prefix and local name to an {@link IRI3986}. Return null if the prefix
+     * is not in this {@code PrefixMap}. See {@link #expand(String)}.
+     */
+    public IRI3986 expand(String prefix, String localName) {
+        return expand(prefix, localName, 0);
+    }
+
+    private IRI3986 expand(String prefix, String chars, int start) {
+        String namespace = prefixes.get(prefix);
+        if ( namespace == null )
+            return null;
+        IRI3986 nsIRI = namespaceIRIs.get(prefix);
+        IRI3986 iri = ( nsIRI == null ) ? null : IRI3986.extend(nsIRI, chars, start);
+        if ( iri == null )
+            iri = IRI3986.create(namespace + chars.substring(start));
+        return iri;
+    }
+
+    /**
+     * Abbreviate an IRI to a prefixed name, using the longest matching namespace.
+     * Return null if no namespace matches leaving a valid local name.
+     */
+    public PrefixedName abbreviate(IRI iri) {
+        return abbreviate(iri.str());
+    }
+
+    /**
+     * Abbreviate an IRI string to a prefixed name, using the longest matching namespace.
+     * Return null if no namespace matches leaving a valid local name.
+     */
+    public PrefixedName abbreviate(String iriStr) {
+        int length = iriStr.length();
+        // All the characters from localLimit can be in a local name.
+        int localLimit = localLimit(iriStr);
+        boolean endsDot = length > 0 && iriStr.charAt(length-1) == '.';
+
+        String prefix = null;
+        int localStart = -1;
+        Node node = root;
+        for ( int i = 0 ; ; i++ ) {
+            if ( node.prefix != null && isLocalName(iriStr, i, localLimit, endsDot) ) {
+                prefix = node.prefix;
+                localStart = i;
+            }
+            if ( i == length )
+                break;
+            node = node.child(iriStr.charAt(i));
+            if ( node == null )
+                break;
+        }
+        if ( prefix == null )
+            return null;
+        return new PrefixedName(prefix, iriStr, localStart);
+    }
+
+    /** The index from which all characters can be in a local name. */
+    private static int localLimit(String iriStr) {
+        int x = iriStr.length();
+        while ( x > 0 ) {
+            char ch = iriStr.charAt(x-1);
+            if ( !Chars3986.isPNLocalChar(ch) )
+                break;
+            if ( ch == '%' && !( Chars3986.isHexDigit(Chars3986.charAt(iriStr, x)) && Chars3986.isHexDigit(Chars3986.charAt(iriStr, x+1)) ) )
+                break;
+            x--;
+        }
+        return x;
+    }
+
+    private static boolean isLocalName(String iriStr, int start, int localLimit, boolean endsDot) {
+        if ( start == iriStr.length() )
+            return true;
+        return start >= localLimit && !endsDot && Chars3986.isPNLocalStart(iriStr.charAt(start));
+    }
+
+    // PN_PREFIX ::= PN_CHARS_BASE ((PN_CHARS|'.')* PN_CHARS)?
+    // The empty prefix is allowed.
+    private static boolean isPNPrefix(String prefix) {
+        int n = prefix.length();
+        if ( n == 0 )
+            return true;
+        if ( !Chars3986.isPNCharsBase(prefix.charAt(0)) )
+            return false;
+        for ( int i = 1 ; i < n ; i++ ) {
+            char ch = prefix.charAt(i);
+            if ( !Chars3986.isPNChars(ch) && ( ch != '.' || i == n-1 ) )
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "PrefixMap"+prefixes;
+    }
+
+    /** Trie node. Children are kept in order of their character. */
+    private static final class Node {
+        private static final char[] noKeys = {};
+        private static final Node[] noChildren = {};
+
+        private char[] keys = noKeys;
+        private Node[] children = noChildren;
+        // The prefix, if a namespace ends at this node.
+        private String prefix = null;
+
+        Node child(char ch) {
+            int idx = Arrays.binarySearch(keys, ch);
+            return ( idx < 0 ) ? null : children[idx];
+        }
+
+        Node getOrAddChild(char ch) {
+            int idx = Arrays.binarySearch(keys, ch);
+            if ( idx >= 0 )
+                return children[idx];
+            int ins = -idx-1;
+            int n = keys.length;
+            char[] newKeys = new char[n+1];
+            Node[] newChildren = new Node[n+1];
+            System.arraycopy(keys, 0, newKeys, 0, ins);
+            System.arraycopy(children, 0, newChildren, 0, ins);
+            System.arraycopy(keys, ins, newKeys, ins+1, n-ins);
+            System.arraycopy(children, ins, newChildren, ins+1, n-ins);
+            Node node = new Node();
+            newKeys[ins] = ch;
+            newChildren[ins] = node;
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+    }
+}
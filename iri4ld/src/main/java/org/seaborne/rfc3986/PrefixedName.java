@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+/**
+ * An IRI abbreviated as a prefixed name, {@code prefix:localName}, as found by
+ * {@link PrefixMap#abbreviate}. The local name is the characters of the IRI string
+ * from {@code localStart}; it is not created as a string unless
+ * {@link #localName()} or {@link #toString()} is called.
+ */
+public record PrefixedName(String prefix, String iri, int localStart) {
+
+    /** The local name. */
+    public String localName() {
+        return iri.substring(localStart);
+    }
+
+    /** Append the prefixed name, {@code prefix:localName}, to a {@link StringBuilder}. */
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append(prefix).append(':').append(iri, localStart, iri.length());
+    }
+
+    /** The prefixed name, {@code prefix:localName}. */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(prefix.length() + 1 + iri.length() - localStart)).toString();
+    }
+}
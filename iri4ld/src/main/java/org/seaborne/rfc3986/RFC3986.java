@@ -18,7 +18,16 @@
 
 package org.seaborne.rfc3986;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Implementation of RFC 3986 (URI), RFC 3987 (IRI).
@@ -114,23 +123,151 @@ public class RFC3986 {
      * If not, it throws an exception.
      * <p>
      * This reports schema-specific violations : see {@link IRI3986#hasViolations()} and {@link IRI3986#forEachViolation}.
+     * <p>
+     * If a cache has been set with {@link SystemIRI3986#setCache}, the cache is used.
      */
     public static IRI3986 create(String iristr) {
+        IRICache cache = SystemIRI3986.getCache();
+        if ( cache != null )
+            return cache.create(iristr);
         return IRI3986.create(iristr);
     }
 
+    /**
+     * Parse the string in accordance with the general IRI grammar.
+     * If not, it throws an exception.
+     * <p>
+     * Schema-specific violations are checked for when first asked for by
+     * {@link IRI3986#hasViolations()}, {@link IRI3986#violations()} or
+     * {@link IRI3986#forEachViolation}. See {@link IRI3986#createLazy}.
+     */
+    public static IRI3986 createLazy(String iristr) {
+        return IRI3986.createLazy(iristr);
+    }
+
+    /**
+     * Parse the string in accordance with the general IRI grammar.
+     * If not, it throws an exception.
+     * <p>
+     * Schema-specific violations are sent to the {@link ViolationSink} and are not
+     * recorded in the IRI. See {@link IRI3986#create(String, ViolationSink)}.
+     * The cache is not used.
+     */
+    public static IRI3986 create(String iristr, ViolationSink sink) {
+        return IRI3986.create(iristr, sink);
+    }
+
+    /**
+     * Parse the string in accordance with the general IRI grammar, and check the
+     * scheme-specific rules, as {@link #create(String)}.
+     * Return the IRI in a form that uses less memory. See {@link CompactIRI}.
+     */
+    public static IRI createCompact(String iristr) {
+        return IRI3986.createCompact(iristr);
+    }
+
     /**
      * Create an {@link IRI3986} object; report errors and warnings.
      * This operation always returns an object; it does not throw an exception, nor return null.
      * The object may not be a valid IRI.
      * <p>
      * Errors and warning may be accessed with {@link IRI3986#hasViolations()} and {@link IRI3986#forEachViolation}.
+     * <p>
+     * If a cache has been set with {@link SystemIRI3986#setCache}, the cache is used.
      */
     public static IRI3986 createAny(String iristr) {
+        IRICache cache = SystemIRI3986.getCache();
+        if ( cache != null )
+            return cache.createAny(iristr);
         IRI3986 iri = IRI3986.createAny(iristr);
         return iri;
     }
 
+    /**
+     * Parse the string in accordance with the general IRI grammar using the settings
+     * of an {@link IRIParserConfig}. See {@link IRIParserConfig#create(String)}.
+     */
+    public static IRI3986 create(String iristr, IRIParserConfig config) {
+        return config.create(iristr);
+    }
+
+    /**
+     * Create an {@link IRI3986} object using the settings of an {@link IRIParserConfig}.
+     * This operation always returns an object. See {@link IRIParserConfig#createAny(String)}.
+     */
+    public static IRI3986 createAny(String iristr, IRIParserConfig config) {
+        return config.createAny(iristr);
+    }
+
+    /**
+     * Parse the characters {@code chars[start]} to {@code chars[end-1]} in accordance
+     * with the general IRI grammar. See {@link #create(String)}.
+     */
+    public static IRI3986 create(CharSequence chars, int start, int end) {
+        return IRI3986.create(chars, start, end);
+    }
+
+    /**
+     * Parse the UTF-8 bytes {@code bytes[start]} to {@code bytes[end-1]} in accordance
+     * with the general IRI grammar. See {@link #create(String)}.
+     */
+    public static IRI3986 create(byte[] bytes, int start, int end) {
+        return IRI3986.create(bytes, start, end);
+    }
+
+    /**
+     * Parse the UTF-8 bytes of a {@link ByteBuffer} at absolute indexes {@code start}
+     * to {@code end-1} in accordance with the general IRI grammar. See
+     * {@link #create(String)}.
+     */
+    public static IRI3986 create(ByteBuffer bytes, int start, int end) {
+        return IRI3986.create(bytes, start, end);
+    }
+
+    /** Default number of offending IRIs kept by {@link #validateAll(Stream)}. */
+    public static final int DEFAULT_OFFENDERS = 10;
+
+    /**
+     * Validate a stream of IRI strings, using the common {@link ForkJoinPool}. The
+     * result has counts of the IRIs with each {@link Issue} and {@link URIScheme},
+     * and the first {@link #DEFAULT_OFFENDERS} IRIs with violations.
+     */
+    public static ValidationReport validateAll(Stream<String> iriStrs) {
+        return validateAll(iriStrs, DEFAULT_OFFENDERS);
+    }
+
+    /**
+     * Validate a stream of IRI strings, using the common {@link ForkJoinPool}. The
+     * result has counts of the IRIs with each {@link Issue} and {@link URIScheme},
+     * and the first {@code maxOffenders} IRIs with violations, in the order of the
+     * stream.
+     */
+    public static ValidationReport validateAll(Stream<String> iriStrs, int maxOffenders) {
+        return BulkValidation.validate(iriStrs.spliterator(), maxOffenders);
+    }
+
+    /** Validate a collection of IRI strings. See {@link #validateAll(Stream, int)}. */
+    public static ValidationReport validateAll(Collection<String> iriStrs, int maxOffenders) {
+        return BulkValidation.validate(iriStrs.spliterator(), maxOffenders);
+    }
+
+    /** Validate the IRI strings of a spliterator. See {@link #validateAll(Stream, int)}. */
+    public static ValidationReport validateAll(Spliterator<String> iriStrs, int maxOffenders) {
+        return BulkValidation.validate(iriStrs, maxOffenders);
+    }
+
+    /**
+     * Validate the IRI strings of a file, one per line, using the common
+     * {@link ForkJoinPool}. The file is UTF-8 and is read by memory-mapping it. The
+     * line number of an offender is its {@link ValidationReport#offenderPositions()
+     * position} plus one. See {@link #validateAll(Stream, int)}.
+     */
+    public static ValidationReport validateFile(Path path, int maxOffenders) throws IOException {
+        try ( FileChannel channel = FileChannel.open(path, StandardOpenOption.READ) ) {
+            return BulkValidation.validate(new MappedLines(channel), maxOffenders);
+        }
+    }
+
     /** Create an IRI builder */
     public static Builder newBuilder() {
         return new Builder();
@@ -153,6 +290,9 @@ public class RFC3986 {
     /** Resolve an IRI against a base. */
     public static IRI3986 resolve(IRI3986 base, IRI3986 iri) { return base.resolve(iri); }
 
+    /** Resolve an IRI against a base using the settings of an {@link IRIParserConfig}. */
+    public static IRI3986 resolve(IRI3986 base, IRI3986 iri, IRIParserConfig config) { return config.resolve(base, iri); }
+
     /**
      * For a given base, return (if possible) an IRI that is relative to base.
      * If input iri is relative, this is returned unchanged.
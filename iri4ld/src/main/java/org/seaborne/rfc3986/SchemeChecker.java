@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Scheme-specific validation rules for a URI scheme, or a URN namespace, that does
+ * not have built-in checks. Register a checker with {@link SchemeCheckers#register}.
+ * <p>
+ * A checker is called after the general checks, with IRIs that have passed the
+ * RFC 3986 syntax rules. It reports each violation of the scheme rules to the
+ * {@code reporter} with an {@link Issue} and a message that does not include the
+ * IRI string.
+ */
+@FunctionalInterface
+public interface SchemeChecker {
+    public void check(IRI3986 iri, BiConsumer<Issue, String> reporter);
+}
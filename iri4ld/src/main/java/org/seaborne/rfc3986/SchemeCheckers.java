@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Registry of {@link SchemeChecker SchemeCheckers} for URI schemes, and URN
+ * namespaces, that do not have built-in scheme-specific rules.
+ * <p>
+ * The built-in schemes (http, https, file, urn:uuid, urn:oid, did, ...) are
+ * dispatched directly; the registry is only looked at for other schemes so
+ * registering checkers does not change the cost of checking the common schemes.
+ * <p>
+ * Names are case-insensitive. A URN namespace is registered as {@code "urn:NID"}
+ * and is called after the general URN checks.
+ */
+public class SchemeCheckers {
+
+    private record Entry(String scheme, String urnNamespace, SchemeChecker checker) {}
+
+    private static final String[] builtin = { "http", "https", "file", "urn", "uuid", "did", "oid", "example", "urn:uuid", "urn:oid" };
+
+    // Copy-on-write. There are few registrations and lookups must not allocate.
+    private static volatile Entry[] entries = new Entry[0];
+
+    private SchemeCheckers() {}
+
+    /**
+     * Register a checker for a scheme name (no ':'), or a URN namespace as
+     * {@code "urn:NID"}. This replaces any previous registration for the name.
+     *
+     * @throws IllegalArgumentException if the name is one of the schemes with built-in checks.
+     */
+    public static synchronized void register(String name, SchemeChecker checker) {
+        Objects.requireNonNull(checker);
+        Entry entry = entry(name, checker);
+        Entry[] current = entries;
+        int idx = indexOf(current, entry.scheme, entry.urnNamespace);
+        Entry[] updated;
+        if ( idx >= 0 ) {
+            updated = current.clone();
+            updated[idx] = entry;
+        } else {
+            updated = new Entry[current.length+1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = entry;
+        }
+        entries = updated;
+    }
+
+    /** Remove the checker for a scheme name or URN namespace. Return true if there was one. */
+    public static synchronized boolean unregister(String name) {
+        Entry entry = entry(name, null);
+        Entry[] current = entries;
+        int idx = indexOf(current, entry.scheme, entry.urnNamespace);
+        if ( idx < 0 )
+            return false;
+        Entry[] updated = new Entry[current.length-1];
+        System.arraycopy(current, 0, updated, 0, idx);
+        System.arraycopy(current, idx+1, updated, idx, current.length-idx-1);
+        entries = updated;
+        return true;
+    }
+
+    /** Get the checker for a scheme name or URN namespace; return null if there isn't one. */
+    public static SchemeChecker get(String name) {
+        Entry entry = entry(name, null);
+        Entry[] current = entries;
+        int idx = indexOf(current, entry.scheme, entry.urnNamespace);
+        return ( idx < 0 ) ? null : current[idx].checker;
+    }
+
+    private static Entry entry(String name, SchemeChecker checker) {
+        Objects.requireNonNull(name);
+        String lcName = name.toLowerCase(Locale.ROOT);
+        for ( String s : builtin ) {
+            if ( s.equals(lcName) )
+                throw new IllegalArgumentException("Built-in scheme: "+name);
+        }
+        int idx = lcName.indexOf(':');
+        if ( idx < 0 )
+            return new Entry(lcName, null, checker);
+        String scheme = lcName.substring(0, idx);
+        String nid = lcName.substring(idx+1);
+        if ( !scheme.equals("urn") || nid.isEmpty() || nid.indexOf(':') >= 0 )
+            throw new IllegalArgumentException("Not a scheme name or URN namespace: "+name);
+        return new Entry(scheme, nid, checker);
+    }
+
+    private static int indexOf(Entry[] array, String scheme, String urnNamespace) {
+        for ( int i = 0 ; i < array.length ; i++ ) {
+            Entry e = array[i];
+            if ( e.scheme.equals(scheme) && Objects.equals(e.urnNamespace, urnNamespace) )
+                return i;
+        }
+        return -1;
+    }
+
+    /** Find the checker for the scheme in {@code string} between {@code start} and {@code finish}. */
+    /*package*/ static SchemeChecker find(String string, int start, int finish) {
+        Entry[] current = entries;
+        for ( Entry e : current ) {
+            if ( e.urnNamespace == null && matches(e.scheme, string, start, finish) )
+                return e.checker;
+        }
+        return null;
+    }
+
+    /** Find the checker for the URN namespace in {@code string} between {@code start} and {@code finish}. */
+    /*package*/ static SchemeChecker findURN(String string, int start, int finish) {
+        Entry[] current = entries;
+        for ( Entry e : current ) {
+            if ( e.urnNamespace != null && matches(e.urnNamespace, string, start, finish) )
+                return e.checker;
+        }
+        return null;
+    }
+
+    private static boolean matches(String name, String string, int start, int finish) {
+        return name.length() == finish-start && string.regionMatches(true, start, name, 0, name.length());
+    }
+}
@@ -31,6 +31,10 @@ public class SystemIRI3986 {
      */
     private static ErrorHandler errorHandler = errorHandlerSystemDefault;
 
+    /**
+     * Set the system error handler.
+     * See {@link IRIParserConfig} for settings that are not global.
+     */
     public static void setErrorHandler(ErrorHandler errHandler) {
         errorHandler = errHandler;
     }
@@ -39,6 +43,38 @@ public class SystemIRI3986 {
         return errorHandler;
     }
 
+    /**
+     * System cache of parsed IRIs, used by {@link RFC3986#create(String)} and {@link RFC3986#createAny(String)}.
+     * The initial setting is no cache.
+     */
+    private static IRICache cache = null;
+
+    /** Set the cache used by {@link RFC3986#create(String)} and {@link RFC3986#createAny(String)}. Null means no caching. */
+    public static void setCache(IRICache iriCache) {
+        cache = iriCache;
+    }
+
+    /** Get the cache used by {@link RFC3986#create(String)} and {@link RFC3986#createAny(String)}. May be null. */
+    public static IRICache getCache() {
+        return cache;
+    }
+
+    /**
+     * System cache of parsed authorities, used by the IRI parser.
+     * The initial setting is no cache.
+     */
+    private static AuthorityCache authorityCache = null;
+
+    /** Set the cache of parsed authorities used by the IRI parser. Null means no caching. */
+    public static void setAuthorityCache(AuthorityCache cache) {
+        authorityCache = cache;
+    }
+
+    /** Get the cache of parsed authorities used by the IRI parser. May be null. */
+    public static AuthorityCache getAuthorityCache() {
+        return authorityCache;
+    }
+
     /**
      * Send any violations to an {@link ErrorHandler}.
      * <p>
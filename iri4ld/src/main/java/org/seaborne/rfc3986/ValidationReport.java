@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of validating many IRIs with {@link RFC3986#validateAll}.
+ * <p>
+ * Counts are of IRIs, not violations: an IRI with two violations of the same issue
+ * counts once for that issue. Parse errors are counted as {@link Issue#ParseError};
+ * they are not associated with a scheme.
+ */
+public final class ValidationReport {
+
+    private final long count;
+    private final long withViolations;
+    private final Map<Issue, Long> issueCounts;
+    private final Map<URIScheme, Long> schemeCounts;
+    private final List<IRI3986> offenders;
+    private final List<Long> offenderPositions;
+
+    /*package*/ ValidationReport(long count, long withViolations, long[] issueCounts, long[] schemeCounts,
+                                 List<IRI3986> offenders, List<Long> offenderPositions) {
+        this.count = count;
+        this.withViolations = withViolations;
+        this.issueCounts = Collections.unmodifiableMap(toMap(Issue.class, Issue.values(), issueCounts));
+        this.schemeCounts = Collections.unmodifiableMap(toMap(URIScheme.class, URIScheme.values(), schemeCounts));
+        this.offenders = List.copyOf(offenders);
+        this.offenderPositions = List.copyOf(offenderPositions);
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> toMap(Class<E> cls, E[] values, long[] counts) {
+        Map<E, Long> map = new EnumMap<>(cls);
+        for ( E e : values ) {
+            long n = counts[e.ordinal()];
+            if ( n != 0 )
+                map.put(e, n);
+        }
+        return map;
+    }
+
+    /** Number of IRIs checked. */
+    public long count() {
+        return count;
+    }
+
+    /** Number of IRIs with no violations. */
+    public long valid() {
+        return count - withViolations;
+    }
+
+    /** Number of IRIs with at least one violation, including parse errors. */
+    public long withViolations() {
+        return withViolations;
+    }
+
+    /** Number of IRIs that do not match the IRI grammar. */
+    public long parseErrors() {
+        return count(Issue.ParseError);
+    }
+
+    /** Number of IRIs with a violation of the given issue. */
+    public long count(Issue issue) {
+        return issueCounts.getOrDefault(issue, 0L);
+    }
+
+    /** Number of IRIs with a violation reported by the rules of the given scheme. */
+    public long count(URIScheme scheme) {
+        return schemeCounts.getOrDefault(scheme, 0L);
+    }
+
+    /** Counts of IRIs, for each issue found. */
+    public Map<Issue, Long> issueCounts() {
+        return issueCounts;
+    }
+
+    /** Counts of IRIs, for each scheme whose rules reported a violation. */
+    public Map<URIScheme, Long> schemeCounts() {
+        return schemeCounts;
+    }
+
+    /**
+     * The first IRIs, in the order of the input, that have violations.
+     * Each is the result of {@link IRI3986#createAny} so the violations can be
+     * accessed with {@link IRI3986#forEachViolation}.
+     */
+    public List<IRI3986> offenders() {
+        return offenders;
+    }
+
+    /**
+     * The positions in the input, from 0, of the {@link #offenders()}. For the lines of a
+     * file, the line number is the position plus one.
+     */
+    public List<Long> offenderPositions() {
+        return offenderPositions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ValidationReport[count=%d, valid=%d, withViolations=%d, issues=%s]",
+                             count, valid(), withViolations, issueCounts);
+    }
+}
@@ -18,9 +18,88 @@
 
 package org.seaborne.rfc3986;
 
-public record Violation (String iriStr, URIScheme scheme, Issue issue, String message) {
+import java.util.Objects;
+
+/**
+ * A violation of the scheme-specific rules for an IRI, or a parse error for
+ * {@link IRI3986#createAny}.
+ * <p>
+ * The message includes the IRI string. For a scheme-specific violation, the message
+ * is created when it is first asked for.
+ */
+public final class Violation {
+    private final String iriStr;
+    private final URIScheme scheme;
+    private final Issue issue;
+    private final int offset;
+    // The text of the message without the IRI, or null if message was given.
+    private final String detail;
+    // Two threads may both create the message; they are equal strings.
+    private String message;
+
+    public Violation(String iriStr, URIScheme scheme, Issue issue, String message) {
+        this(iriStr, scheme, issue, -1, null, Objects.requireNonNull(message));
+    }
+
+    /** A violation where the message is "&lt;iriStr&gt; detail", created on demand. */
+    /*package*/ static Violation create(String iriStr, URIScheme scheme, Issue issue, int offset, String detail) {
+        return new Violation(iriStr, scheme, issue, offset, Objects.requireNonNull(detail), null);
+    }
+
+    private Violation(String iriStr, URIScheme scheme, Issue issue, int offset, String detail, String message) {
+        this.iriStr = iriStr;
+        this.scheme = scheme;
+        this.issue = issue;
+        this.offset = offset;
+        this.detail = detail;
+        this.message = message;
+    }
+
+    public String iriStr() {
+        return iriStr;
+    }
+
+    public URIScheme scheme() {
+        return scheme;
+    }
+
+    public Issue issue() {
+        return issue;
+    }
+
+    /**
+     * The index in the IRI string of the start of the part of the IRI in violation,
+     * or -1 if there is no specific part. See {@link ViolationSink}.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    public String message() {
+        if ( message == null )
+            message = "<"+iriStr+"> "+detail;
+        return message;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(iriStr, scheme, issue, message());
+    }
+
+    /** Equality is the same IRI string, scheme, issue and message. */
+    @Override
+    public boolean equals(Object obj) {
+        if ( this == obj )
+            return true;
+        return obj instanceof Violation other &&
+               Objects.equals(iriStr, other.iriStr) &&
+               scheme == other.scheme &&
+               issue == other.issue &&
+               message().equals(other.message());
+    }
+
     @Override
     public String toString() {
-        return String.format("<%s> [%s, %s] -- %s", iriStr, scheme.getPrefix(), issue, message);
+        return String.format("<%s> [%s, %s] -- %s", iriStr, scheme.getPrefix(), issue, message());
     }
 }
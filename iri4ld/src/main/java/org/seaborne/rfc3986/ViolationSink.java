@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+/**
+ * Receiver of scheme-specific violations found when checking an IRI, used instead
+ * of recording {@link Violation} objects in the IRI.
+ * See {@link IRI3986#create(String, ViolationSink)}.
+ * <p>
+ * No objects are created to report a violation to a sink, so a sink that only
+ * counts or filters issues can check IRIs without creating {@link Violation}s or
+ * messages.
+ */
+@FunctionalInterface
+public interface ViolationSink {
+    /**
+     * A violation. The {@code offset} is the index in the IRI string of the start
+     * of the part of the IRI in violation, or -1 if there is no specific part.
+     */
+    public void violation(Issue issue, URIScheme scheme, int offset);
+}
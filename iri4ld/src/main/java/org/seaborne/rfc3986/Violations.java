@@ -45,7 +45,10 @@ public class Violations {
         return severityMap.getOrDefault(issue, Severity.INVALID);
     }
 
-    /** Set the global severity map for an issue using the system settings. */
+    /**
+     * Set the global severity map for an issue using the system settings.
+     * See {@link IRIParserConfig} for settings that are not global.
+     */
     public static void setSystemSeverityMap(SeverityMap newSeverityMap) {
         levels = newSeverityMap;
     }
@@ -18,16 +18,40 @@
 
 package org.seaborne.rfc3986.cmd;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
 
 import org.seaborne.rfc3986.*;
 
 public class CmdIRI {
+
+    private static final String usage = """
+        Usage: iri IRI...
+               iri --file [--offenders N] FILE...
+        --file : Validate the IRIs of each file, one per line; "-" is stdin.
+                 Print the counts for each issue, the first N offending lines (default 100)
+                 and the throughput. Exit status is 1 if any IRI has violations.
+        """;
+
     public static void main(String... args) {
         if ( args.length == 0 ) {
             System.err.println("No iri string");
             System.exit(1);
         }
+        if ( args[0].equals("--file") || args[0].equals("-f") ) {
+            int status = files(args);
+            System.exit(status);
+        }
+        if ( args[0].equals("--help") || args[0].equals("-h") ) {
+            System.err.print(usage);
+            System.exit(0);
+        }
 
         boolean first = true;
         PrintStream out = System.out;
@@ -78,4 +102,76 @@ public class CmdIRI {
             }
         }
     }
+
+    /** File mode : validate files of IRIs, using all processors. Return the exit status. */
+    private static int files(String... args) {
+        int maxOffenders = 100;
+        int i = 1;
+        if ( i < args.length && args[i].equals("--offenders") ) {
+            if ( i + 1 >= args.length ) {
+                System.err.print(usage);
+                return 2;
+            }
+            try {
+                maxOffenders = Integer.parseInt(args[i + 1]);
+            } catch (NumberFormatException ex) {
+                System.err.println("Bad number: "+args[i + 1]);
+                return 2;
+            }
+            if ( maxOffenders < 0 ) {
+                System.err.println("Negative number of offenders: "+args[i + 1]);
+                System.err.print(usage);
+                return 2;
+            }
+            i += 2;
+        }
+        if ( i >= args.length ) {
+            System.err.print(usage);
+            return 2;
+        }
+        int status = 0;
+        for ( ; i < args.length ; i++ ) {
+            String fn = args[i];
+            long startTime = System.nanoTime();
+            ValidationReport report;
+            try {
+                if ( fn.equals("-") ) {
+                    BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1024 * 1024);
+                    report = RFC3986.validateAll(in.lines(), maxOffenders);
+                } else {
+                    report = RFC3986.validateFile(Path.of(fn), maxOffenders);
+                }
+            } catch (NoSuchFileException ex) {
+                System.err.printf("%s: No such file\n", fn);
+                status = 2;
+                continue;
+            } catch (IOException ex) {
+                System.err.printf("%s: %s\n", fn, ex.getMessage());
+                status = 2;
+                continue;
+            }
+            long time = System.nanoTime() - startTime;
+            printReport(System.out, fn, report, time);
+            if ( report.withViolations() > 0 && status == 0 )
+                status = 1;
+        }
+        return status;
+    }
+
+    private static void printReport(PrintStream out, String fn, ValidationReport report, long nanos) {
+        out.printf("%s: %,d IRIs, %,d valid, %,d with violations (%,d parse errors)\n",
+                   fn.equals("-") ? "stdin" : fn, report.count(), report.valid(), report.withViolations(), report.parseErrors());
+        for ( Map.Entry<Issue, Long> e : report.issueCounts().entrySet() )
+            out.printf("  %-40s %,12d\n", e.getKey(), e.getValue());
+        for ( int i = 0 ; i < report.offenders().size() ; i++ ) {
+            IRI3986 iri = report.offenders().get(i);
+            long line = report.offenderPositions().get(i) + 1;
+            // The message includes the IRI.
+            iri.forEachViolation(v -> out.printf("  %d: %s\n", line, v.message()));
+        }
+        if ( report.offenders().size() < report.withViolations() )
+            out.printf("  ... %,d more\n", report.withViolations() - report.offenders().size());
+        double seconds = nanos / 1e9;
+        out.printf("  %.3fs, %,.0f IRIs/s\n", seconds, report.count() / seconds);
+    }
 }
@@ -34,6 +34,7 @@ class LibTestURI {
         if ( iri.hasViolations() )
             showViolations(iri);
         assertFalse(iri.hasViolations(), "Has violations");
+        assertFalse(RFC3986.createLazy(iriStr).hasViolations(), "Has violations (lazy)");
     }
 
     // Syntax and violations
@@ -85,6 +86,9 @@ class LibTestURI {
         Supplier<String> messageSupplier = ()->"Issues expected="+expected+", actual="+actual;
         assertTrue(equalsUnordered(expected, actual), messageSupplier);
 
+        // Deferred checks.
+        assertEquals(iri.violations(), RFC3986.createLazy(iriStr).violations());
+
 //        int count = countViolations(iri);
 //        Set<Issue> expectedSet = new HashSet<>();
 //        expectedSet.addAll(expected);
@@ -134,6 +138,26 @@ class LibTestURI {
         return x.vCount;
     }
 
+    /**
+     * Test that an IRI created without parsing the whole string has the string and
+     * components of parsing the string.
+     */
+    static void sameAsParsed(String expected, IRI3986 actual) {
+        IRI3986 parsed = RFC3986.create(expected);
+        assertEquals(expected, actual.str());
+        assertEquals(parsed, actual);
+        assertArrayEquals(parsed.offsets(), actual.offsets());
+        assertEquals(parsed.scheme(), actual.scheme());
+        assertEquals(parsed.authority(), actual.authority());
+        assertEquals(parsed.userInfo(), actual.userInfo());
+        assertEquals(parsed.host(), actual.host());
+        assertEquals(parsed.port(), actual.port());
+        assertEquals(parsed.path(), actual.path());
+        assertEquals(parsed.query(), actual.query());
+        assertEquals(parsed.fragment(), actual.fragment());
+        assertEquals(parsed.violations(), actual.violations());
+    }
+
     /**
      * Compare two lists for unordered equality; same elements, same cardinality, any
      * order.
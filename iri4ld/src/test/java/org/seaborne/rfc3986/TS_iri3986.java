@@ -25,14 +25,29 @@ import org.junit.platform.suite.api.Suite;
 @SelectClasses( {
     TestRFC3986Syntax.class,
     TestIRI3986.class,
+    TestCompactIRI.class,
+    TestIRIDictionary.class,
+    TestPrefixMap.class,
+    TestParseRegion.class,
+    TestIRIValidator.class,
+    TestViolationSink.class,
+    TestChars3986.class,
+    TestPercentEncoding.class,
+    TestBulkValidation.class,
     TestSystem3986.class,
+    TestIRICache.class,
+    TestAuthorityCache.class,
+    TestIRIParserConfig.class,
 
     TestBuild.class,
     TestNormalize.class,
+    TestIRIMapping.class,
+    TestDerivedIRI.class,
     TestRelative.class,
     TestRelativePaths.class,
     TestRelativeVariants.class,
     TestResolve.class,
+    TestIRIResolver.class,
 
     TestParseDID.class,
     TestParseDNS.class,
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestAuthorityCache {
+
+    private AuthorityCache dft;
+    private AuthorityCache cache;
+
+    @BeforeEach public void before() {
+        dft = SystemIRI3986.getAuthorityCache();
+        cache = AuthorityCache.create(16);
+    }
+
+    @AfterEach public void after() {
+        SystemIRI3986.setAuthorityCache(dft);
+    }
+
+    // Parsing with the cache, the first time (miss) and the second time (hit), is
+    // the same as parsing without the cache.
+    @Test public void authority_01() { sameAsUncached("http://example/abc"); }
+    @Test public void authority_02() { sameAsUncached("http://example"); }
+    @Test public void authority_03() { sameAsUncached("http://example?query"); }
+    @Test public void authority_04() { sameAsUncached("http://example#frag"); }
+    @Test public void authority_05() { sameAsUncached("http://user@example:8080/abc?q#f"); }
+    @Test public void authority_06() { sameAsUncached("http://user:pw@HOST:80/abc"); }
+    @Test public void authority_07() { sameAsUncached("http://user:@host/"); }
+    @Test public void authority_08() { sameAsUncached("https://host:443/"); }
+    @Test public void authority_09() { sameAsUncached("http://host:/"); }
+    @Test public void authority_10() { sameAsUncached("http://host:99/"); }
+    @Test public void authority_11() { sameAsUncached("http://[2001:db8:85a3::8a2e:370:7334]:8080/a"); }
+    @Test public void authority_12() { sameAsUncached("http://[v1.fe80::a+en1]/"); }
+    @Test public void authority_13() { sameAsUncached("http://10.0.0.1/a"); }
+    @Test public void authority_14() { sameAsUncached("file:///path"); }
+    @Test public void authority_15() { sameAsUncached("file://host/path"); }
+    @Test public void authority_16() { sameAsUncached("http://"); }
+    @Test public void authority_17() { sameAsUncached("//host/relative"); }
+    @Test public void authority_18() { sameAsUncached("http://h%C3%A9/"); }
+
+    // Parse errors are not cached.
+    @Test public void authority_error_01() { parseError("http://host:8x/"); }
+    @Test public void authority_error_02() { parseError("http://[::1/"); }
+    @Test public void authority_error_03() { parseError("http://ho st/"); }
+    @Test public void authority_error_04() { parseError("http://host%ZZ/"); }
+
+    @Test public void cache_01() {
+        SystemIRI3986.setAuthorityCache(cache);
+        RFC3986.create("http://example/a");
+        RFC3986.create("http://example/b");
+        RFC3986.create("http://example#c");
+        AuthorityCache.Stats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @Test public void cache_02() {
+        // Same prefix, different authority.
+        SystemIRI3986.setAuthorityCache(cache);
+        IRI3986 iri1 = RFC3986.create("http://example:80/a");
+        IRI3986 iri2 = RFC3986.create("http://example:8080/a");
+        IRI3986 iri3 = RFC3986.create("http://example/a");
+        assertEquals("80", iri1.port());
+        assertEquals("8080", iri2.port());
+        assertNull(iri3.port());
+        assertEquals(0, cache.stats().hits());
+    }
+
+    @Test public void cache_03() {
+        // The authority is found when the IRI is a character sequence.
+        SystemIRI3986.setAuthorityCache(cache);
+        RFC3986.create("http://user@example/a");
+        byte[] bytes = "<http://user@example/b>".getBytes(StandardCharsets.UTF_8);
+        IRI3986 iri = RFC3986.create(bytes, 1, bytes.length-1);
+        assertEquals("http://user@example/b", iri.str());
+        assertEquals("user", iri.userInfo());
+        assertEquals("example", iri.host());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    @Test public void cache_04() {
+        // Bounded.
+        SystemIRI3986.setAuthorityCache(cache);
+        for ( int i = 0 ; i < 100 ; i++ )
+            RFC3986.create("http://host"+i+"/");
+        assertEquals(16, cache.maxSize());
+        assertTrue(cache.size() <= 16);
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test public void cache_05() {
+        assertEquals(1, AuthorityCache.create(1).maxSize());
+        assertEquals(1024, AuthorityCache.create(1000).maxSize());
+        assertThrows(IllegalArgumentException.class, ()->AuthorityCache.create(0));
+    }
+
+    private void sameAsUncached(String iriStr) {
+        SystemIRI3986.setAuthorityCache(null);
+        IRI3986 expected = RFC3986.create(iriStr);
+        SystemIRI3986.setAuthorityCache(cache);
+        IRI3986 iri1 = RFC3986.create(iriStr);
+        IRI3986 iri2 = RFC3986.create(iriStr);
+        same(expected, iri1);
+        same(expected, iri2);
+    }
+
+    private static void same(IRI3986 expected, IRI3986 actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.authority(), actual.authority());
+        assertEquals(expected.userInfo(), actual.userInfo());
+        assertEquals(expected.host(), actual.host());
+        assertEquals(expected.port(), actual.port());
+        assertEquals(expected.path(), actual.path());
+        assertEquals(expected.query(), actual.query());
+        assertEquals(expected.fragment(), actual.fragment());
+        assertEquals(offsets(expected.violations()), offsets(actual.violations()));
+        assertEquals(expected.violations(), actual.violations());
+    }
+
+    private static List<Integer> offsets(List<Violation> violations) {
+        return violations.stream().map(Violation::offset).toList();
+    }
+
+    private void parseError(String iriStr) {
+        SystemIRI3986.setAuthorityCache(cache);
+        Supplier<IRI3986> parse = ()->RFC3986.create(iriStr);
+        assertThrows(IRIParseException.class, parse::get);
+        assertThrows(IRIParseException.class, parse::get);
+        assertEquals(0, cache.size());
+    }
+}
@@ -19,6 +19,7 @@
 package org.seaborne.rfc3986;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 import org.junit.jupiter.api.Test;
@@ -80,7 +81,39 @@ public class TestBuild {
         assertEquals("http://AUTH/abc?a=b#frag", iri.toString());
     }
 
+    @Test public void assemble_01() { testAssemble("http://host/abc/def?qs=ghi#jkl"); }
+    @Test public void assemble_02() { testAssemble("http://user:pw@host:8080/abc"); }
+    @Test public void assemble_03() { testAssemble("http://[::1]:80/abc"); }
+    @Test public void assemble_04() { testAssemble("http://[::1]/abc"); }
+    @Test public void assemble_05() { testAssemble("http://user@[::1]:/"); }
+    @Test public void assemble_06() { testAssemble("http://host:"); }
+    @Test public void assemble_07() { testAssemble("http://"); }
+    @Test public void assemble_08() { testAssemble("http:?#"); }
+    @Test public void assemble_09() { testAssemble("urn:x:y"); }
+    @Test public void assemble_10() { testAssemble("a/b:c?q#f"); }
+    @Test public void assemble_11() { testAssemble("//host/a"); }
+    @Test public void assemble_12() { testAssemble("#frag"); }
+    @Test public void assemble_13() { testAssemble(""); }
+    @Test public void assemble_14() { testAssemble("file:///a/b"); }
+    @Test public void assemble_15() { testAssemble("http://h\u00E9st/\u00E9?\u00E9#\u00E9"); }
 
+    // Components that do not parse back to the same components are parsed.
+    @Test public void assemble_20() { testAssemble(null, null, "//a/b", null, null); }
+    @Test public void assemble_21() { testAssemble("http", null, "//a/b", null, null); }
+    @Test public void assemble_22() { testAssemble(null, null, "a:b/c", null, null); }
+    @Test public void assemble_23() { testAssemble(null, "host", "a/b", null, null); }
+
+    private static void testAssemble(String string) {
+        IRI3986 iri = IRI3986.create(string);
+        IRI3986 iri2 = IRI3986.assemble(iri.scheme(), iri.authority(), iri.path(), iri.query(), iri.fragment());
+        assertTrue(iri.identical(iri2, true));
+    }
+
+    private static void testAssemble(String scheme, String authority, String path, String query, String fragment) {
+        IRI3986 iri2 = IRI3986.assemble(scheme, authority, path, query, fragment);
+        IRI3986 iri1 = IRI3986.create(iri2.str());
+        assertTrue(iri1.identical(iri2, true));
+    }
 
     private void testBuild(String expected, String scheme, String authority, String path, String query, String fragment) {
         // All parts
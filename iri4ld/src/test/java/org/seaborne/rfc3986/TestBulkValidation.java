@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestBulkValidation {
+
+    private static final String[] examples = {
+        "http://example/path",
+        "http://example/path#frag",
+        "HTTP://EXAMPLE:80/",
+        "http://example/a b",
+        "urn:uuid:06e775ac-2c38-11b2-801c-8086f2cc00c9",
+        "urn:uuid:bad",
+        "urn:x:y",
+        "https://user:pw@example/",
+        "relative/path",
+        "file:///tmp/file",
+        ":bad",
+    };
+
+    private static List<String> data(int n) {
+        List<String> data = new ArrayList<>(n);
+        for ( int i = 0 ; i < n ; i++ )
+            data.add(examples[i % examples.length]);
+        return data;
+    }
+
+    @Test public void bulk_01() { testBulk(data(0), 10); }
+    @Test public void bulk_02() { testBulk(data(5), 10); }
+    @Test public void bulk_03() { testBulk(data(100), 3); }
+    @Test public void bulk_04() { testBulk(data(50_000), 20); }
+    @Test public void bulk_05() { testBulk(data(50_000), 0); }
+
+    @Test public void bulk_stream_01() {
+        List<String> data = data(20_000);
+        ValidationReport report = RFC3986.validateAll(data.stream());
+        assertEquals(expected(data, RFC3986.DEFAULT_OFFENDERS), summary(report));
+    }
+
+    @Test public void bulk_stream_02() {
+        // Not sized.
+        List<String> data = data(20_000);
+        Stream<String> stream = Stream.iterate(0, i -> i < data.size(), i -> i+1).map(data::get);
+        ValidationReport report = RFC3986.validateAll(stream, 5);
+        assertEquals(expected(data, 5), summary(report));
+    }
+
+    @Test public void bulk_stream_03() {
+        // Not sized, several chunks, and not split.
+        List<String> data = data(5 * BulkValidation.CHUNK_SIZE + 17);
+        Spliterator<String> spliterator = new Spliterators.AbstractSpliterator<String>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            int i = 0;
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                if ( i >= data.size() )
+                    return false;
+                action.accept(data.get(i++));
+                return true;
+            }
+            @Override
+            public Spliterator<String> trySplit() {
+                throw new AssertionError("trySplit called");
+            }
+        };
+        ValidationReport report = RFC3986.validateAll(spliterator, data.size());
+        assertEquals(expected(data, data.size()), summary(report));
+        for ( int i = 0 ; i < report.offenders().size() ; i++ )
+            assertEquals(data.get(report.offenderPositions().get(i).intValue()), report.offenders().get(i).str());
+    }
+
+    @Test public void bulk_report_01() {
+        ValidationReport report = RFC3986.validateAll(List.of("http://example/", "http://example/ x", "HTTP://example/"), 10);
+        assertEquals(3, report.count());
+        assertEquals(1, report.valid());
+        assertEquals(2, report.withViolations());
+        assertEquals(1, report.parseErrors());
+        assertEquals(1, report.count(Issue.iri_scheme_name_is_not_lowercase));
+        assertEquals(List.of("http://example/ x", "HTTP://example/"), report.offenders().stream().map(IRI3986::str).toList());
+    }
+
+    @Test public void bulk_report_positions() {
+        ValidationReport report = RFC3986.validateAll(List.of("http://example/", "http://example/ x", "HTTP://example/"), 10);
+        assertEquals(List.of(1L, 2L), report.offenderPositions());
+    }
+
+    @Test public void bulk_file_01(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("iris.txt");
+        Files.writeString(file, "http://example/\r\nhttp://example/ x\n\nHTTP://example/", StandardCharsets.UTF_8);
+        ValidationReport report = RFC3986.validateFile(file, 10);
+        assertEquals(4, report.count());
+        assertEquals(2, report.valid());
+        assertEquals(List.of("http://example/ x", "HTTP://example/"), report.offenders().stream().map(IRI3986::str).toList());
+        assertEquals(List.of(1L, 3L), report.offenderPositions());
+    }
+
+    @Test public void bulk_file_02(@TempDir Path dir) throws IOException {
+        // Large enough to be split.
+        List<String> data = data(50_000);
+        data.set(40_000, "http://example/\u00E9t\u00E9");
+        Path file = dir.resolve("iris.txt");
+        Files.write(file, data, StandardCharsets.UTF_8);
+        ValidationReport report = RFC3986.validateFile(file, 20);
+        assertEquals(expected(data, 20), summary(report));
+        for ( int i = 0 ; i < report.offenders().size() ; i++ )
+            assertEquals(data.get(report.offenderPositions().get(i).intValue()), report.offenders().get(i).str());
+    }
+
+    @Test public void bulk_file_03(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("empty.txt");
+        Files.writeString(file, "");
+        ValidationReport report = RFC3986.validateFile(file, 10);
+        assertEquals(0, report.count());
+    }
+
+    // Lines crossing the boundary of the mapped window, with a small window.
+    private static final String lines = "http://example/a\nhttp://example/\u00E9t\u00E9\r\n\nhttp://example/\uD83D\uDE00/x\n"
+                                        +"urn:x:\u20AC\u20AC\u20AC\u20AC\nlast-line-with-no-newline-\u00FC";
+
+    @Test public void bulk_lines_01(@TempDir Path dir) throws IOException {
+        // Every window size up to longer than the file, so that every line, and the
+        // bytes of every multibyte character, is split across a window boundary.
+        Path file = dir.resolve("lines.txt");
+        Files.writeString(file, lines, StandardCharsets.UTF_8);
+        List<String> expected = List.of(lines.split("\r?\n", -1));
+        for ( int w = 1 ; w <= lines.length()+10 ; w++ )
+            assertEquals(expected, readLines(file, w), "Window size "+w);
+    }
+
+    @Test public void bulk_lines_02(@TempDir Path dir) throws IOException {
+        // Lines longer than the window, and ending at the end of a window.
+        Path file = dir.resolve("lines.txt");
+        String longLine = "http://example/"+"\u00E9".repeat(100);
+        List<String> expected = List.of("abc", longLine, "1234567", longLine);
+        Files.writeString(file, String.join("\n", expected)+"\n", StandardCharsets.UTF_8);
+        for ( int w : new int[] {1, 2, 4, 8, 16, 64} )
+            assertEquals(expected, readLines(file, w), "Window size "+w);
+    }
+
+    @Test public void bulk_lines_03(@TempDir Path dir) throws IOException {
+        // Split and read with a small window.
+        List<String> data = data(20_000);
+        Path file = dir.resolve("iris.txt");
+        Files.write(file, data, StandardCharsets.UTF_8);
+        try ( FileChannel channel = FileChannel.open(file, StandardOpenOption.READ) ) {
+            Spliterator<String> lines = new MappedLines(channel, 100);
+            Spliterator<String> prefix = lines.trySplit();
+            assertNotNull(prefix);
+            List<String> actual = new ArrayList<>();
+            prefix.forEachRemaining(actual::add);
+            lines.forEachRemaining(actual::add);
+            assertEquals(data, actual);
+            ValidationReport report = BulkValidation.validate(new MappedLines(channel, 100), 20);
+            assertEquals(expected(data, 20), summary(report));
+        }
+    }
+
+    private static List<String> readLines(Path file, long windowSize) throws IOException {
+        try ( FileChannel channel = FileChannel.open(file, StandardOpenOption.READ) ) {
+            List<String> actual = new ArrayList<>();
+            new MappedLines(channel, windowSize).forEachRemaining(actual::add);
+            return actual;
+        }
+    }
+
+    @Test public void bulk_report_02() {
+        assertThrows(IllegalArgumentException.class, ()->RFC3986.validateAll(List.of(), -1));
+    }
+
+    private static void testBulk(List<String> data, int maxOffenders) {
+        ValidationReport report = RFC3986.validateAll(data, maxOffenders);
+        assertEquals(expected(data, maxOffenders), summary(report));
+        for ( int i = 0 ; i < report.offenders().size() ; i++ )
+            assertEquals(data.get(report.offenderPositions().get(i).intValue()), report.offenders().get(i).str());
+        assertEquals(report.count(), report.valid()+report.withViolations());
+    }
+
+    private record Summary(long count, long withViolations, Map<Issue, Long> issues, Map<URIScheme, Long> schemes, List<String> offenders) {}
+
+    private static Summary summary(ValidationReport report) {
+        return new Summary(report.count(), report.withViolations(), report.issueCounts(), report.schemeCounts(),
+                           report.offenders().stream().map(IRI3986::str).toList());
+    }
+
+    // Sequential, with createAny.
+    private static Summary expected(List<String> data, int maxOffenders) {
+        long withViolations = 0;
+        Map<Issue, Long> issues = new EnumMap<>(Issue.class);
+        Map<URIScheme, Long> schemes = new EnumMap<>(URIScheme.class);
+        List<String> offenders = new ArrayList<>();
+        for ( String s : data ) {
+            IRI3986 iri = IRI3986.createAny(s);
+            if ( ! iri.hasViolations() )
+                continue;
+            withViolations++;
+            if ( offenders.size() < maxOffenders )
+                offenders.add(s);
+            iri.violations().stream().map(Violation::issue).distinct().forEach(issue->issues.merge(issue, 1L, Long::sum));
+            iri.violations().stream().map(Violation::scheme).filter(x->x != null).distinct().forEach(scheme->schemes.merge(scheme, 1L, Long::sum));
+        }
+        return new Summary(data.size(), withViolations, issues, schemes, offenders);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the table-driven character classification against the grammar rules
+ * written as range tests, for every 16 bit character.
+ */
+public class TestChars3986 {
+
+    private static boolean alpha(int ch)        { return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z'); }
+    private static boolean digit(int ch)        { return ch >= '0' && ch <= '9'; }
+    private static boolean hexdig(int ch)       { return digit(ch) || (ch >= 'a' && ch <= 'f') || (ch >= 'A' && ch <= 'F'); }
+    private static boolean unreserved(int ch)   { return alpha(ch) || digit(ch) || "-._~".indexOf(ch) >= 0; }
+    private static boolean subDelims(int ch)    { return "!$&'()*+,;=".indexOf(ch) >= 0; }
+    private static boolean genDelims(int ch)    { return ":/?#[]@".indexOf(ch) >= 0; }
+    private static boolean pchar(int ch)        { return unreserved(ch) || subDelims(ch) || ch == ':' || ch == '@'; }
+    private static boolean ucschar16(int ch)    { return (ch >= 0xA0 && ch <= 0xD7FF) || (ch >= 0xF900 && ch <= 0xFDCF)
+                                                         || (ch >= 0xFDF0 && ch <= 0xFFEF) || Character.isSurrogate((char)ch); }
+    private static boolean ucschar(int ch) {
+        if ( ch < 0x10000 )
+            return ucschar16(ch) && ! Character.isSurrogate((char)ch);
+        if ( ch >= 0xE0000 && ch <= 0xE0FFF )
+            return false;
+        return ch <= 0xEFFFD && (ch & 0xFFFF) <= 0xFFFD;
+    }
+    private static boolean pnCharsBase(int ch)  { return alpha(ch) || (ch >= 0xC0 && ch <= 0xD6) || (ch >= 0xD8 && ch <= 0xF6) || (ch >= 0xF8 && ch <= 0x2FF)
+                                                         || (ch >= 0x370 && ch <= 0x37D) || (ch >= 0x37F && ch <= 0x1FFF) || (ch >= 0x200C && ch <= 0x200D)
+                                                         || (ch >= 0x2070 && ch <= 0x218F) || (ch >= 0x2C00 && ch <= 0x2FEF) || (ch >= 0x3001 && ch <= 0xD7FF)
+                                                         || (ch >= 0xF900 && ch <= 0xFDCF) || (ch >= 0xFDF0 && ch <= 0xFFFD) || Character.isSurrogate((char)ch); }
+    private static boolean pnChars(int ch)      { return pnCharsBase(ch) || ch == '_' || ch == '-' || digit(ch) || ch == 0xB7
+                                                         || (ch >= 0x300 && ch <= 0x36F) || (ch >= 0x203F && ch <= 0x2040); }
+    private static boolean iprivate(int ch)     { return (ch >= 0xE000 && ch <= 0xF8FF) || (ch >= 0xF0000 && ch <= 0xFFFFD) || (ch >= 0x100000 && ch <= 0x10FFFD); }
+
+    @Test public void chars_alpha()         { test(Chars3986::isAlpha, TestChars3986::alpha); }
+    @Test public void chars_alphanum()      { test(Chars3986::isAlphaNum, ch -> alpha(ch) || digit(ch)); }
+    @Test public void chars_digit()         { test(Chars3986::isDigit, TestChars3986::digit); }
+    @Test public void chars_hexdigit()      { test(Chars3986::isHexDigit, TestChars3986::hexdig); }
+    @Test public void chars_unreserved()    { test(Chars3986::unreserved, TestChars3986::unreserved); }
+    @Test public void chars_iunreserved()   { test(Chars3986::iunreserved, ch -> unreserved(ch) || ucschar16(ch)); }
+    @Test public void chars_subDelims()     { test(Chars3986::subDelims, TestChars3986::subDelims); }
+    @Test public void chars_genDelims()     { test(Chars3986::genDelims, TestChars3986::genDelims); }
+    @Test public void chars_scheme()        { test(Chars3986::isSchemeChar, ch -> alpha(ch) || digit(ch) || ch == '+' || ch == '-' || ch == '.'); }
+    @Test public void chars_pchar()         { test(Chars3986::isPCharNoPct, TestChars3986::pchar); }
+    @Test public void chars_ipchar()        { test(Chars3986::isIPCharNoPct, ch -> pchar(ch) || ucschar16(ch)); }
+    @Test public void chars_ucschar()       { test(Chars3986::isUcsChar, TestChars3986::ucschar16); }
+    @Test public void chars_iprivate()      { test(Chars3986::isIPrivate, TestChars3986::iprivate); }
+
+    @Test public void chars_pnCharsBase()   { test(Chars3986::isPNCharsBase, TestChars3986::pnCharsBase); }
+    @Test public void chars_pnCharsU()      { test(Chars3986::isPNCharsU, ch -> pnCharsBase(ch) || ch == '_'); }
+    @Test public void chars_pnChars()       { test(Chars3986::isPNChars, TestChars3986::pnChars); }
+
+    @Test public void codepoints_ucschar()  { testCodepoints(Chars3986::int_isUcsChar, TestChars3986::ucschar); }
+    @Test public void codepoints_iprivate() { testCodepoints(Chars3986::int_isIPrivate, TestChars3986::iprivate); }
+
+    @Test public void skipRun_01() { skipPath("abc/def", 0, 7); }
+    @Test public void skipRun_02() { skipPath("abc/def?q", 0, 7); }
+    @Test public void skipRun_03() { skipPath("abc%20def", 0, 3); }
+    @Test public void skipRun_04() { skipPath("abc#def", 1, 3); }
+    @Test public void skipRun_05() { skipPath("ab\u00E9cd", 0, 2); }
+    @Test public void skipRun_06() { skipPath("ab cd", 0, 2); }
+    @Test public void skipRun_07() { skipPath("", 0, 0); }
+    @Test public void skipRun_08() { skipQuery("a=b&c=/d?e#f", 0, 10); }
+    @Test public void skipRun_09() { skipQuery("a=b[c", 0, 3); }
+    @Test public void skipRun_10() { skipQuery("?a%", 0, 2); }
+
+    private static void skipPath(String string, int start, int expected) {
+        assertEquals(expected, Chars3986.skipPathRun(string, start, string.length()));
+        // Not a String.
+        assertEquals(expected, Chars3986.skipPathRun(new StringBuilder(string), start, string.length()));
+    }
+
+    private static void skipQuery(String string, int start, int expected) {
+        assertEquals(expected, Chars3986.skipQueryRun(string, start, string.length()));
+        assertEquals(expected, Chars3986.skipQueryRun(new StringBuilder(string), start, string.length()));
+    }
+
+    private static void test(Predicate<Character> actual, IntPredicate expected) {
+        for ( int ch = 0 ; ch <= 0xFFFF ; ch++ ) {
+            char c = (char)ch;
+            assertEquals(expected.test(ch), actual.test(c), ()->Chars3986.displayChar(c));
+        }
+    }
+
+    private static void testCodepoints(IntPredicate actual, IntPredicate expected) {
+        for ( int ch = 0 ; ch <= Character.MAX_CODE_POINT ; ch++ ) {
+            if ( Character.isSurrogate((char)ch) && ch < 0x10000 )
+                continue;
+            int c = ch;
+            assertEquals(expected.test(ch), actual.test(ch), ()->String.format("U+%04X", c));
+        }
+    }
+}
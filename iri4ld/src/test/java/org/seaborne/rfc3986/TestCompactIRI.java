@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class TestCompactIRI {
+
+    @Test public void compact_01() { testCompact("http://example/"); }
+    @Test public void compact_02() { testCompact("http://user@host:8080/a/b/c?q=1#frag"); }
+    @Test public void compact_03() { testCompact("http://[::1]:80/"); }
+    @Test public void compact_04() { testCompact("http://host"); }
+    @Test public void compact_05() { testCompact("http://host?q"); }
+    @Test public void compact_06() { testCompact("http://host#f"); }
+    @Test public void compact_07() { testCompact("urn:x-local:abc"); }
+    @Test public void compact_08() { testCompact("file:///tmp/file"); }
+    @Test public void compact_09() { testCompact("a/b/c"); }
+    @Test public void compact_10() { testCompact("//host/path"); }
+    @Test public void compact_11() { testCompact("#frag"); }
+    @Test public void compact_12() { testCompact("?q"); }
+    @Test public void compact_13() { testCompact(""); }
+    @Test public void compact_14() { testCompact("http://αβγ/δ?ε#ζ"); }
+    @Test public void compact_15() { testCompact("http://user:pw@host:/"); }
+    @Test public void compact_16() { testCompact("http:"); }
+
+    // Violations
+    @Test public void compact_20() { testCompact("http://HOST/"); }
+    @Test public void compact_21() { testCompact("urn:uuid:bad"); }
+    @Test public void compact_22() { testCompact("http://host:080/"); }
+
+    @Test public void compact_equals_01() {
+        IRI iri1 = RFC3986.createCompact("http://example/a");
+        IRI iri2 = RFC3986.createCompact("http://example/a");
+        IRI iri3 = RFC3986.createCompact("http://example/b");
+        assertEquals(iri1, iri2);
+        assertEquals(iri1.hashCode(), iri2.hashCode());
+        assertNotEquals(iri1, iri3);
+        assertEquals(RFC3986.create("http://example/a").hashCode(), iri1.hashCode());
+    }
+
+    @Test public void compact_normalize_01() {
+        IRI iri = RFC3986.createCompact("HTTP://HOST:80");
+        IRI iri2 = iri.normalize();
+        assertTrue(iri2 instanceof CompactIRI);
+        assertEquals("http://host/", iri2.str());
+    }
+
+    @Test public void compact_lazy_01() {
+        IRI iri = RFC3986.createLazy("http://HOST/").compact();
+        assertTrue(((CompactIRI)iri).hasViolations());
+    }
+
+    @Test public void compact_long_01() {
+        String s = "http://example/"+"a".repeat(CompactIRI.MAX_LENGTH);
+        IRI3986 iri = RFC3986.create(s);
+        assertSame(iri, iri.compact());
+    }
+
+    @Test public void compact_long_02() {
+        String s = "http://example/";
+        s = s + "a".repeat(CompactIRI.MAX_LENGTH - s.length());
+        IRI iri = RFC3986.createCompact(s);
+        assertTrue(iri instanceof CompactIRI);
+        assertEquals(s, iri.str());
+        assertTrue(((CompactIRI)iri).expand().identical(IRI3986.create(s), true));
+    }
+
+    private static void testCompact(String string) {
+        IRI3986 iri = RFC3986.create(string);
+        IRI x = iri.compact();
+        assertTrue(x instanceof CompactIRI);
+        CompactIRI compact = (CompactIRI)x;
+
+        assertEquals(iri.str(), compact.str());
+        assertEquals(iri.hasScheme(), compact.hasScheme());
+        assertEquals(iri.scheme(), compact.scheme());
+        assertEquals(iri.hasAuthority(), compact.hasAuthority());
+        assertEquals(iri.authority(), compact.authority());
+        assertEquals(iri.hasUserInfo(), compact.hasUserInfo());
+        assertEquals(iri.userInfo(), compact.userInfo());
+        assertEquals(iri.hasHost(), compact.hasHost());
+        assertEquals(iri.host(), compact.host());
+        assertEquals(iri.hasPort(), compact.hasPort());
+        assertEquals(iri.port(), compact.port());
+        assertEquals(iri.path(), compact.path());
+        assertArrayEquals(iri.pathSegments(), compact.pathSegments());
+        assertEquals(iri.hasQuery(), compact.hasQuery());
+        assertEquals(iri.query(), compact.query());
+        assertEquals(iri.hasFragment(), compact.hasFragment());
+        assertEquals(iri.fragment(), compact.fragment());
+        assertEquals(iri.isAbsolute(), compact.isAbsolute());
+        assertEquals(iri.isRelative(), compact.isRelative());
+        assertEquals(iri.isRootless(), compact.isRootless());
+        assertEquals(iri.isHierarchical(), compact.isHierarchical());
+        assertEquals(iri.violations(), compact.violations());
+
+        IRI3986 iri2 = compact.expand();
+        assertTrue(iri2.identical(iri, true));
+        assertEquals(iri.violations(), iri2.violations());
+        assertEquals(iri, iri2);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.seaborne.rfc3986.LibTestURI.sameAsParsed;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/** IRIs derived from an IRI by changing one part, and {@link IRITemplate}. */
+public class TestDerivedIRI {
+
+    @Test public void segment_01() { segment("http://example/a", "b", "http://example/a/b"); }
+    @Test public void segment_02() { segment("http://example/a/", "b", "http://example/a/b"); }
+    @Test public void segment_03() { segment("http://example", "b", "http://example/b"); }
+    @Test public void segment_04() { segment("http://example?q#f", "b", "http://example/b?q#f"); }
+    @Test public void segment_05() { segment("http://example/a?q#f", "b:c@d", "http://example/a/b:c@d?q#f"); }
+    @Test public void segment_06() { segment("http://example/a", "", "http://example/a/"); }
+    @Test public void segment_07() { segment("http://example/a", "%20é", "http://example/a/%20é"); }
+    @Test public void segment_08() { segment("urn:example:a", "b", "urn:example:a/b"); }
+    @Test public void segment_09() { segment("urn:", "b", "urn:b"); }
+    @Test public void segment_10() { segment("a", "b", "a/b"); }
+    @Test public void segment_11() { segment("", "b", "b"); }
+    @Test public void segment_12() { segment("#f", "b", "b#f"); }
+    @Test public void segment_13() { segment("//host", "b", "//host/b"); }
+    @Test public void segment_14() { segment("/", "b", "/b"); }
+    @Test public void segment_15() { segment("http://user@host:8080/a", "b", "http://user@host:8080/a/b"); }
+
+    @Test public void segment_bad_01() { segmentBad("http://example/a", "b/c"); }
+    @Test public void segment_bad_02() { segmentBad("http://example/a", "b?c"); }
+    @Test public void segment_bad_03() { segmentBad("http://example/a", "b#c"); }
+    @Test public void segment_bad_04() { segmentBad("http://example/a", "b c"); }
+    @Test public void segment_bad_05() { segmentBad("http://example/a", "b%2"); }
+    @Test public void segment_bad_06() { segmentBad("http://example/a", "b%zz"); }
+    @Test public void segment_bad_07() { segmentBad("", "b:c"); }
+
+    @Test public void query_01() { query("http://example/a", "q=1", "http://example/a?q=1"); }
+    @Test public void query_02() { query("http://example/a?x", "q=1&r=2", "http://example/a?q=1&r=2"); }
+    @Test public void query_03() { query("http://example/a?x#f", "q", "http://example/a?q#f"); }
+    @Test public void query_04() { query("http://example/a#f", "q/?", "http://example/a?q/?#f"); }
+    @Test public void query_05() { query("http://example/a?x#f", null, "http://example/a#f"); }
+    @Test public void query_06() { query("http://example/a?x", "", "http://example/a?"); }
+    @Test public void query_07() { query("http://example", "q", "http://example?q"); }
+    @Test public void query_08() { query("http://example/a", "", "http://example/a?"); }
+    @Test public void query_09() { query("", "q", "?q"); }
+
+    @Test public void query_bad_01() { queryBad("http://example/a", "q#"); }
+    @Test public void query_bad_02() { queryBad("http://example/a", "q r"); }
+    @Test public void query_bad_03() { queryBad("http://example/a", "[q]"); }
+
+    @Test public void fragment_01() { fragment("http://example/a", "f", "http://example/a#f"); }
+    @Test public void fragment_02() { fragment("http://example/a?q#x", "f/?", "http://example/a?q#f/?"); }
+    @Test public void fragment_03() { fragment("http://example/a?q#x", null, "http://example/a?q"); }
+    @Test public void fragment_04() { fragment("http://example/a", "", "http://example/a#"); }
+
+    @Test public void fragment_bad_01() { fragmentBad("http://example/a", "f#"); }
+    @Test public void fragment_bad_02() { fragmentBad("http://example/a", ""); }
+
+    @Test public void derived_01() {
+        IRI3986 iri = RFC3986.create("http://example/a");
+        assertSame(iri, iri.withoutFragment());
+        assertSame(iri, iri.withQuery(null));
+        sameAsParsed("http://example/a", RFC3986.create("http://example/a#f").withoutFragment());
+    }
+
+    @Test public void derived_02() {
+        // Scheme-specific violations.
+        IRI3986 iri = RFC3986.create("http://example:80/a").appendPathSegment("b");
+        assertTrue(iri.hasViolations());
+        assertEquals(Issue.http_omit_well_known_port, iri.violations().get(0).issue());
+    }
+
+    @Test public void template_01() { template("http://example/{a}", "http://example/x", "x"); }
+    @Test public void template_02() { template("http://example/{a}/{b}", "http://example/x/y", "x", "y"); }
+    @Test public void template_03() { template("http://example/{a}/{b}", "http://example/x1/y12", "x1", "y12"); }
+    @Test public void template_04() { template("http://example/item-{id}.ttl?x={a}&y={b}#{f}", "http://example/item-123.ttl?x=1&y=%20#frag",
+                                               "123", "1", "%20", "frag"); }
+    @Test public void template_05() { template("http://example/{a}", "http://example/", ""); }
+    @Test public void template_06() { template("http://example/{a}/{b}", "http://example//", "", ""); }
+    @Test public void template_07() { template("{a}/b", "x/b", "x"); }
+    @Test public void template_08() { template("{a}/b", "/b", ""); }
+    @Test public void template_09() { template("urn:example:{a}", "urn:example:é", "é"); }
+    @Test public void template_10() { template("/{a}/b", "/x/b", "x"); }
+    @Test public void template_11() { template("http:{a}", "http:x:y", "x:y"); }
+    @Test public void template_12() { template("http://example/{a}?{a}", "http://example/x?x", "x", "x"); }
+    @Test public void template_13() { template("http://example/a", "http://example/a"); }
+    @Test public void template_14() { template("urn:{a}", "urn:", ""); }
+    @Test public void template_15() { template("{a}", "", ""); }
+    @Test public void template_16() { template("{a}?q={b}", "?q=1", "", "1"); }
+    @Test public void template_17() { template("urn:{a}{b}#f", "urn:#f", "", ""); }
+    @Test public void template_18() { template("file:/{a}/b", "file:/x/b", "x"); }
+    @Test public void template_19() { template("file:///{a}/b", "file:////b", ""); }
+
+    @Test public void template_bad_01() { templateBad("http://example/{a}", "x/y"); }
+    @Test public void template_bad_02() { templateBad("http://example/?q={a}", "x&y"); }
+    @Test public void template_bad_03() { templateBad("http://example/#{a}", "x#y"); }
+    @Test public void template_bad_04() { templateBad("{a}/b", "x:y"); }
+    @Test public void template_bad_05() { templateBad("/{a}/b", ""); }
+    @Test public void template_bad_06() { templateBad("file:/{a}/b", ""); }
+    @Test public void template_bad_07() { templateBad("/{a}{b}/c", "", ""); }
+
+    @Test public void template_create_bad_01() { templateCreateBad("http://{host}/"); }
+    @Test public void template_create_bad_02() { templateCreateBad("{s}://host/"); }
+    @Test public void template_create_bad_03() { templateCreateBad("http://example/{a"); }
+    @Test public void template_create_bad_04() { templateCreateBad("http://example/a}"); }
+    @Test public void template_create_bad_05() { templateCreateBad("http://example/{}"); }
+    @Test public void template_create_bad_06() { templateCreateBad("http://example/{a-b}"); }
+
+    @Test public void template_create_bad_08() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, ()->IRITemplate.create("http://example/{a"));
+        assertTrue(ex.getMessage().startsWith("Unclosed '{'"));
+        ex = assertThrows(IllegalArgumentException.class, ()->IRITemplate.create("http://example/{a{b}"));
+        assertTrue(ex.getMessage().startsWith("Unclosed '{'"));
+        ex = assertThrows(IllegalArgumentException.class, ()->IRITemplate.create("http://example/a}{b}"));
+        assertTrue(ex.getMessage().startsWith("Unmatched '}'"));
+    }
+
+    @Test public void template_create_bad_07() {
+        assertThrows(IRIParseException.class, ()->IRITemplate.create("http://example/ {a}"));
+    }
+
+    @Test public void template_map_01() {
+        IRITemplate template = IRITemplate.create("http://example/{type}/{id}#{type}");
+        assertEquals(List.of("type", "id", "type"), template.variables());
+        IRI3986 iri = template.expand(Map.of("type", "book", "id", "42"));
+        sameAsParsed("http://example/book/42#book", iri);
+        assertThrows(IllegalArgumentException.class, ()->template.expand(Map.of("type", "book")));
+        assertThrows(IllegalArgumentException.class, ()->template.expand("book"));
+    }
+
+    private static void segment(String iriStr, String segment, String expected) {
+        sameAsParsed(expected, RFC3986.create(iriStr).appendPathSegment(segment));
+    }
+
+    private static void segmentBad(String iriStr, String segment) {
+        IRI3986 iri = RFC3986.create(iriStr);
+        assertThrows(IRIParseException.class, ()->iri.appendPathSegment(segment));
+    }
+
+    private static void query(String iriStr, String query, String expected) {
+        sameAsParsed(expected, RFC3986.create(iriStr).withQuery(query));
+    }
+
+    private static void queryBad(String iriStr, String query) {
+        IRI3986 iri = RFC3986.create(iriStr);
+        assertThrows(IRIParseException.class, ()->iri.withQuery(query));
+    }
+
+    private static void fragment(String iriStr, String fragment, String expected) {
+        sameAsParsed(expected, RFC3986.create(iriStr).withFragment(fragment));
+    }
+
+    private static void fragmentBad(String iriStr, String fragment) {
+        IRI3986 iri = RFC3986.create(iriStr);
+        assertThrows(IRIParseException.class, ()->iri.withFragment(fragment));
+    }
+
+    private static void template(String templateStr, String expected, String... values) {
+        IRITemplate template = IRITemplate.create(templateStr);
+        sameAsParsed(expected, template.expand(values));
+    }
+
+    private static void templateBad(String templateStr, String... values) {
+        IRITemplate template = IRITemplate.create(templateStr);
+        assertThrows(IRIParseException.class, ()->template.expand(values));
+    }
+
+    private static void templateCreateBad(String templateStr) {
+        assertThrows(IllegalArgumentException.class, ()->IRITemplate.create(templateStr));
+    }
+}
@@ -18,10 +18,11 @@
 
 package org.seaborne.rfc3986;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -129,6 +130,35 @@ public class TestIRI3986 {
         isFalse("http://host/αβγ", IRI3986::isRFC3986);
     }
 
+    @Test public void lazy_1() {
+        IRI3986 iri = RFC3986.createLazy("http://HOST/abc");
+        assertTrue(iri.hasViolations());
+        assertEquals(RFC3986.create("http://HOST/abc").violations(), iri.violations());
+    }
+
+    @Test public void lazy_2() {
+        IRI3986 iri = RFC3986.createLazy("http://host/abc");
+        assertFalse(iri.hasViolations());
+        assertTrue(iri.violations().isEmpty());
+    }
+
+    @Test public void lazy_3() {
+        assertThrows(IRIParseException.class, ()->RFC3986.createLazy("http://host/a b"));
+    }
+
+    @Test public void lazy_4() {
+        IRI3986 iri = RFC3986.createLazy("urn:uuid:06e775ac-2c38-11b2-801c-8086f2cc00c9");
+        assertFalse(iri.hasViolations());
+    }
+
+    @Test public void lazy_5() {
+        // Concurrent first access runs the checks once.
+        IRI3986 iri = RFC3986.createLazy("urn:uuid:bad");
+        List<List<Violation>> results = IntStream.range(0, 8).parallel().mapToObj(i->iri.violations()).toList();
+        assertFalse(results.get(0).isEmpty());
+        results.forEach(r->assertEquals(results.get(0), r));
+    }
+
     // ----
 
     private static void isTrue(String iriStr, Predicate<IRI3986> testPredicate) {
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class TestIRICache {
+
+    @Test public void cache_01() {
+        IRICache cache = IRICache.create(10);
+        IRI3986 iri1 = cache.create("http://example/a");
+        IRI3986 iri2 = cache.create("http://example/a");
+        assertSame(iri1, iri2);
+        IRICache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0, stats.evictions());
+        assertEquals(1, stats.size());
+    }
+
+    @Test public void cache_02() {
+        // Violations are kept.
+        IRICache cache = IRICache.create(10);
+        IRI3986 iri1 = cache.createAny("http://EXAMPLE/a");
+        assertTrue(iri1.hasViolations());
+        IRI3986 iri2 = cache.create("http://EXAMPLE/a");
+        assertSame(iri1, iri2);
+        assertTrue(iri2.hasViolations());
+    }
+
+    @Test public void cache_03() {
+        // Parse errors are not cached.
+        IRICache cache = IRICache.create(10);
+        IRI3986 iri = cache.createAny("http://example/a b");
+        assertTrue(iri.hasViolations());
+        assertNull(cache.getIfPresent("http://example/a b"));
+        assertThrows(IRIParseException.class, ()->cache.create("http://example/a b"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test public void cache_04() {
+        // Bounded.
+        IRICache cache = IRICache.create(100);
+        for ( int i = 0 ; i < 1000 ; i++ )
+            cache.create("http://example/"+i);
+        IRICache.Stats stats = cache.stats();
+        assertTrue(stats.size() <= 100);
+        assertEquals(1000, stats.misses());
+        assertEquals(1000-stats.size(), stats.evictions());
+    }
+
+    @Test public void cache_05() {
+        // Least recently used is evicted.
+        IRICache cache = IRICache.create(2);
+        IRI3986 iri1 = cache.create("http://example/1");
+        cache.create("http://example/2");
+        cache.create("http://example/1");
+        cache.create("http://example/3");
+        assertSame(iri1, cache.getIfPresent("http://example/1"));
+        assertNull(cache.getIfPresent("http://example/2"));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test public void cache_06() {
+        IRICache cache = IRICache.create(10);
+        IRICache dft = SystemIRI3986.getCache();
+        try {
+            SystemIRI3986.setCache(cache);
+            IRI3986 iri1 = RFC3986.create("http://example/a");
+            IRI3986 iri2 = RFC3986.createAny("http://example/a");
+            assertSame(iri1, iri2);
+            assertEquals(1, cache.stats().hits());
+        } finally {
+            SystemIRI3986.setCache(dft);
+        }
+    }
+
+    @Test public void cache_07() throws Exception {
+        IRICache cache = IRICache.create(50);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for ( int t = 0 ; t < 4 ; t++ ) {
+                futures.add(executor.submit(()->{
+                    for ( int i = 0 ; i < 2000 ; i++ ) {
+                        String s = "http://example/"+(i%80);
+                        assertEquals(s, cache.create(s).str());
+                    }
+                }));
+            }
+            for ( Future<?> f : futures )
+                f.get();
+        } finally {
+            executor.shutdown();
+        }
+        IRICache.Stats stats = cache.stats();
+        assertEquals(8000, stats.hits()+stats.misses());
+        assertTrue(stats.size() <= 50);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class TestIRIDictionary {
+
+    @Test public void dict_01() { testDict("http://example/"); }
+    @Test public void dict_02() { testDict("http://user@host:8080/a/b/c?q=1#frag"); }
+    @Test public void dict_03() { testDict("http://[::1]:80/"); }
+    @Test public void dict_04() { testDict("http://host"); }
+    @Test public void dict_05() { testDict("http://host?q"); }
+    @Test public void dict_06() { testDict("http://host#f"); }
+    @Test public void dict_07() { testDict("urn:x-local:abc"); }
+    @Test public void dict_08() { testDict("urn:x-local:"); }
+    @Test public void dict_09() { testDict("file:///tmp/file"); }
+    @Test public void dict_10() { testDict("a/b/c"); }
+    @Test public void dict_11() { testDict("//host/path"); }
+    @Test public void dict_12() { testDict("#frag"); }
+    @Test public void dict_13() { testDict("?q"); }
+    @Test public void dict_14() { testDict(""); }
+    @Test public void dict_15() { testDict("http://αβγ/δ?ε#ζ"); }
+    @Test public void dict_16() { testDict("http:"); }
+    @Test public void dict_17() { testDict("http:abc"); }
+    @Test public void dict_18() { testDict("http://host/a/?q/r#f?/"); }
+    @Test public void dict_19() { testDict("http://host/a/b#"); }
+    @Test public void dict_20() { testDict("http://host/a/b?"); }
+    @Test public void dict_21() { testDict("///x"); }
+    @Test public void dict_22() { testDict("abc"); }
+    @Test public void dict_23() { testDict("http://host/a:b"); }
+
+    // Violations
+    @Test public void dict_30() { testDict("http://HOST/"); }
+    @Test public void dict_31() { testDict("urn:uuid:bad"); }
+
+    @Test public void dict_ids_01() {
+        IRIDictionary dict = IRIDictionary.create();
+        int id1 = dict.getOrAdd("http://example/a");
+        int id2 = dict.getOrAdd("http://example/b");
+        int id3 = dict.getOrAdd("http://example/a");
+        assertEquals(0, id1);
+        assertEquals(1, id2);
+        assertEquals(id1, id3);
+        assertEquals(2, dict.size());
+        assertEquals(1, dict.namespaceCount());
+    }
+
+    @Test public void dict_ids_02() {
+        IRIDictionary dict = IRIDictionary.create();
+        dict.getOrAdd("http://example/a");
+        assertEquals(IRIDictionary.NO_ID, dict.lookup("http://example/b"));
+        assertEquals(IRIDictionary.NO_ID, dict.lookup("http://other/a"));
+        assertEquals(IRIDictionary.NO_ID, dict.lookup("http://example/a b"));
+        assertEquals(1, dict.size());
+    }
+
+    @Test public void dict_ids_03() {
+        IRIDictionary dict = IRIDictionary.create();
+        assertThrows(IRIParseException.class, ()->dict.getOrAdd("http://example/a b"));
+        assertThrows(IndexOutOfBoundsException.class, ()->dict.str(0));
+        assertThrows(IndexOutOfBoundsException.class, ()->dict.get(-1));
+    }
+
+    @Test public void dict_many_01() {
+        // Enough to grow the tables several times.
+        IRIDictionary dict = IRIDictionary.create();
+        int N = 10_000;
+        for ( int i = 0 ; i < N ; i++ )
+            assertEquals(i, dict.getOrAdd(iriStr(i)));
+        assertEquals(N, dict.size());
+        for ( int i = 0 ; i < N ; i++ ) {
+            assertEquals(i, dict.lookup(iriStr(i)));
+            assertEquals(iriStr(i), dict.str(i));
+        }
+    }
+
+    @Test public void dict_concurrent_01() {
+        IRIDictionary dict = IRIDictionary.create();
+        int N = 5_000;
+        int[] ids = IntStream.range(0, 4*N).parallel().map(i->dict.getOrAdd(iriStr(i % N))).toArray();
+        assertEquals(N, dict.size());
+        for ( int i = 0 ; i < ids.length ; i++ ) {
+            assertEquals(iriStr(i % N), dict.str(ids[i]));
+            assertEquals(ids[i % N], ids[i]);
+        }
+    }
+
+    private static String iriStr(int i) {
+        return "http://example/ns"+(i % 17)+"/item"+i+( i % 3 == 0 ? "?q="+i : "" );
+    }
+
+    private static void testDict(String string) {
+        IRI3986 iri = RFC3986.create(string);
+        IRIDictionary dict = IRIDictionary.create();
+        dict.getOrAdd("http://example/other");
+        int id = dict.getOrAdd(iri);
+        assertEquals(1, id);
+        assertEquals(id, dict.lookup(iri));
+        assertEquals(id, dict.lookup(string));
+        assertEquals(id, dict.getOrAdd(string));
+        assertTrue(dict.contains(iri));
+        assertEquals(string, dict.str(id));
+        IRI3986 iri2 = dict.get(id);
+        assertTrue(iri2.identical(iri, true));
+        assertEquals(iri.violations(), iri2.violations());
+    }
+}
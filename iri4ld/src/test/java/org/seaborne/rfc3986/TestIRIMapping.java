@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.seaborne.rfc3986.LibTestURI.sameAsParsed;
+
+import org.junit.jupiter.api.Test;
+
+/** IRI to URI and URI to IRI (RFC 3987 sections 3.1 and 3.2). */
+public class TestIRIMapping {
+
+    @Test public void toURI_01() { toURI("http://example/abc", "http://example/abc"); }
+    @Test public void toURI_02() { toURI("http://example/café", "http://example/caf%C3%A9"); }
+    @Test public void toURI_03() { toURI("http://example/€?€#€", "http://example/%E2%82%AC?%E2%82%AC#%E2%82%AC"); }
+    @Test public void toURI_04() { toURI("http://ü@éxample:8080/a", "http://%C3%BC@%C3%A9xample:8080/a"); }
+    @Test public void toURI_05() { toURI("http://example/😀/x", "http://example/%F0%9F%98%80/x"); }
+    @Test public void toURI_06() { toURI("http://example/?\uE000", "http://example/?%EE%80%80"); }
+    @Test public void toURI_07() { toURI("urn:example:ü", "urn:example:%C3%BC"); }
+    @Test public void toURI_08() { toURI("//é/p", "//%C3%A9/p"); }
+    @Test public void toURI_09() { toURI("é/p?q#f", "%C3%A9/p?q#f"); }
+    @Test public void toURI_10() { toURI("http://example/a%20é", "http://example/a%20%C3%A9"); }
+    @Test public void toURI_11() { toURI("http://[::1]/é", "http://[::1]/%C3%A9"); }
+    @Test public void toURI_12() { toURI("http://example#é", "http://example#%C3%A9"); }
+
+    @Test public void toIRI_01() { toIRI("http://example/abc", "http://example/abc"); }
+    @Test public void toIRI_02() { toIRI("http://example/caf%C3%A9", "http://example/café"); }
+    @Test public void toIRI_03() { toIRI("http://example/caf%c3%a9", "http://example/café"); }
+    @Test public void toIRI_04() { toIRI("http://%C3%BC@%C3%A9xample:8080/a", "http://ü@éxample:8080/a"); }
+    @Test public void toIRI_05() { toIRI("http://example/%E2%82%AC?%E2%82%AC#%E2%82%AC", "http://example/€?€#€"); }
+    @Test public void toIRI_06() { toIRI("http://example/%F0%9F%98%80/x", "http://example/😀/x"); }
+    // ASCII is not decoded.
+    @Test public void toIRI_07() { toIRI("http://example/a%20b%2F", "http://example/a%20b%2F"); }
+    // Not UTF-8.
+    @Test public void toIRI_08() { toIRI("http://example/%FF%C3", "http://example/%FF%C3"); }
+    @Test public void toIRI_09() { toIRI("http://example/%C3%A9%FF", "http://example/é%FF"); }
+    // Not ucschar : U+0080 and U+FFFE.
+    @Test public void toIRI_10() { toIRI("http://example/%C2%80%EF%BF%BE", "http://example/%C2%80%EF%BF%BE"); }
+    // iprivate only in the query.
+    @Test public void toIRI_11() { toIRI("http://example/%EE%80%80?%EE%80%80", "http://example/%EE%80%80?\uE000"); }
+    @Test public void toIRI_12() { toIRI("%C3%A9/p?q#f", "é/p?q#f"); }
+    @Test public void toIRI_13() { toIRI("urn:example:%C3%BC", "urn:example:ü"); }
+    // Bidirectional formatting characters are not converted.
+    @Test public void toIRI_14() { toIRI("http://h/%E2%80%8F", "http://h/%E2%80%8F"); }
+    @Test public void toIRI_15() { toIRI("http://h/a%E2%80%AEb", "http://h/a%E2%80%AEb"); }
+    @Test public void toIRI_16() { toIRI("http://h/%E2%80%8E?%E2%80%AA#%E2%80%AC", "http://h/%E2%80%8E?%E2%80%AA#%E2%80%AC"); }
+    @Test public void toIRI_17() { toIRI("http://h/%E2%80%8F%C3%A9%E2%80%AD", "http://h/%E2%80%8Fé%E2%80%AD"); }
+    @Test public void toIRI_18() { toIRI("http://h/%E2%80%8D%E2%80%A9%E2%80%AF", "http://h/\u200D\u2029\u202F"); }
+
+    @Test public void roundtrip_01() { roundtrip("http://user@example.org:8080/dir/é/€?q=😀&r=ü#frag-ñ"); }
+    @Test public void roundtrip_02() { roundtrip("http://例え.jp/パス"); }
+    @Test public void roundtrip_03() { roundtrip("//é?é#é"); }
+
+    @Test public void violations_01() {
+        IRI3986 iri = RFC3986.create("http://EXAMPLE/é");
+        IRI3986 uri = iri.toURI();
+        assertEquals(iri.violations().size(), uri.violations().size());
+        assertEquals(Issue.iri_host_not_lowercase, uri.violations().get(0).issue());
+    }
+
+    private static void toURI(String iriStr, String expected) {
+        IRI3986 iri = RFC3986.create(iriStr);
+        IRI3986 uri = iri.toURI();
+        sameAsParsed(expected, uri);
+        assertTrue(uri.isRFC3986());
+        if ( iriStr.equals(expected) )
+            assertSame(iri, uri);
+    }
+
+    private static void toIRI(String uriStr, String expected) {
+        IRI3986 uri = RFC3986.create(uriStr);
+        IRI3986 iri = uri.toIRI();
+        sameAsParsed(expected, iri);
+        if ( uriStr.equals(expected) )
+            assertSame(uri, iri);
+    }
+
+    private static void roundtrip(String iriStr) {
+        IRI3986 iri = RFC3986.create(iriStr);
+        IRI3986 uri = iri.toURI();
+        assertTrue(uri.isRFC3986());
+        sameAsParsed(iriStr, uri.toIRI());
+    }
+}
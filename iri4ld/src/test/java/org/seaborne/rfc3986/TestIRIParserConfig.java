@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class TestIRIParserConfig {
+
+    private static IRIParserConfig noHandler = IRIParserConfig.system().withErrorHandler(null);
+
+    @Test public void config_01() { sameAsSystem("http://example/abc"); }
+    @Test public void config_02() { sameAsSystem("http://HOST:80/abc"); }
+    @Test public void config_03() { sameAsSystem("urn:uuid:06e775AC-2c38-11b2-801c-8086f2cc00c9"); }
+    @Test public void config_04() { sameAsSystem("urn:x-local:nss?query=foo"); }
+    @Test public void config_05() { sameAsSystem("file:relative"); }
+    @Test public void config_06() { sameAsSystem("uuid:bad"); }
+
+    // Scheme checks.
+    @Test public void schemes_01() { schemes("http://HOST:80/", noHandler.withSchemes(URIScheme.GENERAL), Issue.iri_host_not_lowercase); }
+    @Test public void schemes_02() { schemes("http://HOST:80/", noHandler.withSchemes(URIScheme.HTTP), Issue.http_omit_well_known_port); }
+    @Test public void schemes_03() { schemes("http://HOST:80/", noHandler.withSchemes()); }
+    @Test public void schemes_04() { schemes("https://host:443/", noHandler.withSchemes(URIScheme.HTTP)); }
+    @Test public void schemes_05() { schemes("urn:uuid:bad", noHandler.withSchemes(URIScheme.URN_UUID), Issue.uuid_bad_pattern); }
+    @Test public void schemes_06() { schemes("urn:uuid:bad", noHandler.withSchemes(URIScheme.URN)); }
+    @Test public void schemes_07() { schemes("urn:x-local:nss", noHandler.withSchemes(URIScheme.URN_UUID)); }
+    @Test public void schemes_08() { schemes("urn:x-local:nss", noHandler.withSchemes(URIScheme.URN), Issue.urn_x_namespace); }
+    @Test public void schemes_09() { schemes("http://HOST:80/", noHandler.withSchemes().withAllSchemes(),
+                                             Issue.iri_host_not_lowercase, Issue.http_omit_well_known_port); }
+
+    @Test public void handler_01() {
+        // The system error handler throws on errors.
+        IRIParserConfig config = IRIParserConfig.system();
+        assertThrows(IRIParseException.class, ()->config.create("http://host:80/"));
+        // Warning
+        IRI3986 iri = config.create("http://HOST/");
+        assertTrue(iri.hasViolations());
+    }
+
+    @Test public void handler_02() {
+        List<String> errors = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        IRIParserConfig config = IRIParserConfig.system().withErrorHandler(ErrorHandler.create(errors::add, warnings::add));
+        config.create("http://HOST:80/");
+        assertEquals(1, errors.size());
+        assertEquals(1, warnings.size());
+        config.withSeverityMap(Violations.strictLevels).create("http://HOST:80/");
+        assertEquals(3, errors.size());
+        assertEquals(1, warnings.size());
+    }
+
+    @Test public void handler_03() {
+        // createAny does not use the error handler.
+        IRIParserConfig config = IRIParserConfig.system();
+        IRI3986 iri1 = config.createAny("http://host:80/");
+        assertTrue(iri1.hasViolations());
+        IRI3986 iri2 = config.createAny("http://host/a b");
+        assertEquals(Issue.ParseError, iri2.violations().get(0).issue());
+    }
+
+    @Test public void severity_01() {
+        IRI3986 iri = noHandler.create("http://HOST/");
+        assertEquals(Severity.WARNING, noHandler.severity(Issue.iri_host_not_lowercase));
+        assertFalse(noHandler.hasViolations(iri, Severity.WARNING));
+        IRIParserConfig strict = noHandler.withSeverityMap(Violations.strictLevels);
+        assertEquals(Severity.ERROR, strict.severity(Issue.iri_host_not_lowercase));
+        assertTrue(strict.hasViolations(iri, Severity.WARNING));
+    }
+
+    @Test public void resolve_01() {
+        IRI3986 base = RFC3986.create("http://host/dir/");
+        IRI3986 rel = RFC3986.create("//host:80/a");
+        IRI3986 iri1 = noHandler.resolve(base, rel);
+        assertEquals("http://host:80/a", iri1.str());
+        assertTrue(iri1.hasViolations());
+        IRI3986 iri2 = noHandler.withSchemes(URIScheme.GENERAL).resolve(base, rel);
+        assertEquals("http://host:80/a", iri2.str());
+        assertFalse(iri2.hasViolations());
+        assertThrows(IRIParseException.class, ()->RFC3986.resolve(base, rel, IRIParserConfig.system()));
+    }
+
+    @Test public void cache_01() {
+        IRICache cache = IRICache.create(10);
+        IRIParserConfig config = noHandler.withSchemes(URIScheme.GENERAL).withCache(cache);
+        IRI3986 iri1 = config.create("http://HOST:80/");
+        IRI3986 iri2 = RFC3986.create("http://HOST:80/", config);
+        assertSame(iri1, iri2);
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, iri1.violations().size());
+        assertNull(SystemIRI3986.getCache());
+    }
+
+    @Test public void cache_02() {
+        AuthorityCache authorityCache = AuthorityCache.create(10);
+        IRIParserConfig config = noHandler.withAuthorityCache(authorityCache);
+        config.create("http://example/a");
+        IRI3986 iri = RFC3986.createAny("http://example/b", config);
+        assertEquals("example", iri.host());
+        assertEquals(1, authorityCache.stats().hits());
+        assertNull(SystemIRI3986.getAuthorityCache());
+    }
+
+    @Test public void cache_03() {
+        // Changing the scheme checks does not keep the system IRI cache.
+        IRICache cache = IRICache.create(10);
+        SystemIRI3986.setCache(cache);
+        try {
+            IRIParserConfig config = IRIParserConfig.system().withErrorHandler(null);
+            assertSame(cache, config.cache());
+            IRIParserConfig general = config.withSchemes(URIScheme.GENERAL);
+            assertNull(general.cache());
+            assertNull(general.withAllSchemes().cache());
+            assertSame(cache, config.withAllSchemes().cache());
+            assertSame(cache, general.withSchemes(URIScheme.GENERAL).withCache(cache).withSchemes(URIScheme.GENERAL).cache());
+            general.create("http://host:80/");
+            IRI3986 iri = RFC3986.createAny("http://host:80/");
+            assertEquals(1, iri.violations().size());
+            assertEquals(Issue.http_omit_well_known_port, iri.violations().get(0).issue());
+        } finally {
+            SystemIRI3986.setCache(null);
+        }
+    }
+
+    @Test public void immutable_01() {
+        IRIParserConfig config = noHandler.withSchemes(URIScheme.HTTP);
+        assertThrows(UnsupportedOperationException.class, ()->config.schemes().add(URIScheme.URN));
+        assertThrows(NullPointerException.class, ()->noHandler.withSeverityMap(null));
+    }
+
+    @Test public void concurrent_01() throws Exception {
+        // Different settings at the same time.
+        IRIParserConfig strict = noHandler.withSeverityMap(Violations.strictLevels);
+        IRIParserConfig lenient = noHandler.withSchemes(URIScheme.GENERAL);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for ( int t = 0 ; t < 4 ; t++ ) {
+                IRIParserConfig config = ( t%2 == 0 ) ? strict : lenient;
+                futures.add(executor.submit(()->{
+                    for ( int i = 0 ; i < 1000 ; i++ ) {
+                        IRI3986 iri = config.create("http://host:80/"+i);
+                        assertEquals(config == strict, config.hasViolations(iri, Severity.WARNING));
+                    }
+                }));
+            }
+            for ( Future<?> f : futures )
+                f.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void sameAsSystem(String iriStr) {
+        IRI3986 expected = RFC3986.createAny(iriStr);
+        IRI3986 iri = noHandler.createAny(iriStr);
+        assertEquals(expected.violations(), iri.violations());
+    }
+
+    private static void schemes(String iriStr, IRIParserConfig config, Issue... issues) {
+        IRI3986 iri = config.create(iriStr);
+        List<Issue> actual = iri.violations().stream().map(Violation::issue).toList();
+        assertEquals(List.of(issues), actual);
+    }
+}
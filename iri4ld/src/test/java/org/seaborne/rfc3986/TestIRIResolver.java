@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class TestIRIResolver {
+
+    private static final String[] bases = {
+        "http://example/dir1/dir2/file?query#frag",
+        "http://example/dir1/dir2/",
+        "http://example/dir1/./dir2/../file",
+        "http://example",
+        "http://example/",
+        "http://example//x/y",
+        "https://user@host:8080/a/b/c",
+        "urn:x:y",
+        "file:///tmp/file",
+        "http:",
+        "a/b/c",
+        "/a/b",
+        "",
+    };
+
+    private static final String[] references = {
+        "", "A", "A/", "A//", "/A", "./A", "../A", "../../../../A", ".", "..", "./", "../",
+        "a/./b/../c", "a/.b/..c", "..a/b", "a..", "?q", "?q#f", "#f", "A?q#f",
+        "//host/path", "//host", "http:A", "http://other/A", "https:A", "urn:foo/",
+        "a//b", "a/b//", "/", "//", "./.", "a:b",
+    };
+
+    @Test public void resolver_all() {
+        for ( String b : bases ) {
+            IRI3986 base = IRI3986.create(b);
+            IRIResolver resolver = IRIResolver.create(base);
+            for ( String r : references ) {
+                if ( r.equals("a:b") && !base.hasScheme() )
+                    continue;
+                IRI3986 ref = IRI3986.create(r);
+                String expected = base.resolve(ref).str();
+                assertEquals(expected, resolver.resolve(ref).str(), ()->"<"+b+"> <"+r+">");
+                assertEquals(expected, resolver.resolve(r).str(), ()->"<"+b+"> <"+r+">");
+                assertTrue(resolver.resolve(ref).identical(IRI3986.create(expected), true), ()->"<"+b+"> <"+r+">");
+            }
+        }
+    }
+
+    @Test public void resolver_cache_01() {
+        IRIResolver resolver = IRIResolver.create(IRI3986.create("http://example/dir/"), 2);
+        IRI3986 iri1 = resolver.resolve("A");
+        IRI3986 iri2 = resolver.resolve("A");
+        assertSame(iri1, iri2);
+        assertEquals("http://example/dir/A", iri1.str());
+        assertEquals(1, resolver.cacheSize());
+    }
+
+    @Test public void resolver_cache_02() {
+        IRIResolver resolver = IRIResolver.create(IRI3986.create("http://example/dir/"), 2);
+        resolver.resolve("A");
+        resolver.resolve("B");
+        resolver.resolve("C");
+        assertEquals(2, resolver.cacheSize());
+    }
+
+    @Test public void resolver_cache_03() {
+        IRIResolver resolver = IRIResolver.create(IRI3986.create("http://example/dir/"));
+        IRI3986 iri1 = resolver.resolve("A");
+        IRI3986 iri2 = resolver.resolve("A");
+        assertNotSame(iri1, iri2);
+        assertEquals(iri1, iri2);
+        assertEquals(0, resolver.cacheSize());
+    }
+
+    @Test public void resolver_bad_01() {
+        IRIResolver resolver = IRIResolver.create(IRI3986.create("http://example/dir/"), 10);
+        assertThrows(IRIParseException.class, ()->resolver.resolve("a b"));
+        assertEquals(0, resolver.cacheSize());
+    }
+
+    @Test public void resolver_bad_02() {
+        assertThrows(IllegalArgumentException.class, ()->IRIResolver.create(IRI3986.create("http://example/dir/"), -1));
+    }
+}
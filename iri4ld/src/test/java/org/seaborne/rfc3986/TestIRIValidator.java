@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/** {@link IRIValidator} agrees with {@link IRI3986} parsing. */
+public class TestIRIValidator {
+
+    @Test public void validate_01() { test("http://example/path?q=1#frag"); }
+    @Test public void validate_02() { test("http://example"); }
+    @Test public void validate_03() { test("http://example:8080/"); }
+    @Test public void validate_04() { test("http://user:pw@host:99/"); }
+    @Test public void validate_05() { test("http://[::1]/"); }
+    @Test public void validate_06() { test("http://[v1.fe]/"); }
+    @Test public void validate_07() { test("http://[::1"); }
+    @Test public void validate_08() { test("http://[::1]]/"); }
+    @Test public void validate_09() { test("http://[::g]/"); }
+    @Test public void validate_10() { test("http://a@b@c/"); }
+    @Test public void validate_11() { test("http://h:1:2/"); }
+    @Test public void validate_12() { test("http://h:x/"); }
+    @Test public void validate_13() { test("http://h/%41"); }
+    @Test public void validate_14() { test("http://h/%4"); }
+    @Test public void validate_15() { test("http://h/%zz"); }
+    @Test public void validate_16() { test("http://h%41/"); }
+    @Test public void validate_17() { test("http://h%4x/"); }
+    @Test public void validate_18() { test("http://h/a b"); }
+    @Test public void validate_19() { test("http://h/a|b"); }
+    @Test public void validate_20() { test("http://h/a?b|c"); }
+    @Test public void validate_21() { test("http://h/a#b#c"); }
+    @Test public void validate_22() { test("http://h/αβγ?\uE000#x"); }
+    @Test public void validate_23() { test("http://h/?#\uE000"); }
+    @Test public void validate_24() { test("urn:uuid:6cd62c0e-e6c1-11ec-8fea-0242ac120002"); }
+    @Test public void validate_25() { test("urn:x-local:abc?+r?=q#f"); }
+    @Test public void validate_26() { test("mailto:a@b"); }
+    @Test public void validate_27() { test("file:///path"); }
+    @Test public void validate_28() { test(""); }
+    @Test public void validate_29() { test("#f"); }
+    @Test public void validate_30() { test("?q"); }
+    @Test public void validate_31() { test("a/b"); }
+    @Test public void validate_32() { test("./a"); }
+    @Test public void validate_33() { test("../a"); }
+    @Test public void validate_34() { test("//host/a"); }
+    @Test public void validate_35() { test(":abc"); }
+    @Test public void validate_36() { test("a:b"); }
+    @Test public void validate_37() { test("a/b:c"); }
+    @Test public void validate_38() { test("1a:b"); }
+    @Test public void validate_39() { test("-a:b/c"); }
+    @Test public void validate_40() { test("a:b:c"); }
+    @Test public void validate_41() { test("http:"); }
+    @Test public void validate_42() { test("http:/path"); }
+    @Test public void validate_43() { test("http://"); }
+    @Test public void validate_44() { test("x:/\uD800\uDC00/"); }
+    @Test public void validate_45() { test("http://h/[x]"); }
+    @Test public void validate_46() { test("http://h/\u0001"); }
+    // Long runs, then a character the run scanner stops at.
+    @Test public void validate_47() { test("http://example/aaaa/bbbb/cccc/dddd/eeee?x=1&y=2/3?4#frag/ment?"); }
+    @Test public void validate_48() { test("http://example/aaaa/bb%20bb/cc\u00E9cc/dddd?x=%41&y=\u00E9#f%20g"); }
+    @Test public void validate_49() { test("http://example/aaaa/bbbb/cc%2/dddd"); }
+    @Test public void validate_50() { test("http://example/aaaa?x=1&y=2#a#b"); }
+    @Test public void validate_51() { test("http://example/aaaa?x=\uE000"); }
+    @Test public void validate_52() { test("http://example/aaaa#x=\uE000"); }
+    @Test public void validate_53() { test("a/b:c/d:e"); }
+
+    @Test public void validate_position_01() { testPosition("http://h/a b", 10); }
+    @Test public void validate_position_02() { testPosition("http://h/%zz", 9); }
+    @Test public void validate_position_03() { testPosition(":abc", 0); }
+    @Test public void validate_position_04() { testPosition("http://h:1:2/", 10); }
+    @Test public void validate_position_05() { testPosition("a/b#c#d", 5); }
+    @Test public void validate_position_06() { testPosition("http://h/aaaa/bbbb/cccc dddd", 23); }
+    @Test public void validate_position_07() { testPosition("http://h/aaaa?bbbb=cccc dddd", 23); }
+
+    @Test public void validate_issues_01() {
+        long issues = IRIValidator.issues("HTTP://EXAMPLE:80/");
+        assertTrue(IRIValidator.hasIssue(issues, Issue.iri_scheme_name_is_not_lowercase));
+        assertTrue(IRIValidator.hasIssue(issues, Issue.iri_host_not_lowercase));
+        assertTrue(IRIValidator.hasIssue(issues, Issue.http_omit_well_known_port));
+        assertFalse(IRIValidator.hasIssue(issues, Issue.ParseError));
+    }
+
+    @Test public void validate_issues_02() {
+        long issues = IRIValidator.issues("http://example/a b");
+        assertEquals(Set.of(Issue.ParseError), IRIValidator.issueSet(issues));
+    }
+
+    @Test public void validate_issues_03() {
+        assertEquals(0L, IRIValidator.issues("http://example/"));
+    }
+
+    private static void test(String string) {
+        boolean expected = parses(string);
+        int x = IRIValidator.check(string);
+        assertEquals(expected, x == IRIValidator.VALID, ()->"Result: "+x);
+        assertEquals(expected, IRIValidator.isValid(string));
+        if ( expected )
+            assertNull(IRIValidator.errorMessage(string));
+        else {
+            assertTrue(x >= 0 && x <= string.length(), ()->"Position: "+x);
+            assertNotNull(IRIValidator.errorMessage(string));
+        }
+        // As a region.
+        String s2 = "<"+string+">";
+        int x2 = IRIValidator.check(s2, 1, s2.length()-1);
+        assertEquals(x == IRIValidator.VALID ? x : x+1, x2);
+
+        // Issues
+        long issues = IRIValidator.issues(string);
+        IRI3986 iri = IRI3986.createAny(string);
+        Set<Issue> expectedIssues = EnumSet.noneOf(Issue.class);
+        iri.forEachViolation(v->expectedIssues.add(v.issue()));
+        assertEquals(expectedIssues, IRIValidator.issueSet(issues));
+    }
+
+    private static void testPosition(String string, int expected) {
+        assertEquals(expected, IRIValidator.check(string));
+    }
+
+    private static boolean parses(String string) {
+        try {
+            IRI3986.create(string);
+            return true;
+        } catch (IRIParseException ex) {
+            return false;
+        }
+    }
+}
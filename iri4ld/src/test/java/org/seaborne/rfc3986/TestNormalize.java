@@ -18,7 +18,14 @@
 
 package org.seaborne.rfc3986;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
 
 import org.junit.jupiter.api.Test;
 
@@ -49,10 +56,191 @@ public class TestNormalize {
     @Test public void normalize_26() { testNormalize("http://host/abc", "http://host/abc"); }
     @Test public void normalize_27() { testNormalize("http://host/", "http://host/"); }
 
+    @Test public void normalize_28() { testNormalize("http://host/a/./b/../c", "http://host/a/c"); }
+    @Test public void normalize_29() { testNormalize("http://host/a/%2E/b/%2e%2E/c", "http://host/a/c"); }
+    @Test public void normalize_30() { testNormalize("http://host/a/b/..", "http://host/a/"); }
+    @Test public void normalize_31() { testNormalize("http://host/../../a", "http://host/a"); }
+    @Test public void normalize_32() { testNormalize("http://h%4F%6fST:8080/a%2fb", "http://hoost:8080/a%2Fb"); }
+    @Test public void normalize_33() { testNormalize("https://host:80/", "https://host:80/"); }
+    @Test public void normalize_34() { testNormalize("urn:x:y", "urn:x:y"); }
+    @Test public void normalize_35() { testNormalize("a/b/../../..", "/"); }
+    @Test public void normalize_36() { testNormalize("#frag", "/#frag"); }
+    @Test public void normalize_37() { testNormalize("http://User@HOST/", "http://user@host/"); }
+    @Test public void normalize_38() { testNormalize("http://[FE80::ABCD]:80/", "http://[fe80::abcd]/"); }
+    @Test public void normalize_39() { testNormalize("https://h:?x", "https://h/?x"); }
+    @Test public void normalize_40() { testNormalize("HTTP://h:80#", "http://h/#"); }
+    @Test public void normalize_41() { testNormalize("http://h:#f", "http://h/#f"); }
+    @Test public void normalize_42() { testNormalize("http://h:80?q", "http://h/?q"); }
+    @Test public void normalize_43() { testNormalize("//h:?q", "//h/?q"); }
+
+    @Test public void equivalent_01() { testEquivalent("http://example/a/b/c/%7Bfoo%7D", "eXAMPLE://a/./b/../b/%63/%7bfoo%7d", false); }
+    @Test public void equivalent_02() { testEquivalent("example://a/b/c/%7Bfoo%7D", "eXAMPLE://a/./b/../b/%63/%7bfoo%7d", true); }
+    @Test public void equivalent_03() { testEquivalent("HTTP://HOST:80", "http://host/", true); }
+    @Test public void equivalent_04() { testEquivalent("http://host:8080/", "http://host/", false); }
+    @Test public void equivalent_05() { testEquivalent("http://host/a?q=%7e#%41", "http://host/a?q=~#A", true); }
+    @Test public void equivalent_06() { testEquivalent("http://host/a?q=%7e", "http://host/a?Q=~", false); }
+    @Test public void equivalent_07() { testEquivalent("http://host/a", "http://host/a/", false); }
+    @Test public void equivalent_08() { testEquivalent("http://host/a/b/..", "http://host/a/", true); }
+    @Test public void equivalent_09() { testEquivalent("http://host/a/b/..", "http://host/a", false); }
+
+    @Test public void isNormalized_01() { testIsNormalized("http://host/a/b/c?q=1#2", true); }
+    @Test public void isNormalized_02() { testIsNormalized("http://host", false); }
+    @Test public void isNormalized_03() { testIsNormalized("HTTP://host/", false); }
+    @Test public void isNormalized_04() { testIsNormalized("http://Host/", false); }
+    @Test public void isNormalized_05() { testIsNormalized("http://host/A", true); }
+    @Test public void isNormalized_06() { testIsNormalized("http://host:80/", false); }
+    @Test public void isNormalized_07() { testIsNormalized("http://host:8080/", true); }
+    @Test public void isNormalized_08() { testIsNormalized("http://host/a/./b", false); }
+    @Test public void isNormalized_09() { testIsNormalized("http://host/a%2Fb", true); }
+    @Test public void isNormalized_10() { testIsNormalized("http://host/a%2fb", false); }
+    @Test public void isNormalized_11() { testIsNormalized("http://host/%41", false); }
+    @Test public void isNormalized_12() { testIsNormalized("http://host/a//", false); }
+    @Test public void isNormalized_13() { testIsNormalized("urn:x:y", true); }
+    @Test public void isNormalized_14() { testIsNormalized("http://h\u00E9/", true); }
+    @Test public void isNormalized_15() { testIsNormalized("http://H\u00C9/", false); }
+    @Test public void isNormalized_16() { testIsNormalized("http://h\u00C9/", false); }
+
+    @Test public void normalizeBuffer_01() {
+        IRI3986 iri = RFC3986.create("http://host/a/b");
+        StringBuilder sb = new StringBuilder("unused");
+        assertSame(iri, iri.normalize(sb));
+        assertEquals("unused", sb.toString());
+    }
+
+    @Test public void normalizeBuffer_02() {
+        IRI3986 iri = RFC3986.create("HTTP://HOST:80/a/./b/../c");
+        StringBuilder sb = new StringBuilder("unused");
+        IRI3986 iri2 = iri.normalize(sb);
+        assertEquals("http://host/a/c", iri2.str());
+        assertEquals("http://host/a/c", sb.toString());
+        assertTrue(iri2.identical(IRI3986.create("http://host/a/c"), true));
+    }
+
+    @Test public void appendNormalized_01() {
+        IRI3986 iri = RFC3986.create("HTTP://HOST:80/a/./b/../c");
+        StringBuilder sb = new StringBuilder("<");
+        iri.appendNormalized(sb).append('>');
+        assertEquals("<http://host/a/c>", sb.toString());
+    }
+
+    // Normalized hash, comparison and equivalence across many IRIs.
+    @Test public void normalized_all() {
+        List<String> strings = List.of(
+            "http://host/a/b/c?q=1#2", "HtTp://host/a/b/c?q=1#2", "HTTP://HOST:/a/b/c?q=1#2", "HTTP://HOST:80/a/b/c?q=1#2",
+            "HTTPs://HOST:443/a/b/c?q=1#2", "https://host:80/", "http://host:443/", "http://host:0080/", "ftp://host:80/",
+            "http://host", "http://host#frag", "http://host?q=s", "http://host%20/?q=s", "http://hOSt%20/foo%62ar?q=s",
+            "http://host/foobar?q=s%74", "http://host/foobar#%7E", "http://host/foobar#%7e%41%2f", "http://host/%2F%2f",
+            "http://host/foobar///", "http://host//", "http://host///", "http://host//..", "http://host/abc//..",
+            "http://host/abc/", "http://host/abc", "http://host/", "http://host/.", "http://host/..", "http://host/./",
+            "http://host/../", "http://host/a/.", "http://host/a/..", "http://host/a/../..", "http://host/a/../../b",
+            "http://host/../a", "http://host/./a/./b/", "http://host/a//b/../c", "http://host/a//../b", "http://host//a//",
+            "http://host/a/%2E/b/%2E%2e/c", "http://host/a/.%2E/b", "http://host/a/..b/.c/c.", "http://host/a/.../b",
+            "http://host/a/b/c/../../..", "http://host/a/b/c/../../../..", "http://host/a/./../b/./../c",
+            "http://user:PW@HOST/", "http://%55ser@host/", "http://[FE80::1]:80/", "http://[fe80::1]/", "http://h%C3%A9/",
+            "http://h\u00E9llo/", "http://H\u00C9LLO/", "http://\u0130/", "HTTP://\u00C9/a/../b",
+            "urn:x:y", "URN:x:y", "urn:", "urn:x/./y", "urn:x/../y", "file:///a/b", "file:///a/../b", "file:/a/b",
+            "mailto:someone@example.org", "a", "a/b", "a/b/..", "a/b/../..", "a/b/../../..", "./a", "../a", ".", "..",
+            "", "/", "//", "//host", "//host/a/../b", "?q", "#f", "a?q#f", "/a/b%2e/c", "/a/%41%42%43/c",
+            "http://host/a/b?%2E%2E#%2E", "http://host/a/b?x#y/../z", "https://h:?x", "HTTP://h:80#", "http://h:443?q", "http://host/%7euser/", "http://host/~user/"
+            );
+        List<IRI3986> iris = strings.stream().map(RFC3986::create).toList();
+        StringBuilder buffer = new StringBuilder();
+        for ( IRI3986 iri1 : iris ) {
+            String n1 = iri1.normalize().str();
+            assertEquals(referenceNormalize(iri1), n1, ()->iri1.str());
+            assertEquals(n1, iri1.normalize(buffer).str(), ()->iri1.str());
+            assertEquals(n1, iri1.appendNormalized(new StringBuilder()).toString(), ()->iri1.str());
+            assertEquals(n1.equals(iri1.str()), iri1.isNormalized(), ()->iri1.str());
+            assertTrue(iri1.normalize().identical(IRI3986.create(n1), false), ()->iri1.str());
+            assertArrayEquals(IRI3986.create(n1).offsets(), iri1.normalize().offsets(), ()->iri1.str());
+            assertEquals(n1, iri1.normalize().normalize().str(), ()->iri1.str());
+            assertEquals(iri1.normalize().hashCode(), iri1.normalizedHashCode(), ()->iri1.str());
+            assertTrue(iri1.equivalentTo(iri1.normalize()), ()->iri1.str());
+            for ( IRI3986 iri2 : iris ) {
+                String n2 = iri2.normalize().str();
+                assertEquals(n1.equals(n2), iri1.equivalentTo(iri2), ()->iri1.str()+" "+iri2.str());
+                assertEquals(Integer.signum(n1.compareTo(n2)), Integer.signum(IRI3986.compareNormalized(iri1, iri2)),
+                             ()->iri1.str()+" "+iri2.str());
+            }
+        }
+    }
+
     private void testNormalize(String input, String expected) {
         IRI3986 iri = RFC3986.create(input);
         IRI3986 iri2 = iri.normalize();
         String s = iri2.toString();
         assertEquals(expected, s);
+        // Built without parsing : same as parsing.
+        assertTrue(iri2.identical(IRI3986.create(s), true));
+        assertArrayEquals(IRI3986.create(s).offsets(), iri2.offsets());
+        // Normalized comparison without normalizing.
+        assertEquals(iri2.hashCode(), iri.normalizedHashCode());
+        assertTrue(iri.equivalentTo(iri2));
+        assertEquals(0, IRI3986.NORMALIZED_ORDER.compare(iri, iri2));
+    }
+
+    private void testIsNormalized(String string, boolean expected) {
+        IRI3986 iri = RFC3986.create(string);
+        assertEquals(expected, iri.isNormalized());
+        assertEquals(expected, iri.normalize() == iri);
+    }
+
+    /** Normalization component by component, as RFC 3986 section 6.2.2 describes it. */
+    private static String referenceNormalize(IRI3986 iri) {
+        String scheme = iri.hasScheme() ? iri.scheme().toLowerCase(Locale.ROOT) : null;
+        String authority = iri.hasAuthority() ? percentNormalize(iri.authority().toLowerCase(Locale.ROOT), true) : null;
+        String path = AlgResolveIRI.remove_dot_segments(percentNormalize(iri.path(), false));
+        if ( path.isEmpty() )
+            path = "/";
+        if ( authority != null && authority.endsWith(":") )
+            authority = authority.substring(0, authority.length() - 1);
+        if ( "http".equals(scheme) && authority != null && authority.endsWith(":80") )
+            authority = authority.substring(0, authority.length() - 3);
+        if ( "https".equals(scheme) && authority != null && authority.endsWith(":443") )
+            authority = authority.substring(0, authority.length() - 4);
+        StringBuilder sb = new StringBuilder();
+        if ( scheme != null )
+            sb.append(scheme).append(':');
+        if ( authority != null )
+            sb.append("//").append(authority);
+        sb.append(path);
+        if ( iri.hasQuery() )
+            sb.append('?').append(percentNormalize(iri.query(), false));
+        if ( iri.hasFragment() )
+            sb.append('#').append(percentNormalize(iri.fragment(), false));
+        return sb.toString();
+    }
+
+    private static String percentNormalize(String string, boolean lowercaseDecoded) {
+        StringBuilder sb = new StringBuilder();
+        for ( int i = 0 ; i < string.length() ; i++ ) {
+            char ch = string.charAt(i);
+            if ( ch != '%' ) {
+                sb.append(ch);
+                continue;
+            }
+            String hex = string.substring(i + 1, i + 3).toUpperCase(Locale.ROOT);
+            i += 2;
+            char x = (char)Integer.parseInt(hex, 16);
+            if ( Chars3986.unreserved(x) )
+                sb.append(lowercaseDecoded ? Character.toLowerCase(x) : x);
+            else
+                sb.append('%').append(hex);
+        }
+        return sb.toString();
+    }
+
+    private void testEquivalent(String string1, String string2, boolean expected) {
+        IRI3986 iri1 = RFC3986.create(string1);
+        IRI3986 iri2 = RFC3986.create(string2);
+        assertEquals(iri1.normalize().equals(iri2.normalize()), expected);
+        if ( expected ) {
+            assertTrue(iri1.equivalentTo(iri2));
+            assertTrue(iri2.equivalentTo(iri1));
+            assertEquals(iri1.normalizedHashCode(), iri2.normalizedHashCode());
+        } else {
+            assertFalse(iri1.equivalentTo(iri2));
+            assertFalse(iri2.equivalentTo(iri1));
+        }
     }
 }
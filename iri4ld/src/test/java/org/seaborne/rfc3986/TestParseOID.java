@@ -18,9 +18,12 @@
 
 package org.seaborne.rfc3986;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.seaborne.rfc3986.LibTestURI.test3986;
 
+import java.util.regex.Pattern;
+
 import org.junit.jupiter.api.Test;
 
 import org.seaborne.rfc3986.ParseOID.OIDParseException;
@@ -48,16 +51,42 @@ public class TestParseOID {
 
     @Test public void oid_10() { badOID("urn:oid:Z"); }
 
+    @Test public void oid_11() { goodOID("oid:1.2.3"); }
+
+    @Test public void oid_12() { goodOID("URN:OID:1.2.3"); }
+
+    @Test public void oid_13() { goodOID("urn:Oid:10.20.0"); }
+
+    @Test public void oid_14() { badOID("urn:oid:1."); }
+
+    @Test public void oid_15() { badOID("urn:oid:.1"); }
+
+    @Test public void oid_16() { badOID("urn:oid:1..2"); }
+
+    @Test public void oid_17() { badOID("urn:oid:1.2\n"); }
+
+    @Test public void oid_18() { badOID("urn:isbn:1.2"); }
+
+    @Test public void oid_19() { badOID("urn:o\u0131d:1.2"); }
+
+    @Test public void oid_20() { badOID("urn:oid:1.2/3"); }
+
     @Test public void iri3986_oid_10() { test3986("urn:oid:2.3.4", 0); }
     @Test public void iri3986_oid_11() { test3986("urn:oid:Z", 1); }
 
+    // The regular expression for the OID grammar, for checking the scanner.
+    private static final String NUM = "(0|[1-9][0-9]*)";
+    private static final Pattern OID_URN_RE = Pattern.compile("^(?:urn:oid|oid):"+NUM+"(\\."+NUM+")*$", Pattern.CASE_INSENSITIVE);
+
     private void goodOID(String string) {
         ParseOID.parse(string);
+        assertEquals(true, OID_URN_RE.matcher(string).matches());
     }
 
     private void badOID(String string) {
         assertThrowsExactly(OIDParseException.class,
                             ()->ParseOID.parse(string)
                 );
+        assertEquals(false, OID_URN_RE.matcher(string).matches());
     }
 }
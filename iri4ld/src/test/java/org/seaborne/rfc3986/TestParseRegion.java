@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/** Parsing regions of bytes and characters. */
+public class TestParseRegion {
+
+    @Test public void region_chars_01() { testChars("http://example/path?q=1#frag"); }
+    @Test public void region_chars_02() { testChars("urn:uuid:6cd62c0e-e6c1-11ec-8fea-0242ac120002"); }
+    @Test public void region_chars_03() { testChars("http://user@[::1]:8080/a/b"); }
+    @Test public void region_chars_04() { testChars("http://ex/αβγ?δ#ε"); }
+    @Test public void region_chars_05() { testChars("../a/b"); }
+    @Test public void region_chars_06() { testChars(""); }
+
+    @Test public void region_bytes_01() { testBytes("http://example/path?q=1#frag"); }
+    @Test public void region_bytes_02() { testBytes("urn:isbn:0451450523"); }
+    @Test public void region_bytes_03() { testBytes("http://ex/αβγ?δ#ε"); }
+    @Test public void region_bytes_04() { testBytes("HTTP://EXAMPLE/%aa"); }
+    @Test public void region_bytes_05() { testBytes("#frag"); }
+
+    @Test public void region_bad_01() { testBad("http://ex/a b"); }
+    @Test public void region_bad_02() { testBad("http://[::1/"); }
+    @Test public void region_bad_03() { testBad("http://ex/%XX"); }
+
+    @Test public void region_bad_04() {
+        byte[] bytes = bytes("<http://ex/>");
+        assertThrows(IndexOutOfBoundsException.class, ()->IRI3986.createSyntax(bytes, 1, 20));
+    }
+
+    @Test public void region_str_01() {
+        StringBuilder sb = new StringBuilder("<http://example/a>");
+        IRI3986 iri = IRI3986.createSyntax(sb, 1, sb.length()-1);
+        // The string is created from the characters.
+        assertEquals("http://example/a", iri.str());
+        assertEquals("/a", iri.path());
+    }
+
+    @Test public void region_violations_01() {
+        byte[] bytes = bytes("<http://EXAMPLE/>");
+        IRI3986 iri = IRI3986.create(bytes, 1, bytes.length-1);
+        assertTrue(iri.hasViolations());
+        IRI3986 iri2 = IRI3986.createSyntax(bytes, 1, bytes.length-1);
+        assertFalse(iri2.hasViolations());
+    }
+
+    private static void testChars(String string) {
+        IRI3986 expected = IRI3986.create(string);
+        String s = "<"+string+"> .";
+        StringBuilder sb = new StringBuilder(s);
+        int end = 1+string.length();
+        test(expected, IRI3986.create(sb, 1, end));
+        test(expected, IRI3986.create(s, 1, end));
+        test(expected, RFC3986.create(s, 1, end));
+    }
+
+    private static void testBytes(String string) {
+        IRI3986 expected = IRI3986.createAny(string);
+        byte[] bytes = bytes("<"+string+"> .");
+        int end = bytes.length-3;
+        test(expected, IRI3986.create(bytes, 1, end));
+        test(expected, RFC3986.create(bytes, 1, end));
+        ByteBuffer bb = ByteBuffer.wrap(bytes);
+        test(expected, IRI3986.create(bb, 1, end));
+        ByteBuffer bbDirect = ByteBuffer.allocateDirect(bytes.length);
+        bbDirect.put(bytes);
+        test(expected, IRI3986.create(bbDirect, 1, end));
+        assertEquals(bytes.length, bbDirect.position());
+        // The limit is not used or changed.
+        bbDirect.flip().limit(2);
+        test(expected, IRI3986.create(bbDirect, 1, end));
+        assertEquals(0, bbDirect.position());
+        assertEquals(2, bbDirect.limit());
+        ByteBuffer bbLimited = ByteBuffer.wrap(bytes).position(1).limit(1);
+        test(expected, IRI3986.create(bbLimited, 1, end));
+        assertEquals(expected.str(), IRI3986.createSyntax(bbLimited, 1, end).str());
+        assertEquals(1, bbLimited.position());
+        assertEquals(1, bbLimited.limit());
+        assertThrows(IndexOutOfBoundsException.class, ()->IRI3986.create(bbLimited, 1, bytes.length+1));
+    }
+
+    private static void testBad(String string) {
+        String s = "<"+string+">";
+        byte[] bytes = bytes(s);
+        assertThrows(IRIParseException.class, ()->IRI3986.create(s, 1, s.length()-1));
+        assertThrows(IRIParseException.class, ()->IRI3986.createSyntax(bytes, 1, bytes.length-1));
+        assertThrows(IRIParseException.class, ()->IRI3986.createSyntax(ByteBuffer.wrap(bytes), 1, bytes.length-1));
+    }
+
+    private static void test(IRI3986 expected, IRI3986 actual) {
+        assertTrue(expected.identical(actual, true), ()->"Expected "+expected+" : Actual: "+actual);
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.violations().size(), actual.violations().size());
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+}
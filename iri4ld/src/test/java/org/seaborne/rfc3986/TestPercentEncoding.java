@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.seaborne.rfc3986.PercentEncoding.Component;
+
+public class TestPercentEncoding {
+
+    @Test public void decode_01() { decode("abc", "abc"); }
+    @Test public void decode_02() { decode("", ""); }
+    @Test public void decode_03() { decode("a%20b", "a b"); }
+    @Test public void decode_04() { decode("%41%42%43", "ABC"); }
+    @Test public void decode_05() { decode("%2f%2F", "//"); }
+    @Test public void decode_06() { decode("caf%C3%A9", "café"); }
+    @Test public void decode_07() { decode("%E2%82%AC", "€"); }
+    @Test public void decode_08() { decode("%F0%9F%98%80", "😀"); }
+    @Test public void decode_09() { decode("a+b", "a+b"); }
+    @Test public void decode_10() { decode("café%20x", "café x"); }
+    // Not UTF-8.
+    @Test public void decode_11() { decode("%FF", "�"); }
+    @Test public void decode_12() { decode("%C3", "�"); }
+    @Test public void decode_13() { decode("%C3x", "�x"); }
+    @Test public void decode_14() { decode("%C3%41", "�A"); }
+    @Test public void decode_15() { decode("%C0%AF", "��"); }
+    @Test public void decode_16() { decode("%ED%A0%80", "���"); }
+    @Test public void decode_17() { decode("%80", "�"); }
+
+    @Test public void decode_bad_01() { decodeBad("%"); }
+    @Test public void decode_bad_02() { decodeBad("%4"); }
+    @Test public void decode_bad_03() { decodeBad("a%4G"); }
+    @Test public void decode_bad_04() { decodeBad("%C3%A"); }
+
+    @Test public void encode_01() { encode("abc", Component.PATH_SEGMENT, "abc"); }
+    @Test public void encode_02() { encode("a b", Component.PATH_SEGMENT, "a%20b"); }
+    @Test public void encode_03() { encode("a/b", Component.PATH_SEGMENT, "a%2Fb"); }
+    @Test public void encode_04() { encode("a/b", Component.PATH, "a/b"); }
+    @Test public void encode_05() { encode("a?b#c", Component.PATH, "a%3Fb%23c"); }
+    @Test public void encode_06() { encode("a?b/c#d", Component.QUERY, "a?b/c%23d"); }
+    @Test public void encode_07() { encode("a=b&c", Component.QUERY, "a=b&c"); }
+    @Test public void encode_08() { encode("a=b&c+d;e", Component.QUERY_PARAM, "a%3Db%26c%2Bd%3Be"); }
+    @Test public void encode_09() { encode("a?b#c", Component.FRAGMENT, "a?b%23c"); }
+    @Test public void encode_10() { encode("user:pw@x", Component.USERINFO, "user:pw%40x"); }
+    @Test public void encode_11() { encode("100%", Component.PATH_SEGMENT, "100%25"); }
+    @Test public void encode_12() { encode("café", Component.PATH_SEGMENT, "café"); }
+    @Test public void encode_13() { encode("[x]", Component.QUERY, "%5Bx%5D"); }
+    @Test public void encode_14() { encode("", Component.QUERY, ""); }
+    @Test public void encode_15() { encode("\uE000", Component.FRAGMENT, "%EE%80%80"); }
+    @Test public void encode_16() { encode("a\uD800b", Component.PATH, "a%EF%BF%BDb"); }
+    @Test public void encode_17() { encode("\u0000\u007F", Component.PATH, "%00%7F"); }
+
+    @Test public void encodeURI_01() { encodeURI("café", Component.PATH_SEGMENT, "caf%C3%A9"); }
+    @Test public void encodeURI_02() { encodeURI("😀", Component.FRAGMENT, "%F0%9F%98%80"); }
+    @Test public void encodeURI_03() { encodeURI("a b€", Component.QUERY, "a%20b%E2%82%AC"); }
+    @Test public void encodeURI_04() { encodeURI("abc", Component.QUERY, "abc"); }
+
+    @Test public void buffer_01() {
+        StringBuilder sb = new StringBuilder("<");
+        PercentEncoding.decode("http://h/a%20b>", 9, 14, sb);
+        assertEquals("<a b", sb.toString());
+    }
+
+    @Test public void buffer_02() {
+        StringBuilder sb = new StringBuilder("x=");
+        PercentEncoding.encode("[a b]", 1, 4, Component.QUERY_PARAM, sb);
+        PercentEncoding.encodeURI("é", 0, 1, Component.QUERY_PARAM, sb);
+        assertEquals("x=a%20b%C3%A9", sb.toString());
+    }
+
+    @Test public void isEncoded_01() {
+        assertFalse(PercentEncoding.isEncoded("a/b%20", Component.PATH));
+        assertTrue(PercentEncoding.isEncoded("a/bé", Component.PATH));
+        assertFalse(PercentEncoding.isEncoded("a/b", Component.PATH_SEGMENT));
+    }
+
+    @Test public void roundtrip_01() {
+        // Encode, parse as an IRI, get the component and decode.
+        Random random = new Random(1);
+        for ( int i = 0 ; i < 1000 ; i++ ) {
+            String s = randomString(random);
+            String segment = PercentEncoding.encode(s, Component.PATH_SEGMENT);
+            String query = PercentEncoding.encodeURI(s, Component.QUERY);
+            String fragment = PercentEncoding.encode(s, Component.FRAGMENT);
+            IRI3986 iri = RFC3986.create("http://host/"+segment+"/x?"+query+"#"+fragment);
+            assertEquals("/"+segment+"/x", iri.path());
+            assertEquals(s, PercentEncoding.decode(segment));
+            assertEquals(s, PercentEncoding.decode(iri.query()));
+            assertEquals(s, PercentEncoding.decode(iri.fragment()));
+        }
+    }
+
+    private static String randomString(Random random) {
+        String chars = "aZ09-._~!$&'()*+,;=:@/?#[]% \"<>\\^`{|}é€😀";
+        StringBuilder sb = new StringBuilder();
+        int len = random.nextInt(10);
+        for ( int i = 0 ; i < len ; i++ ) {
+            int idx = random.nextInt(chars.length());
+            char ch = chars.charAt(idx);
+            if ( Character.isHighSurrogate(ch) )
+                sb.append(ch).append(chars.charAt(idx+1));
+            else if ( !Character.isLowSurrogate(ch) )
+                sb.append(ch);
+        }
+        return sb.toString();
+    }
+
+    private static void decode(String input, String expected) {
+        String actual = PercentEncoding.decode(input);
+        assertEquals(expected, actual);
+        if ( input.indexOf('%') < 0 )
+            assertSame(input, actual);
+        if ( expected.indexOf('�') < 0 && input.indexOf('+') < 0 )
+            assertEquals(URLDecoder.decode(input, StandardCharsets.UTF_8), actual);
+        StringBuilder sb = new StringBuilder();
+        PercentEncoding.decode(input, 0, input.length(), sb);
+        assertEquals(expected, sb.toString());
+    }
+
+    private static void decodeBad(String input) {
+        assertThrows(IRIParseException.class, ()->PercentEncoding.decode(input));
+    }
+
+    private static void encode(String input, Component component, String expected) {
+        String actual = PercentEncoding.encode(input, component);
+        assertEquals(expected, actual);
+        if ( expected.equals(input) )
+            assertSame(input, actual);
+        StringBuilder sb = new StringBuilder();
+        PercentEncoding.encode(input, 0, input.length(), component, sb);
+        assertEquals(expected, sb.toString());
+    }
+
+    private static void encodeURI(String input, Component component, String expected) {
+        String actual = PercentEncoding.encodeURI(input, component);
+        assertEquals(expected, actual);
+        StringBuilder sb = new StringBuilder();
+        PercentEncoding.encodeURI(input, 0, input.length(), component, sb);
+        assertEquals(expected, sb.toString());
+    }
+}
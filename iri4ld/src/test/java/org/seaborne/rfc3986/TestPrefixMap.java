@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class TestPrefixMap {
+
+    @Test public void split_01() { testSplit("http://example/ns#abc", "http://example/ns#", "abc"); }
+    @Test public void split_02() { testSplit("http://example/ns/abc", "http://example/ns/", "abc"); }
+    @Test public void split_03() { testSplit("http://example/ns#", "http://example/ns#", ""); }
+    @Test public void split_04() { testSplit("http://example/ns/", "http://example/ns/", ""); }
+    @Test public void split_05() { testSplit("urn:x-local:abc", "urn:x-local:", "abc"); }
+    @Test public void split_06() { testSplit("http://example/ns#a/b", "http://example/ns#a/", "b"); }
+    @Test public void split_07() { testSplit("http://example/ns/a.b", "http://example/ns/", "a.b"); }
+    @Test public void split_08() { testSplit("http://example/ns/123", "http://example/ns/", "123"); }
+    @Test public void split_09() { testSplit("http://example/ns/a%20b", "http://example/ns/", "a%20b"); }
+    @Test public void split_10() { testSplit("http://example/ns/_a", "http://example/ns/", "_a"); }
+    @Test public void split_11() { testSplit("http://example/ns/αβγ", "http://example/ns/", "αβγ"); }
+    @Test public void split_12() { testSplit("http://example", "http://example", ""); }
+    @Test public void split_13() { testSplit("abc", "", "abc"); }
+    @Test public void split_14() { testSplit("http://example/ns/a?q#f", "http://example/ns/a?q#", "f"); }
+    @Test public void split_15() { testSplit("http://example/ns/a~b", "http://example/ns/a~", "b"); }
+
+    @Test public void split_20() { testNoSplit("http://example/ns/a?q"); }
+    @Test public void split_21() { testNoSplit("http://example/ns/a."); }
+    @Test public void split_22() { testNoSplit("http://example/ns/-a"); }
+    @Test public void split_23() { testNoSplit("http://example/ns/.a"); }
+    @Test public void split_24() { testSplit("http://example/ns/a~", "http://example/ns/a~", ""); }
+
+    private static Map<String, String> prefixes() {
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put("ex",   "http://example/");
+        map.put("ns",   "http://example/ns#");
+        map.put("dir",  "http://example/dir/");
+        map.put("dir2", "http://example/dir/");
+        map.put("",     "http://example/base/");
+        map.put("urn",  "urn:x-local:");
+        return map;
+    }
+
+    private static final PrefixMap prefixMap = PrefixMap.create(prefixes());
+
+    @Test public void abbrev_01() { testAbbrev("http://example/abc", "ex", "abc"); }
+    @Test public void abbrev_02() { testAbbrev("http://example/ns#abc", "ns", "abc"); }
+    @Test public void abbrev_03() { testAbbrev("http://example/ns#", "ns", ""); }
+    @Test public void abbrev_04() { testAbbrev("http://example/dir/abc", "dir", "abc"); }
+    @Test public void abbrev_05() { testAbbrev("http://example/base/abc", "", "abc"); }
+    @Test public void abbrev_06() { testAbbrev("urn:x-local:abc", "urn", "abc"); }
+    // Longest prefix does not leave a valid local name.
+    @Test public void abbrev_07() { testAbbrev("http://example/dir/a/b", null, null); }
+    @Test public void abbrev_08() { testAbbrev("http://example/ns", "ex", "ns"); }
+    @Test public void abbrev_09() { testAbbrev("http://example/a:b", "ex", "a:b"); }
+    @Test public void abbrev_10() { testAbbrev("http://example/a.b", "ex", "a.b"); }
+    @Test public void abbrev_11() { testAbbrev("http://example/a%41", "ex", "a%41"); }
+    @Test public void abbrev_12() { testAbbrev("http://example/1", "ex", "1"); }
+
+    @Test public void abbrev_20() { testAbbrev("http://example/a.", null, null); }
+    @Test public void abbrev_21() { testAbbrev("http://example/-a", null, null); }
+    @Test public void abbrev_22() { testAbbrev("http://other/abc", null, null); }
+    @Test public void abbrev_23() { testAbbrev("http://example/a?q", null, null); }
+    @Test public void abbrev_24() { testAbbrev("http://example/a%4", null, null); }
+    @Test public void abbrev_25() { testAbbrev("http:", null, null); }
+
+    @Test public void prefixMap_01() {
+        assertEquals("http://example/ns#", prefixMap.namespace("ns"));
+        assertNull(prefixMap.namespace("zzz"));
+        assertEquals(6, prefixMap.prefixes().size());
+    }
+
+    @Test public void prefixMap_02() {
+        assertThrows(IllegalArgumentException.class, ()->PrefixMap.create(Map.of("1a", "http://example/")));
+        assertThrows(IllegalArgumentException.class, ()->PrefixMap.create(Map.of("a.", "http://example/")));
+        assertThrows(IllegalArgumentException.class, ()->PrefixMap.create(Map.of("a:b", "http://example/")));
+    }
+
+    @Test public void prefixMap_03() {
+        PrefixedName pn = prefixMap.abbreviate(RFC3986.create("http://example/ns#abc"));
+        assertEquals("ns:abc", pn.toString());
+        assertEquals("ns:abc", pn.appendTo(new StringBuilder()).toString());
+    }
+
+    private static final String[] namespaces = {
+        "http://example/", "http://example/ns#", "http://example/ns#a/", "http://example/a?q=",
+        "http://example/a?", "http://example/a#", "http://example", "http://example:", "http://example:80",
+        "http:", "http:/", "http://", "urn:x-local:", "urn:uuid:", "file:///", "//host/", "//host",
+        "a/b/", "/", "/a", "abc", "", "http://user@host:8080/a/b", "http://[::1]/", "http://HOST/",
+        "http://example/a%20"
+    };
+
+    private static final String[] locals = {
+        "", "abc", "a/b", "a:b", "/abc", "//abc", "?q", "?q#f", "#f", "a?q=1&r=2#frag", "a#b#c",
+        "a b", "%41", "%4", "αβγ", "\uE000", "?\uE000", "#\uE000", ":80", "host", "06e775ac-2c38-11b2-801c-8086f2cc00c9", "a/../b"
+    };
+
+    @Test public void expand_all() {
+        for ( String ns : namespaces ) {
+            PrefixMap pmap = PrefixMap.create(Map.of("p", ns));
+            for ( String local : locals )
+                testExpand(pmap, ns, local);
+        }
+    }
+
+    @Test public void expand_01() {
+        IRI3986 iri = prefixMap.expand("ns:abc");
+        assertEquals("http://example/ns#abc", iri.str());
+        assertEquals(iri, prefixMap.expand("ns", "abc"));
+    }
+
+    @Test public void expand_02() {
+        assertNull(prefixMap.expand("zzz:abc"));
+        assertNull(prefixMap.expand("abc"));
+        assertEquals("http://example/base/abc", prefixMap.expand(":abc").str());
+    }
+
+    @Test public void expand_03() {
+        assertThrows(IRIParseException.class, ()->prefixMap.expand("ex:a b"));
+    }
+
+    @Test public void expand_04() {
+        // Not parsed again.
+        assertNotNull(IRI3986.extend(IRI3986.create("http://example/ns#"), "abc", 0));
+        assertNotNull(IRI3986.extend(IRI3986.create("http://example/ns/"), "abc?q#f", 0));
+        assertNotNull(IRI3986.extend(IRI3986.create("http://example/a?"), "q=1", 0));
+        assertNotNull(IRI3986.extend(IRI3986.create("urn:x-local:"), "abc", 0));
+        // Parsed again.
+        assertNull(IRI3986.extend(IRI3986.create("http://example"), "abc", 0));
+        assertNull(IRI3986.extend(IRI3986.create("abc"), "def", 0));
+        assertNull(IRI3986.extend(IRI3986.create("http:"), "//host", 0));
+    }
+
+    private static void testExpand(PrefixMap pmap, String ns, String local) {
+        String label = "<"+ns+"> + \""+local+"\"";
+        IRI3986 expected;
+        try {
+            expected = IRI3986.create(ns+local);
+        } catch (IRIParseException ex) {
+            assertThrows(IRIParseException.class, ()->pmap.expand("p", local), label);
+            return;
+        }
+        IRI3986 iri = pmap.expand("p", local);
+        assertTrue(iri.identical(expected, true), label);
+        assertEquals(expected.violations(), iri.violations(), label);
+        assertTrue(pmap.expand("p:"+local).identical(expected, true), label);
+    }
+
+    private static void testAbbrev(String iriStr, String expectedPrefix, String expectedLocalName) {
+        PrefixedName pn = prefixMap.abbreviate(iriStr);
+        if ( expectedPrefix == null ) {
+            assertNull(pn, ()->"Expected no abbreviation: "+pn);
+            return;
+        }
+        assertNotNull(pn, "No abbreviation");
+        assertEquals(expectedPrefix, pn.prefix());
+        assertEquals(expectedLocalName, pn.localName());
+        assertEquals(iriStr, prefixMap.namespace(pn.prefix())+pn.localName());
+    }
+
+    private static void testSplit(String iriStr, String expectedNamespace, String expectedLocalName) {
+        IRI3986 iri = RFC3986.create(iriStr);
+        int x = iri.splitNamespace();
+        assertTrue(x >= 0, "No split");
+        assertEquals(expectedNamespace, iriStr.substring(0, x));
+        assertEquals(expectedLocalName, iriStr.substring(x));
+    }
+
+    private static void testNoSplit(String iriStr) {
+        IRI3986 iri = RFC3986.create(iriStr);
+        assertEquals(-1, iri.splitNamespace());
+    }
+}
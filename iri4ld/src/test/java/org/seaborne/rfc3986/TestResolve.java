@@ -19,6 +19,7 @@
 package org.seaborne.rfc3986;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -120,6 +121,11 @@ public class TestResolve {
         IRI3986 iri2 = baseiri.resolve(reliri);
         String s1 = iri2.str();
         assertEquals(expected, s1);
+        // Built without parsing : same as parsing.
+        assertTrue(iri2.identical(IRI3986.create(s1), true));
+        // Resolve with a resolver for the base.
+        IRI3986 iri3 = IRIResolver.create(baseiri).resolve(reliri);
+        assertEquals(expected, iri3.str());
     }
 
     // Test, with additional normalization.
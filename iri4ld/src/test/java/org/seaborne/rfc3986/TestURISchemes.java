@@ -21,12 +21,39 @@ package org.seaborne.rfc3986;
 import static org.seaborne.rfc3986.LibTestURI.badSyntax;
 import static org.seaborne.rfc3986.LibTestURI.good;
 import static org.seaborne.rfc3986.LibTestURI.schemeViolation;
+import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 /** Test IRIs for scheme-specific validation rules. */
 public class TestURISchemes {
 
+    // Registered checkers: "tst:" must have a host; "urn:isbn:" is digits.
+    @BeforeAll public static void beforeClass() {
+        SchemeCheckers.register("tst", (iri, reporter) -> {
+            if ( !iri.hasAuthority() || iri.host().isEmpty() )
+                reporter.accept(Issue.http_no_host, "No host");
+        });
+        SchemeCheckers.register("urn:isbn", (iri, reporter) -> {
+            String path = iri.path();
+            for ( int i = "isbn:".length() ; i < path.length() ; i++ ) {
+                if ( !Character.isDigit(path.charAt(i)) ) {
+                    reporter.accept(Issue.urn_bad_nss, "ISBN is digits");
+                    return;
+                }
+            }
+        });
+    }
+
+    @AfterAll public static void afterClass() {
+        SchemeCheckers.unregister("tst");
+        SchemeCheckers.unregister("urn:isbn");
+    }
+
     // == General
     // "jena:" is any unregistered scheme.
     @Test public void general_host_01() { good("jena://host/abc"); }
@@ -144,6 +171,25 @@ public class TestURISchemes {
     @Test public void scheme_uuid_06() { schemeViolation("uuid:06e775ac-2c38-11b2-801c-8086f2cc00c9?+r", URIScheme.UUID, Issue.uuid_scheme_not_registered, Issue.uuid_has_query); }
     @Test public void scheme_uuid_07() { schemeViolation("uuid:06e775AC-2c38-11b2-801c-8086f2cc00c9?+r", URIScheme.UUID, Issue.uuid_scheme_not_registered, Issue.uuid_has_query, Issue.uuid_not_lowercase); }
 
+    // UUID scanner, checked against the regular expression for the UUID string.
+    private static final Pattern UUID_RE = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    private static final Pattern UUID_RE_AnyCase = Pattern.compile(UUID_RE.pattern(), Pattern.CASE_INSENSITIVE);
+
+    @Test public void uuid_scan_01() { uuidScan("06e775ac-2c38-11b2-801c-8086f2cc00c9"); }
+    @Test public void uuid_scan_02() { uuidScan("06E775AC-2C38-11B2-801C-8086F2CC00C9"); }
+    @Test public void uuid_scan_03() { uuidScan("06e775ac-2c38-11b2-ZZZZ-8086f2cc00c9"); }
+    @Test public void uuid_scan_04() { uuidScan("06e775ac-2c38-11b2-801c-8086f2cc00c"); }
+    @Test public void uuid_scan_05() { uuidScan("06e775ac-2c38-11b2-801c-8086f2cc00c9?query"); }
+    @Test public void uuid_scan_06() { uuidScan("06e775ac2c38-11b2-801c-8086f2cc00c9x"); }
+    @Test public void uuid_scan_07() { uuidScan("06e775ac-2c38-11b2-801c_8086f2cc00c9"); }
+    @Test public void uuid_scan_08() { uuidScan("06e775ag-2c38-11b2-801c-8086f2cc00c9"); }
+    @Test public void uuid_scan_09() { uuidScan(""); }
+
+    private static void uuidScan(String string) {
+        assertEquals(UUID_RE.matcher(string).lookingAt(), IRI3986.isUUID(string, 0, true), "Lowercase: "+string);
+        assertEquals(UUID_RE_AnyCase.matcher(string).lookingAt(), IRI3986.isUUID(string, 0, false), "Any case: "+string);
+    }
+
     // == urn:oid:
     // More in TestParseOID
     @Test public void scheme_urn_oid_1() { good("urn:oid:2.3.4"); }
@@ -156,4 +202,23 @@ public class TestURISchemes {
     // == ftp: (unsupported scheme but can have IRI violations)
     @Test public void parse_ftp_01()    { schemeViolation("ftp://user@host:3333/abc/def?qs=ghi#jkl", null, Issue.iri_user_info_present); }
     @Test public void parse_ftp_02()    { good("ftp://[::1]/abc/def?qs=ghi#jkl"); }
+
+    // == Registered checkers
+    @Test public void scheme_registered_01() { good("tst://host/abc"); }
+    @Test public void scheme_registered_02() { schemeViolation("tst:abc", null, Issue.http_no_host); }
+    @Test public void scheme_registered_03() { schemeViolation("TST:abc", null, Issue.http_no_host); }
+    @Test public void scheme_registered_04() { schemeViolation("tst://HOST/abc", null, Issue.iri_host_not_lowercase); }
+    @Test public void scheme_registered_05() { good("tstx:abc"); }
+    @Test public void scheme_registered_06() { good("urn:isbn:9780141036144"); }
+    @Test public void scheme_registered_07() { schemeViolation("urn:isbn:978014103614X", null, Issue.urn_bad_nss); }
+    @Test public void scheme_registered_08() { schemeViolation("urn:ISBN:978014103614X", null, Issue.urn_bad_nss); }
+    @Test public void scheme_registered_09() { good("urn:isbnx:978014103614X"); }
+    // General URN checks still apply.
+    @Test public void scheme_registered_10() { schemeViolation("urn:isbn:9780141036144?query=foo", null, Issue.urn_bad_components); }
+
+    @Test public void scheme_register_builtin_01() { assertThrows(IllegalArgumentException.class, ()->SchemeCheckers.register("http", (iri, reporter)->{})); }
+    @Test public void scheme_register_builtin_02() { assertThrows(IllegalArgumentException.class, ()->SchemeCheckers.register("URN:uuid", (iri, reporter)->{})); }
+    @Test public void scheme_register_bad_01()     { assertThrows(IllegalArgumentException.class, ()->SchemeCheckers.register("tst:abc", (iri, reporter)->{})); }
+    @Test public void scheme_register_get_01()     { assertNotNull(SchemeCheckers.get("TST")); }
+    @Test public void scheme_register_get_02()     { assertNull(SchemeCheckers.get("tstx")); }
 }
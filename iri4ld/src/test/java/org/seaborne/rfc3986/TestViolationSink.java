@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.rfc3986;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/** {@link ViolationSink} and {@link Violation}. */
+public class TestViolationSink {
+
+    // The sink gets the same issues as are recorded in the IRI.
+    @Test public void sink_01() { sameAsRecorded("http://example/abc"); }
+    @Test public void sink_02() { sameAsRecorded("http://HOST/abc"); }
+    @Test public void sink_03() { sameAsRecorded("HTTP://user:pw@host:80/a/./b/%aa"); }
+    @Test public void sink_04() { sameAsRecorded("https://host:443/"); }
+    @Test public void sink_05() { sameAsRecorded("http:///abc"); }
+    @Test public void sink_06() { sameAsRecorded("urn:x-local:nss?query=foo"); }
+    @Test public void sink_07() { sameAsRecorded("urn:UUID:06e775ac-2c38-11b2-801c-8086f2cc00c9?query=foo"); }
+    @Test public void sink_08() { sameAsRecorded("uuid:06e775AC-2c38-11b2-801c-8086f2cc00c9?+r#frag"); }
+    @Test public void sink_09() { sameAsRecorded("file://host/path"); }
+    @Test public void sink_10() { sameAsRecorded("oid:Z"); }
+    @Test public void sink_11() { sameAsRecorded("did:"); }
+
+    // Offsets.
+    @Test public void offset_01() { offsets("http://example/abc"); }
+    @Test public void offset_02() { offsets("http://HOST/abc", 7); }
+    @Test public void offset_03() { offsets("http://host:80/abc", 12); }
+    @Test public void offset_04() { offsets("http://host:/abc", 11); }
+    @Test public void offset_05() { offsets("http://host/ab%2f", 14); }
+    @Test public void offset_06() { offsets("http://user@host/", 7); }
+    @Test public void offset_07() { offsets("HTTP://host/", 0); }
+    @Test public void offset_08() { offsets("uuid:06e775ac-2c38-11b2-801c-8086f2cc00c9#frag", 0, 41); }
+    @Test public void offset_09() { offsets("urn:x-local:nss", 4); }
+
+    @Test public void create_sink_01() {
+        List<Issue> issues = new ArrayList<>();
+        IRI3986 iri = RFC3986.create("http://HOST:80/", (issue, scheme, offset) -> issues.add(issue));
+        assertEquals(List.of(Issue.iri_host_not_lowercase, Issue.http_omit_well_known_port), issues);
+        assertFalse(iri.hasViolations());
+        assertEquals("http://HOST:80/", iri.str());
+    }
+
+    @Test public void create_sink_02() {
+        assertThrows(IRIParseException.class, ()->RFC3986.create("http://h/a b", (issue, scheme, offset) -> {}));
+    }
+
+    @Test public void violation_01() {
+        Violation v = RFC3986.create("http://HOST/").violations().get(0);
+        assertEquals(Issue.iri_host_not_lowercase, v.issue());
+        assertEquals(URIScheme.GENERAL, v.scheme());
+        assertEquals("<http://HOST/> Host name should be lowercase", v.message());
+        assertEquals(7, v.offset());
+    }
+
+    @Test public void violation_02() {
+        Violation v1 = Violation.create("http://HOST/", URIScheme.GENERAL, Issue.iri_host_not_lowercase, 7, "Host name should be lowercase");
+        Violation v2 = new Violation("http://HOST/", URIScheme.GENERAL, Issue.iri_host_not_lowercase, "<http://HOST/> Host name should be lowercase");
+        assertEquals(v1, v2);
+        assertEquals(v1.hashCode(), v2.hashCode());
+        assertEquals(-1, v2.offset());
+    }
+
+    @Test public void violation_03() {
+        Violation v = RFC3986.createAny("http://h/a b").violations().get(0);
+        assertEquals(Issue.ParseError, v.issue());
+        assertEquals(-1, v.offset());
+        assertNotNull(v.message());
+    }
+
+    private static void sameAsRecorded(String iriStr) {
+        List<Issue> expected = RFC3986.create(iriStr).violations().stream().map(Violation::issue).toList();
+        List<Integer> expectedOffsets = RFC3986.create(iriStr).violations().stream().map(Violation::offset).toList();
+        List<Issue> actual = new ArrayList<>();
+        List<Integer> actualOffsets = new ArrayList<>();
+        RFC3986.create(iriStr, (issue, scheme, offset) -> { actual.add(issue); actualOffsets.add(offset); });
+        assertEquals(expected, actual);
+        assertEquals(expectedOffsets, actualOffsets);
+    }
+
+    private static void offsets(String iriStr, int... expected) {
+        List<Integer> actual = new ArrayList<>();
+        RFC3986.create(iriStr, (issue, scheme, offset) -> actual.add(offset));
+        assertArrayEquals(expected, actual.stream().mapToInt(Integer::intValue).toArray(), ()->"Offsets: "+actual);
+    }
+}
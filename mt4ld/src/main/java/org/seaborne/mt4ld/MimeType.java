@@ -412,20 +412,11 @@ public class MimeType {
     }
 
     private static boolean restrictedNameCharFirst(char ch) {
-        return isA2ZN(ch);
+        return isClass(ch, A2ZN);
     }
 
     private static boolean restrictedNameChar(char ch) {
-        if ( isA2ZN(ch) )
-            return true;
-        // Specials for RFC 6838
-        switch(ch) {
-            case '!': case '#': case '$': case '&': case '-': case '^': case  '_':
-            case '.': case '+':
-                return true;
-            default:
-        }
-        return false;
+        return isClass(ch, RESTRICTED_NAME);
     }
 
     private static boolean facetSepChar(char ch) {
@@ -453,29 +444,17 @@ public class MimeType {
     //    token := 1*<any (US-ASCII) CHAR except SPACE, CTLs,
     //            or tspecials>
     private static boolean tokenChar(char ch) {
-        if ( isA2ZN(ch) )
-            return true;
-        if ( ch > 127 )
-            // Not ASCII
-            return false;
-        if ( ch == ' ')
-            return false;
-        if ( ch < 0x20 || ch == 0x7F)
-            // CTL
-            return false;
-        if ( isTSpecial(ch) )
-            return false;
-        return true;
+        return isClass(ch, TOKEN);
     }
 
     /** ASCII A-Z */
     private static boolean isA2Z(int ch) {
-        return range(ch, 'a', 'z') || range(ch, 'A', 'Z');
+        return ch < 0x80 && (asciiClass[ch] & A2Z) != 0;
     }
 
     /** ASCII A-Z or 0-9 */
     private static boolean isA2ZN(int ch) {
-        return range(ch, 'a', 'z') || range(ch, 'A', 'Z') || range(ch, '0', '9');
+        return ch < 0x80 && (asciiClass[ch] & A2ZN) != 0;
     }
 
     /** Test whether a codepoint is a given range (both ends inclusive)*/
@@ -487,13 +466,38 @@ public class MimeType {
     //                "," / ";" / ":" / "\" / <">
     //                "/" / "[" / "]" / "?" / "="
     private static boolean isTSpecial(char ch) {
-        switch(ch) {
-            case '(': case ')': case '<': case '>': case '@':
-            case ',': case ';': case ':': case '\\': case '"':
-            case '/': case '[': case ']': case '?': case '=':
-                return true;
+        return isClass(ch, TSPECIAL);
+    }
+
+    // Character classes for ASCII characters, as bits in a table indexed by the character.
+    private static final int A2Z             = 1<<0;
+    private static final int A2ZN            = 1<<1;
+    private static final int RESTRICTED_NAME = 1<<2;
+    private static final int TSPECIAL        = 1<<3;
+    private static final int TOKEN           = 1<<4;
+
+    private static final byte[] asciiClass = new byte[128];
+
+    static {
+        for ( int ch = 0 ; ch < 128 ; ch++ ) {
+            int charClass = 0;
+            if ( range(ch, 'a', 'z') || range(ch, 'A', 'Z') )
+                charClass |= A2Z | A2ZN | RESTRICTED_NAME;
+            if ( range(ch, '0', '9') )
+                charClass |= A2ZN | RESTRICTED_NAME;
+            // Specials for RFC 6838
+            if ( "!#$&-^_.+".indexOf(ch) >= 0 )
+                charClass |= RESTRICTED_NAME;
+            if ( "()<>@,;:\\\"/[]?=".indexOf(ch) >= 0 )
+                charClass |= TSPECIAL;
+            // Not SPACE, CTL or tspecial.
+            else if ( ch > 0x20 && ch != 0x7F )
+                charClass |= TOKEN;
+            asciiClass[ch] = (byte)charClass;
         }
-        return false;
     }
 
+    private static boolean isClass(char ch, int charClass) {
+        return ch < 0x80 && (asciiClass[ch] & charClass) != 0;
+    }
 }
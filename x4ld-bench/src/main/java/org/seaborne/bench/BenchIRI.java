@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.iri.IRIFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.seaborne.rfc3986.AuthorityCache;
+import org.seaborne.rfc3986.IRI3986;
+import org.seaborne.rfc3986.IRIResolver;
+import org.seaborne.rfc3986.IRITemplate;
+import org.seaborne.rfc3986.PrefixMap;
+import org.seaborne.rfc3986.RFC3986;
+import org.seaborne.rfc3986.SystemIRI3986;
+import org.seaborne.rfc3986.ViolationSink;
+
+/**
+ * IRI parsing and operations. Each benchmark operation processes one IRI of the
+ * corpus; scores are per IRI.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(Corpus.SIZE)
+public class BenchIRI {
+
+    @Param({Corpus.HTTP, Corpus.URN, Corpus.QUERY, Corpus.MIXED})
+    public String corpus;
+
+    private String[] iriStrs;
+    private IRI3986[] iris;
+    private IRI3986 base;
+    private IRIResolver resolver;
+    private IRIFactory jenaIRIFactory;
+    private PrefixMap prefixMap;
+    private String[] prefixedNames;
+    private AuthorityCache authorityCache;
+    private String[] segments;
+    private IRITemplate template;
+
+    @Setup
+    public void setup() {
+        iriStrs = Corpus.iris(corpus);
+        iris = new IRI3986[iriStrs.length];
+        for ( int i = 0 ; i < iriStrs.length ; i++ )
+            iris[i] = IRI3986.createAny(iriStrs[i]);
+        base = IRI3986.create("http://example.org/dir1/dir2/base?query");
+        resolver = IRIResolver.create(base);
+        jenaIRIFactory = IRIFactory.iriImplementation();
+        authorityCache = AuthorityCache.create(1024);
+        Map<String, String> prefixes = new LinkedHashMap<>();
+        prefixes.put("ex", "http://example.org/");
+        prefixes.put("exr", "http://example.org/resource/");
+        prefixes.put("dbr", "http://dbpedia.org/resource/");
+        prefixes.put("schema", "http://schema.org/");
+        prefixes.put("w3", "http://www.w3.org/");
+        prefixes.put("uuid", "urn:uuid:");
+        prefixes.put("isbn", "urn:isbn:");
+        prefixMap = PrefixMap.create(prefixes);
+        prefixedNames = new String[] {
+            "ex:abc", "exr:Entity_123", "dbr:Berlin", "schema:name", "w3:ns/prov#wasDerivedFrom",
+            "uuid:06e775ac-2c38-11b2-801c-8086f2cc00c9", "isbn:9780123456789", "exr:item?q=1"
+        };
+        segments = new String[] {
+            "Entity_123", "Berlin", "name", "2024", "item-42", "caf%C3%A9", "x:y", "Person"
+        };
+        template = IRITemplate.create("http://example.org/resource/{type}/{id}#this");
+    }
+
+    @Benchmark
+    public void create(Blackhole bh) {
+        for ( String s : iriStrs )
+            bh.consume(IRI3986.create(s));
+    }
+
+    @Benchmark
+    public void createAny(Blackhole bh) {
+        for ( String s : iriStrs )
+            bh.consume(IRI3986.createAny(s));
+    }
+
+    @Benchmark
+    public void createSink(Blackhole bh) {
+        ViolationSink sink = (issue, scheme, offset) -> bh.consume(issue);
+        for ( String s : iriStrs )
+            bh.consume(IRI3986.create(s, sink));
+    }
+
+    @Benchmark
+    public void createAuthorityCache(Blackhole bh) {
+        SystemIRI3986.setAuthorityCache(authorityCache);
+        try {
+            for ( String s : iriStrs )
+                bh.consume(IRI3986.create(s));
+        } finally {
+            SystemIRI3986.setAuthorityCache(null);
+        }
+    }
+
+    @Benchmark
+    public void createByRegex(Blackhole bh) {
+        for ( String s : iriStrs )
+            bh.consume(RFC3986.createByRegex(s));
+    }
+
+    @Benchmark
+    public void jenaIRI(Blackhole bh) {
+        for ( String s : iriStrs )
+            bh.consume(jenaIRIFactory.create(s));
+    }
+
+    @Benchmark
+    public void normalize(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(iri.normalize());
+    }
+
+    @Benchmark
+    public void resolve(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(base.resolve(iri));
+    }
+
+    @Benchmark
+    public void resolver(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(resolver.resolve(iri));
+    }
+
+    @Benchmark
+    public void relativize(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(iri.relativize(base));
+    }
+
+    @Benchmark
+    public void normalizedHashCode(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(iri.normalizedHashCode());
+    }
+
+    @Benchmark
+    public void normalizeHashCode(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(iri.normalize().hashCode());
+    }
+
+    @Benchmark
+    public void equivalentTo(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(iri.equivalentTo(base));
+    }
+
+    @Benchmark
+    public void splitNamespace(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(iri.splitNamespace());
+    }
+
+    @Benchmark
+    public void abbreviate(Blackhole bh) {
+        for ( String s : iriStrs )
+            bh.consume(prefixMap.abbreviate(s));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void expand(Blackhole bh) {
+        for ( String s : prefixedNames )
+            bh.consume(prefixMap.expand(s));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void expandByParsing(Blackhole bh) {
+        for ( String s : prefixedNames ) {
+            int idx = s.indexOf(':');
+            bh.consume(IRI3986.create(prefixMap.namespace(s.substring(0, idx))+s.substring(idx+1)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void appendPathSegment(Blackhole bh) {
+        for ( String s : segments )
+            bh.consume(base.appendPathSegment(s));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void appendPathSegmentByParsing(Blackhole bh) {
+        for ( String s : segments )
+            bh.consume(IRI3986.create("http://example.org/dir1/dir2/base/"+s+"?query"));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void template(Blackhole bh) {
+        for ( String s : segments )
+            bh.consume(template.expand("item", s));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void templateByParsing(Blackhole bh) {
+        for ( String s : segments )
+            bh.consume(IRI3986.create("http://example.org/resource/item/"+s+"#this"));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.seaborne.rfc3986.Chars3986;
+import org.seaborne.rfc3986.IRI3986;
+import org.seaborne.rfc3986.IRIValidator;
+
+/**
+ * Per-character cost of checking long path/query IRIs.
+ * <p>
+ * {@code classifyChain} is the character classification as a chain of tests, as
+ * {@link Chars3986} was before it used lookup tables; {@code classifyTable} is the
+ * current {@link Chars3986#isIPCharNoPct}. The other benchmarks are the whole parser
+ * and the validator. Divide the scores by {@code length} for the cost per character.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchIRIChars {
+
+    @Param({"64", "512", "4096"})
+    public int length;
+
+    private String iriStr;
+
+    @Setup
+    public void setup() {
+        iriStr = Corpus.longIRI(length);
+    }
+
+    @Benchmark
+    public IRI3986 parse() {
+        return IRI3986.create(iriStr);
+    }
+
+    @Benchmark
+    public int validate() {
+        return IRIValidator.check(iriStr);
+    }
+
+    @Benchmark
+    public int classifyTable() {
+        int count = 0;
+        for ( int i = 0 ; i < iriStr.length() ; i++ ) {
+            if ( Chars3986.isIPCharNoPct(iriStr.charAt(i)) )
+                count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int classifyChain() {
+        int count = 0;
+        for ( int i = 0 ; i < iriStr.length() ; i++ ) {
+            char ch = iriStr.charAt(i);
+            if ( unreserved(ch) || subDelims(ch) || ch == ':' || ch == '@' || isUcsChar(ch) )
+                count++;
+        }
+        return count;
+    }
+
+    // The classification tests before lookup tables.
+
+    private static boolean unreserved(char ch) {
+        if ( (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') )
+            return true;
+        switch(ch) {
+            case '-': case '.': case '_': case '~': return true;
+        }
+        return false;
+    }
+
+    private static boolean subDelims(char ch) {
+        switch(ch) {
+            case '!': case '$': case '&': case '\'': case '(': case ')':
+            case '*': case '+': case ',': case ';': case '=': return true;
+        }
+        return false;
+    }
+
+    private static boolean isUcsChar(char ch) {
+        return (ch >= 0xA0 && ch <= 0xD7FF) || (ch >= 0xF900 && ch <= 0xFDCF) || (ch >= 0xFDF0 && ch <= 0xFFEF)
+                || Character.isSurrogate(ch);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.seaborne.lang4ld.LangTag;
+import org.seaborne.lang4ld.LangTagJDK;
+import org.seaborne.lang4ld.LangTagRE;
+import org.seaborne.lang4ld.LangTagRFC5646;
+
+/** Language tag parsers. Scores are per language tag. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(Corpus.SIZE)
+public class BenchLangTag {
+
+    @Param({"RFC5646", "RE", "JDK"})
+    public String parser;
+
+    private String[] langTags;
+    private Function<String, LangTag> create;
+
+    @Setup
+    public void setup() {
+        langTags = Corpus.langTags(Corpus.SIZE);
+        create = switch (parser) {
+            case "RFC5646" -> LangTagRFC5646::create;
+            case "RE" ->      LangTagRE::create;
+            case "JDK" ->     LangTagJDK::create;
+            default -> throw new IllegalArgumentException("Unknown parser: "+parser);
+        };
+    }
+
+    @Benchmark
+    public void create(Blackhole bh) {
+        for ( String s : langTags )
+            bh.consume(create.apply(s));
+    }
+}
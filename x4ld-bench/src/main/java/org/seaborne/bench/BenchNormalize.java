@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.seaborne.rfc3986.IRI3986;
+
+/**
+ * IRI normalization, for IRIs that are already in normalized form and for IRIs that
+ * are not. Each benchmark operation processes one IRI of the corpus; scores are per
+ * IRI.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(Corpus.SIZE)
+public class BenchNormalize {
+
+    @Param({Corpus.HTTP, Corpus.UNNORMALIZED})
+    public String corpus;
+
+    private IRI3986[] iris;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setup() {
+        String[] iriStrs = Corpus.iris(corpus);
+        iris = new IRI3986[iriStrs.length];
+        for ( int i = 0 ; i < iriStrs.length ; i++ )
+            iris[i] = IRI3986.create(iriStrs[i]);
+        buffer = new StringBuilder();
+    }
+
+    @Benchmark
+    public void isNormalized(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(iri.isNormalized());
+    }
+
+    @Benchmark
+    public void normalize(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(iri.normalize());
+    }
+
+    @Benchmark
+    public void normalizeBuffer(Blackhole bh) {
+        for ( IRI3986 iri : iris )
+            bh.consume(iri.normalize(buffer));
+    }
+
+    @Benchmark
+    public void appendNormalized(Blackhole bh) {
+        for ( IRI3986 iri : iris ) {
+            buffer.setLength(0);
+            bh.consume(iri.appendNormalized(buffer));
+        }
+    }
+}
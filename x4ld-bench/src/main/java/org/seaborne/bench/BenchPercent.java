@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.bench;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.seaborne.rfc3986.PercentEncoding;
+import org.seaborne.rfc3986.PercentEncoding.Component;
+
+/**
+ * Percent-encoding and decoding of the query strings of the query corpus, compared
+ * to {@link URLEncoder} and {@link URLDecoder}. Each benchmark operation processes
+ * one query string; scores are per string.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(Corpus.SIZE)
+public class BenchPercent {
+
+    private String[] encoded;
+    private String[] decoded;
+    private String[] noPercent;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setup() {
+        String[] iriStrs = Corpus.queryIRIs(Corpus.SIZE);
+        encoded = new String[iriStrs.length];
+        decoded = new String[iriStrs.length];
+        noPercent = new String[iriStrs.length];
+        for ( int i = 0 ; i < iriStrs.length ; i++ ) {
+            encoded[i] = iriStrs[i].substring(iriStrs[i].indexOf('?')+1);
+            decoded[i] = PercentEncoding.decode(encoded[i]);
+            noPercent[i] = encoded[i].replace("%20", "_");
+        }
+        buffer = new StringBuilder();
+    }
+
+    @Benchmark
+    public void decode(Blackhole bh) {
+        for ( String s : encoded )
+            bh.consume(PercentEncoding.decode(s));
+    }
+
+    @Benchmark
+    public void decodeBuffer(Blackhole bh) {
+        for ( String s : encoded ) {
+            buffer.setLength(0);
+            bh.consume(PercentEncoding.decode(s, 0, s.length(), buffer));
+        }
+    }
+
+    @Benchmark
+    public void decodeNoPercent(Blackhole bh) {
+        for ( String s : noPercent )
+            bh.consume(PercentEncoding.decode(s));
+    }
+
+    @Benchmark
+    public void urlDecoder(Blackhole bh) {
+        for ( String s : encoded )
+            bh.consume(URLDecoder.decode(s, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public void encode(Blackhole bh) {
+        for ( String s : decoded )
+            bh.consume(PercentEncoding.encode(s, Component.QUERY_PARAM));
+    }
+
+    @Benchmark
+    public void encodeBuffer(Blackhole bh) {
+        for ( String s : decoded ) {
+            buffer.setLength(0);
+            bh.consume(PercentEncoding.encode(s, 0, s.length(), Component.QUERY_PARAM, buffer));
+        }
+    }
+
+    @Benchmark
+    public void urlEncoder(Blackhole bh) {
+        for ( String s : decoded )
+            bh.consume(URLEncoder.encode(s, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.seaborne.xsd4ld.XSDDatatype;
+import org.seaborne.xsd4ld.XSDTypeRegistry;
+
+/** XSD datatypes: lexical form to value, and validity. Scores are per lexical form. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(Corpus.SIZE)
+public class BenchXSD {
+
+    @Param({"integer", "int", "long", "decimal", "double", "float", "boolean", "string",
+            "date", "dateTime", "duration", "anyURI", "language", "hexBinary"})
+    public String datatype;
+
+    private XSDDatatype xsdDatatype;
+    private String[] lexicalForms;
+
+    @Setup
+    public void setup() {
+        xsdDatatype = XSDTypeRegistry.getType(datatype);
+        if ( xsdDatatype == null )
+            throw new IllegalArgumentException("Unknown datatype: "+datatype);
+        lexicalForms = Corpus.lexicalForms(datatype, Corpus.SIZE);
+    }
+
+    @Benchmark
+    public void value(Blackhole bh) {
+        for ( String s : lexicalForms )
+            bh.consume(xsdDatatype.value(s));
+    }
+
+    @Benchmark
+    public void isValid(Blackhole bh) {
+        for ( String s : lexicalForms )
+            bh.consume(xsdDatatype.isValid(s));
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.bench;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generated data for the benchmarks. Each corpus is generated from a fixed seed so
+ * runs are comparable.
+ */
+public class Corpus {
+
+    /** Number of items in each corpus. */
+    public static final int SIZE = 1000;
+
+    private static final String[] hosts = {
+        "example.org", "www.example.com", "data.example.net", "dbpedia.org",
+        "www.w3.org", "schema.org", "id.example.ac.uk", "localhost:8080"
+    };
+
+    private static final String[] words = {
+        "resource", "ontology", "data", "person", "Organization", "place",
+        "2024", "dataset", "item", "page", "vocab", "ns", "graph", "sparql"
+    };
+
+    /** Corpus names for IRIs. */
+    public static final String HTTP = "http";
+    public static final String URN = "urn";
+    public static final String QUERY = "query";
+    public static final String MIXED = "mixed";
+    public static final String UNNORMALIZED = "unnormalized";
+
+    public static String[] iris(String name) {
+        return switch (name) {
+            case HTTP ->  httpIRIs(SIZE);
+            case URN ->   urns(SIZE);
+            case QUERY -> queryIRIs(SIZE);
+            case MIXED -> mixedIRIs(SIZE);
+            case UNNORMALIZED -> unnormalizedIRIs(SIZE);
+            default -> throw new IllegalArgumentException("Unknown IRI corpus: "+name);
+        };
+    }
+
+    /** http and https IRIs, with paths of 1 to 5 segments and some fragments. */
+    public static String[] httpIRIs(int n) {
+        Random random = new Random(1);
+        String[] corpus = new String[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(random.nextInt(4) == 0 ? "https://" : "http://");
+            sb.append(pick(random, hosts));
+            int segments = 1 + random.nextInt(5);
+            for ( int j = 0 ; j < segments ; j++ )
+                sb.append('/').append(pick(random, words));
+            sb.append('/').append("Entity_").append(random.nextInt(100_000));
+            if ( random.nextInt(5) == 0 )
+                sb.append('#').append(pick(random, words));
+            corpus[i] = sb.toString();
+        }
+        return corpus;
+    }
+
+    /**
+     * IRIs as in RDF data: many resources in a few namespaces, with 2 path segments
+     * under each host, and some vocabulary terms with a fragment.
+     */
+    public static String[] dataIRIs(int n) {
+        Random random = new Random(8);
+        String[] corpus = new String[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            StringBuilder sb = new StringBuilder("http://");
+            sb.append(pick(random, hosts));
+            sb.append('/').append(pick(random, words)).append('/').append(pick(random, words));
+            if ( random.nextInt(10) == 0 )
+                sb.append("#").append(pick(random, words)).append(random.nextInt(100));
+            else
+                sb.append('/').append(random.nextInt(10_000_000));
+            corpus[i] = sb.toString();
+        }
+        return corpus;
+    }
+
+    /** URNs: uuid, oid, isbn and example namespaces. */
+    public static String[] urns(int n) {
+        Random random = new Random(2);
+        String[] corpus = new String[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            corpus[i] = switch(random.nextInt(4)) {
+                case 0 -> "urn:uuid:"+new UUID(random.nextLong(), random.nextLong());
+                case 1 -> "urn:oid:1.3.6.1.4."+random.nextInt(100_000)+"."+random.nextInt(100);
+                case 2 -> "urn:isbn:978"+(1_000_000_000L+random.nextInt(900_000_000));
+                default -> "urn:example:"+pick(random, words)+":"+random.nextInt(10_000);
+            };
+        }
+        return corpus;
+    }
+
+    /** http IRIs with long query strings, including percent-encoding. */
+    public static String[] queryIRIs(int n) {
+        Random random = new Random(3);
+        String[] corpus = new String[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("https://").append(pick(random, hosts)).append("/search?");
+            int params = 5 + random.nextInt(15);
+            for ( int j = 0 ; j < params ; j++ ) {
+                if ( j > 0 )
+                    sb.append('&');
+                sb.append(pick(random, words)).append(j).append('=');
+                sb.append(pick(random, words));
+                if ( random.nextInt(3) == 0 )
+                    sb.append("%20").append(pick(random, words));
+                if ( random.nextInt(4) == 0 )
+                    sb.append("/").append(random.nextInt(1000));
+            }
+            corpus[i] = sb.toString();
+        }
+        return corpus;
+    }
+
+    /** A mix of the other IRI corpora and some relative IRIs. */
+    public static String[] mixedIRIs(int n) {
+        String[] http = httpIRIs(n);
+        String[] urn = urns(n);
+        String[] query = queryIRIs(n);
+        Random random = new Random(4);
+        String[] corpus = new String[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            corpus[i] = switch(random.nextInt(5)) {
+                case 0, 1 -> http[i];
+                case 2 -> urn[i];
+                case 3 -> query[i];
+                default -> "../"+pick(random, words)+"/"+pick(random, words)+"#"+random.nextInt(100);
+            };
+        }
+        return corpus;
+    }
+
+    /**
+     * The http IRIs, changed so that they are not in normalized form: uppercase scheme
+     * and host, default port, dot segments, unnecessary or lowercase
+     * percent-encoding.
+     */
+    public static String[] unnormalizedIRIs(int n) {
+        String[] http = httpIRIs(n);
+        Random random = new Random(6);
+        String[] corpus = new String[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            String s = http[i];
+            corpus[i] = switch(random.nextInt(5)) {
+                case 0 -> s.replace("http", "HTTP").replace(".org", ".ORG");
+                case 1 -> s.replace(".org/", ".org:80/").replace(".com/", ".com:80/");
+                case 2 -> s.replace("/data/", "/./data/").replace("/item/", "/item/../item/");
+                case 3 -> s.replace("a", "%61").replace("_", "%5f");
+                default -> s.replace("Entity_", "Entity%2f");
+            };
+        }
+        return corpus;
+    }
+
+    /** An http IRI with a path and query of about {@code length} characters. */
+    public static String longIRI(int length) {
+        Random random = new Random(5);
+        StringBuilder sb = new StringBuilder("http://example.org");
+        while ( sb.length() < length/2 )
+            sb.append('/').append(pick(random, words));
+        sb.append('?');
+        while ( sb.length() < length ) {
+            sb.append(pick(random, words)).append('=').append(random.nextInt(1000)).append('&');
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    private static final String[] langTags = {
+        "en", "en-GB", "en-US", "de", "de-DE", "de-CH-1901", "fr", "fr-CA", "ja", "zh-Hant",
+        "zh-Hans-CN", "zh-cmn-Hans-CN", "sr-Latn-RS", "es-419", "sl-rozaj-biske", "hy-Latn-IT-arevela",
+        "de-CH-x-phonebk", "en-a-myext-b-another", "x-private", "i-klingon", "en-Latn-GB", "pt-BR", "nl", "it"
+    };
+
+    /** Language tags, from RFC 5646 examples and common tags, in mixed case. */
+    public static String[] langTags(int n) {
+        Random random = new Random(6);
+        String[] corpus = new String[n];
+        for ( int i = 0 ; i < n ; i++ ) {
+            String tag = pick(random, langTags);
+            corpus[i] = switch(random.nextInt(3)) {
+                case 0 -> tag.toLowerCase();
+                case 1 -> tag.toUpperCase();
+                default -> tag;
+            };
+        }
+        return corpus;
+    }
+
+    /** Lexical forms for an XSD datatype, by short name. */
+    public static String[] lexicalForms(String datatype, int n) {
+        Random random = new Random(7);
+        String[] corpus = new String[n];
+        for ( int i = 0 ; i < n ; i++ )
+            corpus[i] = lexicalForm(datatype, random);
+        return corpus;
+    }
+
+    private static String lexicalForm(String datatype, Random random) {
+        return switch (datatype) {
+            case "integer" -> Integer.toString(random.nextInt());
+            case "int"     -> Integer.toString(random.nextInt());
+            case "long"    -> Long.toString(random.nextLong());
+            case "decimal" -> random.nextInt(100_000)+"."+random.nextInt(1000);
+            case "double"  -> Double.toString(random.nextDouble()*1e6);
+            case "float"   -> Float.toString(random.nextFloat()*1e3f);
+            case "boolean" -> random.nextBoolean() ? "true" : "false";
+            case "string"  -> pick(random, words)+" "+pick(random, words);
+            case "date"    -> String.format("%04d-%02d-%02d", 1900+random.nextInt(200), 1+random.nextInt(12), 1+random.nextInt(28));
+            case "dateTime"-> String.format("%04d-%02d-%02dT%02d:%02d:%02d%s", 1900+random.nextInt(200), 1+random.nextInt(12), 1+random.nextInt(28),
+                                            random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextBoolean() ? "Z" : "+01:00");
+            case "duration" -> "P"+random.nextInt(10)+"Y"+random.nextInt(12)+"M"+random.nextInt(28)+"DT"+random.nextInt(24)+"H";
+            case "anyURI"  -> httpIRIs(1)[0]+"/"+random.nextInt(1000);
+            case "language" -> pick(random, langTags);
+            case "hexBinary" -> Long.toHexString(random.nextLong()).toUpperCase();
+            default -> throw new IllegalArgumentException("No lexical forms for datatype: "+datatype);
+        };
+    }
+
+    private static final String[] mediaTypes = {
+        "text/turtle", "application/ld+json", "application/n-triples", "application/rdf+xml",
+        "text/html; charset=utf-8", "application/sparql-results+json", "text/plain;charset=UTF-8",
+        "application/json", "multipart/form-data; boundary=something", "application/trig",
+        "application/vnd.example.v2+json; q=0.9", "text/csv; header=present"
+    };
+
+    /** Media types, with and without parameters. */
+    public static String[] mediaTypes(int n) {
+        Random random = new Random(8);
+        String[] corpus = new String[n];
+        for ( int i = 0 ; i < n ; i++ )
+            corpus[i] = pick(random, mediaTypes);
+        return corpus;
+    }
+
+    private static String pick(Random random, String[] choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+}
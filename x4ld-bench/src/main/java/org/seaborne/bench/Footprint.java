@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.seaborne.bench;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import org.seaborne.rfc3986.IRI;
+import org.seaborne.rfc3986.IRI3986;
+import org.seaborne.rfc3986.IRIDictionary;
+import org.seaborne.rfc3986.RFC3986;
+
+/**
+ * Print the memory used by {@link IRI3986} and its compact form,
+ * {@link org.seaborne.rfc3986.CompactIRI}, as measured by JOL.
+ * <p>
+ * The instance sizes do not include the IRI string. The per-IRI totals are for the
+ * {@link Corpus#HTTP} corpus, after the components have been accessed, and include
+ * the IRI string and any cached component strings.
+ * <p>
+ * Also print the memory per entry of an {@link IRIDictionary} and of a
+ * {@code HashMap<String,Integer>}, with a list for id to string, for the
+ * {@link Corpus#httpIRIs} IRIs, which have many namespaces, and the
+ * {@link Corpus#dataIRIs} IRIs, which have few namespaces.
+ */
+public class Footprint {
+    public static void main(String... args) {
+        IRI3986 iri = RFC3986.create("http://example.org/resource/item");
+        IRI compact = iri.compact();
+        System.out.println(ClassLayout.parseClass(IRI3986.class).toPrintable());
+        System.out.println(ClassLayout.parseClass(compact.getClass()).toPrintable());
+
+        String[] strings = Corpus.iris(Corpus.HTTP);
+        IRI3986[] iris = new IRI3986[strings.length];
+        IRI[] compacts = new IRI[strings.length];
+        for ( int i = 0 ; i < strings.length ; i++ ) {
+            iris[i] = RFC3986.create(strings[i]);
+            touch(iris[i]);
+            compacts[i] = RFC3986.createCompact(strings[i]);
+            touch(compacts[i]);
+        }
+        long bytesIRI3986 = GraphLayout.parseInstance((Object[])iris).totalSize();
+        long bytesCompact = GraphLayout.parseInstance((Object[])compacts).totalSize();
+        System.out.printf("IRI3986    : %,d bytes per IRI\n", bytesIRI3986/strings.length);
+        System.out.printf("CompactIRI : %,d bytes per IRI\n", bytesCompact/strings.length);
+
+        System.out.println("Corpus http");
+        dictionary(Corpus.httpIRIs(100_000));
+        System.out.println("Corpus data");
+        dictionary(Corpus.dataIRIs(100_000));
+    }
+
+    private static void dictionary(String[] strings) {
+        IRIDictionary dict = IRIDictionary.create();
+        Map<String, Integer> map = new HashMap<>();
+        List<String> list = new ArrayList<>();
+        for ( String s : strings ) {
+            dict.getOrAdd(s);
+            if ( ! map.containsKey(s) ) {
+                map.put(s, list.size());
+                list.add(s);
+            }
+        }
+        long bytesDict = GraphLayout.parseInstance(dict).totalSize();
+        long bytesMap = GraphLayout.parseInstance(map, list).totalSize();
+        System.out.printf("IRIDictionary            : %,d IRIs, %,d namespaces, %,d bytes per IRI\n",
+                          dict.size(), dict.namespaceCount(), bytesDict/dict.size());
+        System.out.printf("HashMap<String,Integer>  : %,d IRIs, %,d bytes per IRI\n",
+                          map.size(), bytesMap/map.size());
+    }
+
+    private static void touch(IRI iri) {
+        iri.scheme();
+        iri.authority();
+        iri.host();
+        iri.port();
+        iri.path();
+        iri.query();
+        iri.fragment();
+    }
+}
@@ -31,8 +31,22 @@ public class XSD_AnyURI extends XSDDatatype {
 
     @Override
     protected Object valueOrException(String lex) {
-        if ( getRegex().matcher(lex).matches() )
+        if ( isXMLChars(lex) )
             return lex;
         return null;
     }
+
+    /**
+     * Same as the regex: any characters except U+0000, U+FFFE and U+FFFF.
+     * Surrogates are not checked.
+     */
+    private static boolean isXMLChars(String lex) {
+        int len = lex.length();
+        for ( int i = 0 ; i < len ; i++ ) {
+            char ch = lex.charAt(i);
+            if ( ch == '\u0000' || ch == '\uFFFE' || ch == '\uFFFF' )
+                return false;
+        }
+        return true;
+    }
 }
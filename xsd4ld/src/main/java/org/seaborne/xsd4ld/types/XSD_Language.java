@@ -25,7 +25,6 @@ import org.seaborne.xsd4ld.XSDTypeRegistry;
 
 public class XSD_Language extends BaseString {
     private static Locale.Builder locBuild = new Locale.Builder();
-    private Pattern pattern = XSDTypeRegistry.getRegex(XSDConst.xsd_language);
 
     public XSD_Language() {
         super(XSDConst.xsd_language, XSDConst.xsd_token);
@@ -40,7 +39,34 @@ public class XSD_Language extends BaseString {
 
     @Override
     public boolean isValid(String lex) {
-        return pattern.matcher(lex).matches();
+        return isLanguage(lex);
+    }
+
+    /** Same as the regex: {@code [a-zA-Z]{1,8}(-[a-zA-Z0-9]{1,8})*} */
+    private static boolean isLanguage(String lex) {
+        int len = lex.length();
+        int x = 0;
+        boolean first = true;
+        for ( ;; ) {
+            int start = x;
+            while ( x < len && x-start < 9 && isSubtagChar(lex.charAt(x), first) )
+                x++;
+            int n = x-start;
+            if ( n == 0 || n > 8 )
+                return false;
+            if ( x == len )
+                return true;
+            if ( lex.charAt(x) != '-' )
+                return false;
+            x++;
+            first = false;
+        }
+    }
+
+    private static boolean isSubtagChar(char ch, boolean first) {
+        if ( ( ch >= 'a' && ch <= 'z' ) || ( ch >= 'A' && ch <= 'Z' ) )
+            return true;
+        return !first && ch >= '0' && ch <= '9';
     }
 
     @Override
@@ -46,5 +46,11 @@ public class LibTestXSD {
         test(lex, type, false);
     }
 
+    /** Check validity is the same as matching the regex for the datatype. */
+    static void sameAsRegex(String lex, XSDDatatype type) {
+        boolean regexMatches = type.getRegex().matcher(lex).matches();
+        assertEquals("Lex: '"+lex+"' Regex: "+type.getRegex(), regexMatches, type.isValid(lex)) ;
+    }
+
 }
 
@@ -18,6 +18,7 @@
 package xsd4ld;
 
 import static xsd4ld.LibTestXSD.invalid ;
+import static xsd4ld.LibTestXSD.sameAsRegex ;
 import static xsd4ld.LibTestXSD.valid ;
 
 import org.junit.Test ;
@@ -34,5 +35,13 @@ public class TestAnyURI {
     @Test public void anyURI_04() { invalid("\u0000", XSD.xsdAnyURI) ; }
     @Test public void anyURI_05() { invalid("\uFFFF", XSD.xsdAnyURI) ; }
     @Test public void anyURI_06() { invalid("\uFFFE", XSD.xsdAnyURI) ; }
+
+    // Scanner and spec regex agree.
+    @Test public void anyURI_10() { sameAsRegex("http://example/abc", XSD.xsdAnyURI) ; }
+    @Test public void anyURI_11() { sameAsRegex("abc\u0000def", XSD.xsdAnyURI) ; }
+    @Test public void anyURI_12() { sameAsRegex("abc\uFFFE", XSD.xsdAnyURI) ; }
+    @Test public void anyURI_13() { sameAsRegex("\uD83D\uDE00", XSD.xsdAnyURI) ; }
+    @Test public void anyURI_14() { sameAsRegex("\uD83D", XSD.xsdAnyURI) ; }
+    @Test public void anyURI_15() { sameAsRegex("\t\n\u0001", XSD.xsdAnyURI) ; }
 }
 
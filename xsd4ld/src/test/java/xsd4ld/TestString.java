@@ -82,6 +82,22 @@ public class TestString {
         assertFalse(XSD.xsdLanguage.getRegex().matcher("abcdefghijkl-xyz").matches()) ;
     }
 
+    // Scanner and spec regex agree.
+    @Test public void language_20() { LibTestXSD.sameAsRegex("en", XSD.xsdLanguage) ; }
+    @Test public void language_21() { LibTestXSD.sameAsRegex("de-CH-1901", XSD.xsdLanguage) ; }
+    @Test public void language_22() { LibTestXSD.sameAsRegex("abcdefgh", XSD.xsdLanguage) ; }
+    @Test public void language_23() { LibTestXSD.sameAsRegex("abcdefghi", XSD.xsdLanguage) ; }
+    @Test public void language_24() { LibTestXSD.sameAsRegex("en-12345678", XSD.xsdLanguage) ; }
+    @Test public void language_25() { LibTestXSD.sameAsRegex("en-123456789", XSD.xsdLanguage) ; }
+    @Test public void language_26() { LibTestXSD.sameAsRegex("", XSD.xsdLanguage) ; }
+    @Test public void language_27() { LibTestXSD.sameAsRegex("en-", XSD.xsdLanguage) ; }
+    @Test public void language_28() { LibTestXSD.sameAsRegex("-en", XSD.xsdLanguage) ; }
+    @Test public void language_29() { LibTestXSD.sameAsRegex("en--GB", XSD.xsdLanguage) ; }
+    @Test public void language_30() { LibTestXSD.sameAsRegex("1en", XSD.xsdLanguage) ; }
+    @Test public void language_31() { LibTestXSD.sameAsRegex("x-private", XSD.xsdLanguage) ; }
+    @Test public void language_32() { LibTestXSD.sameAsRegex("en_GB", XSD.xsdLanguage) ; }
+    @Test public void language_33() { LibTestXSD.sameAsRegex("\u00E9n", XSD.xsdLanguage) ; }
+
 
 }
 